@@ -0,0 +1,352 @@
+package org.proxy4j.apt;
+
+import org.proxy4j.core.pregen.PregeneratedProxies;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Writes the {@link PregeneratedProxies} subclass of an interface, and its reflection configuration.
+ * The proxied methods are the public {@code Object} methods {@code equals}, {@code hashCode} and
+ * {@code toString}, followed by the other public instance methods of the interface, indexed in that
+ * order as at runtime.
+ * @since 1.2.0
+ */
+class ProxiesWriter
+{
+    private static final String CORE = "org.proxy4j.core.";
+    private static final String PROXIES = CORE + "pregen.PregeneratedProxies";
+
+    private final ProcessingEnvironment env;
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement type;
+    private final String packageName;
+    private final String interfaceName;
+    private final String className;
+    private final List<ProxiedMethod> methods;
+
+    ProxiesWriter(ProcessingEnvironment env, TypeElement type) {
+        this.env = env;
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.type = type;
+        this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        this.interfaceName = type.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        this.className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + PregeneratedProxies.CLASS_SUFFIX;
+        this.methods = getProxiedMethods();
+    }
+
+    /**
+     * Writes the generated source and reflection configuration.
+     * @throws IOException If the files cannot be written
+     */
+    void write() throws IOException {
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try(PrintWriter out = new PrintWriter(env.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            writeSource(out);
+        }
+        try(PrintWriter out = new PrintWriter(env.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/native-image/proxy4j/" + elements.getBinaryName(type) + "/reflect-config.json", type).openWriter())) {
+            writeReflectConfig(out, elements.getBinaryName(type) + PregeneratedProxies.CLASS_SUFFIX);
+        }
+    }
+
+    //collects the Object methods, then the interface methods not already collected with the same erased signature
+    private List<ProxiedMethod> getProxiedMethods() {
+        Map<String,ProxiedMethod> proxied = new LinkedHashMap<>();
+        TypeElement object = elements.getTypeElement(Object.class.getName());
+        for(Element e : object.getEnclosedElements()) {
+            if(e.getKind()==ElementKind.METHOD) {
+                String name = e.getSimpleName().toString();
+                if(name.equals("equals") || name.equals("hashCode") || name.equals("toString"))
+                    add(proxied, new ProxiedMethod((ExecutableElement) e, (ExecutableType) e.asType(), "java.lang.Object"));
+            }
+        }
+        for(Element e : elements.getAllMembers(type)) {
+            if(e.getKind()==ElementKind.METHOD && e.getEnclosingElement().getKind()==ElementKind.INTERFACE
+                    && e.getModifiers().contains(Modifier.PUBLIC) && !e.getModifiers().contains(Modifier.STATIC)) {
+                ExecutableType memberType = (ExecutableType) types.asMemberOf((DeclaredType) type.asType(), e);
+                add(proxied, new ProxiedMethod((ExecutableElement) e, memberType, interfaceName));
+            }
+        }
+        return new ArrayList<>(proxied.values());
+    }
+
+    //adds the method unless one with the same erased signature was added
+    private void add(Map<String,ProxiedMethod> proxied, ProxiedMethod method) {
+        StringJoiner signature = new StringJoiner(",", method.getName() + "(", ")");
+        for(TypeMirror parameterType : method.type.getParameterTypes()) {
+            signature.add(erasure(parameterType));
+        }
+        proxied.putIfAbsent(signature.toString(), method);
+    }
+
+    private void writeSource(PrintWriter out) {
+        if(!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        if(elements.getTypeElement("javax.annotation.processing.Generated")!=null)
+            out.println("@javax.annotation.processing.Generated(\"" + ProxyProcessor.class.getName() + "\")");
+        out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        out.println("public final class " + className + " extends " + PROXIES + "<" + interfaceName + ">");
+        out.println("{");
+        out.println("    public " + className + "() {");
+        out.println("        super(" + interfaceName + ".class" + (methods.isEmpty() ? "" : ","));
+        for(int i=0; i<methods.size(); i++) {
+            ProxiedMethod m = methods.get(i);
+            StringBuilder lookup = new StringBuilder("method(" + m.owner + ".class, \"" + m.getName() + "\"");
+            for(TypeMirror parameterType : m.type.getParameterTypes()) {
+                lookup.append(", ").append(erasure(parameterType)).append(".class");
+            }
+            out.println("            " + lookup + ")" + (i<methods.size()-1 ? "," : ");"));
+        }
+        out.println("    }");
+        out.println();
+        out.println("    public " + interfaceName + " createVirtualProxy(javax.inject.Provider<" + interfaceName + "> provider) {");
+        out.println("        return new VirtualProxy(provider);");
+        out.println("    }");
+        out.println();
+        out.println("    public " + interfaceName + " createHandlerProxy(" + CORE + "ProxyHandler<" + interfaceName + "> handler) {");
+        out.println("        return new HandlerProxy(this, handler);");
+        out.println("    }");
+        out.println();
+        out.println("    public " + interfaceName + " createInterceptorProxy(" + interfaceName + " target, "
+                + CORE + "InterceptorChain[] chains) {");
+        out.println("        return new InterceptorProxy(this, target, chains);");
+        out.println("    }");
+        out.println();
+        writeInvoke(out);
+        writeVirtualProxy(out);
+        writeHandlerProxy(out);
+        writeInterceptorProxy(out);
+        out.println("}");
+    }
+
+    //calls the method with the given index on the target
+    private void writeInvoke(PrintWriter out) {
+        out.println("    protected java.lang.Object invoke(int index, " + interfaceName + " target, java.lang.Object[] args) throws java.lang.Throwable {");
+        out.println("        switch(index) {");
+        for(int i=0; i<methods.size(); i++) {
+            ProxiedMethod m = methods.get(i);
+            StringJoiner args = new StringJoiner(", ");
+            List<? extends TypeMirror> parameterTypes = m.type.getParameterTypes();
+            for(int j=0; j<parameterTypes.size(); j++) {
+                args.add("(" + erasure(parameterTypes.get(j)) + ") args[" + j + "]");
+            }
+            String call = "target." + m.getName() + "(" + args + ")";
+            if(m.type.getReturnType().getKind()==TypeKind.VOID)
+                out.println("            case " + i + ": " + call + "; return null;");
+            else
+                out.println("            case " + i + ": return " + call + ";");
+        }
+        out.println("            default: throw new java.lang.IllegalArgumentException(\"No proxied method \" + index);");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeVirtualProxy(PrintWriter out) {
+        out.println("    private static final class VirtualProxy implements " + interfaceName);
+        out.println("    {");
+        out.println("        private final javax.inject.Provider<" + interfaceName + "> provider;");
+        out.println();
+        out.println("        VirtualProxy(javax.inject.Provider<" + interfaceName + "> provider) {");
+        out.println("            this.provider = provider;");
+        out.println("        }");
+        for(ProxiedMethod m : methods) {
+            out.println();
+            out.println("        " + m.getDeclaration() + " {");
+            out.println("            " + m.getReturn() + "provider.get()." + m.getName() + "(" + m.getArguments() + ");");
+            out.println("        }");
+        }
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeHandlerProxy(PrintWriter out) {
+        out.println("    private static final class HandlerProxy implements " + interfaceName);
+        out.println("    {");
+        out.println("        private final " + className + " proxies;");
+        out.println("        private final " + CORE + "ProxyHandler<" + interfaceName + "> handler;");
+        out.println();
+        out.println("        HandlerProxy(" + className + " proxies, " + CORE + "ProxyHandler<" + interfaceName + "> handler) {");
+        out.println("            this.proxies = proxies;");
+        out.println("            this.handler = handler;");
+        out.println("        }");
+        for(int i=0; i<methods.size(); i++) {
+            ProxiedMethod m = methods.get(i);
+            out.println();
+            out.println("        " + m.getDeclaration() + " {");
+            out.println("            try {");
+            out.println("                " + m.getReturnCast() + "handler.handle(new " + CORE + "pregen.PregeneratedProxyInvocation<>(proxies, this, "
+                    + i + ", " + m.getArgumentArray() + "));");
+            out.println("            } catch (java.lang.Throwable t) {");
+            out.println("                throw " + PROXIES + ".rethrow(t);");
+            out.println("            }");
+            out.println("        }");
+        }
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeInterceptorProxy(PrintWriter out) {
+        out.println("    private static final class InterceptorProxy implements " + interfaceName);
+        out.println("    {");
+        out.println("        private final " + className + " proxies;");
+        out.println("        private final " + interfaceName + " target;");
+        out.println("        private final " + CORE + "InterceptorChain[] chains;");
+        out.println();
+        out.println("        InterceptorProxy(" + className + " proxies, " + interfaceName + " target, " + CORE + "InterceptorChain[] chains) {");
+        out.println("            this.proxies = proxies;");
+        out.println("            this.target = target;");
+        out.println("            this.chains = chains;");
+        out.println("        }");
+        for(int i=0; i<methods.size(); i++) {
+            ProxiedMethod m = methods.get(i);
+            boolean isVoid = m.type.getReturnType().getKind()==TypeKind.VOID;
+            out.println();
+            out.println("        " + m.getDeclaration() + " {");
+            out.println("            " + CORE + "InterceptorChain chain = chains[" + i + "];");
+            out.println("            if(chain==null) {");
+            out.println("                " + m.getReturn() + "target." + m.getName() + "(" + m.getArguments() + ");");
+            if(isVoid)
+                out.println("                return;");
+            out.println("            }");
+            out.println("            try {");
+            out.println("                " + m.getReturnCast() + "chain.invoke(new " + CORE + "pregen.PregeneratedMethodInvocation<>(proxies, target, "
+                    + i + ", " + m.getArgumentArray() + "));");
+            out.println("            } catch (java.lang.Throwable t) {");
+            out.println("                throw " + PROXIES + ".rethrow(t);");
+            out.println("            }");
+            out.println("        }");
+        }
+        out.println("    }");
+    }
+
+    //registers the generated class and the proxied methods for reflection in a native image
+    private void writeReflectConfig(PrintWriter out, String generatedName) {
+        out.println("[");
+        out.println("  {\"name\": \"" + generatedName + "\", \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]},");
+        out.println("  {\"name\": \"" + elements.getBinaryName(type) + "\", \"allPublicMethods\": true},");
+        out.println("  {\"name\": \"java.lang.Object\", \"methods\": [");
+        out.println("    {\"name\": \"equals\", \"parameterTypes\": [\"java.lang.Object\"]},");
+        out.println("    {\"name\": \"hashCode\", \"parameterTypes\": []},");
+        out.println("    {\"name\": \"toString\", \"parameterTypes\": []}");
+        out.println("  ]}");
+        out.println("]");
+    }
+
+    //returns the source name of the erasure of the type
+    private String erasure(TypeMirror typeMirror) {
+        return types.erasure(typeMirror).toString();
+    }
+
+    /**
+     * A proxied method, with its type as a member of the proxied interface.
+     */
+    private class ProxiedMethod
+    {
+        private final ExecutableElement element;
+        private final ExecutableType type;
+        private final String owner;
+
+        ProxiedMethod(ExecutableElement element, ExecutableType type, String owner) {
+            this.element = element;
+            this.type = type;
+            this.owner = owner;
+        }
+
+        String getName() {
+            return element.getSimpleName().toString();
+        }
+
+        //the declaration overriding the method, with parameters named a0, a1, ...
+        String getDeclaration() {
+            StringBuilder declaration = new StringBuilder("public ");
+            if(!element.getTypeParameters().isEmpty()) {
+                StringJoiner typeParameters = new StringJoiner(", ", "<", "> ");
+                for(TypeParameterElement typeParameter : element.getTypeParameters()) {
+                    StringJoiner bounds = new StringJoiner(" & ", " extends ", "").setEmptyValue("");
+                    for(TypeMirror bound : typeParameter.getBounds()) {
+                        if(!bound.toString().equals(Object.class.getName()))
+                            bounds.add(bound.toString());
+                    }
+                    typeParameters.add(typeParameter.getSimpleName() + bounds.toString());
+                }
+                declaration.append(typeParameters);
+            }
+            declaration.append(type.getReturnType()).append(' ').append(getName());
+            StringJoiner parameters = new StringJoiner(", ", "(", ")");
+            List<? extends TypeMirror> parameterTypes = type.getParameterTypes();
+            for(int i=0; i<parameterTypes.size(); i++) {
+                TypeMirror parameterType = parameterTypes.get(i);
+                if(element.isVarArgs() && i==parameterTypes.size()-1)
+                    parameters.add(parameterType.toString().replaceFirst("\\[\\]$", "...") + " a" + i);
+                else
+                    parameters.add(parameterType + " a" + i);
+            }
+            declaration.append(parameters);
+            if(!type.getThrownTypes().isEmpty()) {
+                StringJoiner thrown = new StringJoiner(", ", " throws ", "");
+                for(TypeMirror thrownType : type.getThrownTypes()) {
+                    thrown.add(thrownType.toString());
+                }
+                declaration.append(thrown);
+            }
+            return declaration.toString();
+        }
+
+        //the parameter names
+        String getArguments() {
+            StringJoiner arguments = new StringJoiner(", ");
+            for(int i=0; i<type.getParameterTypes().size(); i++) {
+                arguments.add("a" + i);
+            }
+            return arguments.toString();
+        }
+
+        //the parameters boxed into an array
+        String getArgumentArray() {
+            return type.getParameterTypes().isEmpty() ? PROXIES + ".NO_ARGS" : "new java.lang.Object[] {" + getArguments() + "}";
+        }
+
+        //returns the result of a direct call
+        String getReturn() {
+            return type.getReturnType().getKind()==TypeKind.VOID ? "" : "return ";
+        }
+
+        //returns the Object result of a handler or chain, cast to the return type
+        String getReturnCast() {
+            TypeMirror returnType = type.getReturnType();
+            if(returnType.getKind()==TypeKind.VOID)
+                return "";
+            if(returnType.getKind().isPrimitive())
+                return "return (" + types.boxedClass((PrimitiveType) returnType).getQualifiedName() + ") ";
+            return "return (" + returnType + ") ";
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.proxy4j.apt;
+
+import org.proxy4j.core.pregen.GenerateProxies;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Annotation processor that generates the virtual, handler and interceptor proxy classes of
+ * interfaces annotated with {@link GenerateProxies}, as a subclass of
+ * {@link org.proxy4j.core.pregen.PregeneratedProxies PregeneratedProxies} in the package of
+ * the interface. A GraalVM reflection configuration for the generated class is written
+ * alongside it.
+ * @since 1.2.0
+ */
+@SupportedAnnotationTypes("org.proxy4j.core.pregen.GenerateProxies")
+public class ProxyProcessor extends AbstractProcessor
+{
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for(Element element : roundEnv.getElementsAnnotatedWith(GenerateProxies.class)) {
+            if(element.getKind()!=ElementKind.INTERFACE) {
+                error("@GenerateProxies can only be used on interfaces", element);
+            } else if(!((TypeElement) element).getTypeParameters().isEmpty()) {
+                error("@GenerateProxies cannot be used on generic interfaces", element);
+            } else if(element.getModifiers().contains(Modifier.PRIVATE)) {
+                error("@GenerateProxies cannot be used on private interfaces", element);
+            } else {
+                try {
+                    new ProxiesWriter(processingEnv, (TypeElement) element).write();
+                } catch (IOException e) {
+                    error("Error writing proxies: " + e.getMessage(), element);
+                }
+            }
+        }
+        return true;
+    }
+
+    //reports an error on the element
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,107 @@
+package org.proxy4j.apt;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Test;
+import org.proxy4j.apt.testobj.Greeter;
+import org.proxy4j.apt.testobj.GreeterImpl;
+import org.proxy4j.core.PrimitiveMethodInvocation;
+import org.proxy4j.core.pregen.PregeneratedProxies;
+import org.proxy4j.core.pregen.PregeneratedProxyFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link ProxyProcessor}, through the proxies it generated for the test sources.</p>
+ */
+public class ProxyProcessorTest
+{
+    /**
+     * Test that virtual proxies are created from the generated class.
+     */
+    @Test
+    public void testVirtualProxy() {
+        PregeneratedProxyFactory factory = new PregeneratedProxyFactory();
+        Greeter proxy = factory.createProxy(Greeter.class, GreeterImpl::new);
+        assertGenerated(proxy);
+        assertGreeter(proxy);
+        assertEquals(1, factory.getPregeneratedCount());
+        assertEquals(0, factory.getFallbackCount());
+    }
+
+    /**
+     * Test that handler proxies pass the proxied methods to the handler, and that checked
+     * exceptions thrown by the target are thrown by the proxy.
+     */
+    @Test
+    public void testHandlerProxy() throws Exception {
+        final GreeterImpl target = new GreeterImpl();
+        final List<String> calls = new ArrayList<String>();
+        Greeter proxy = new PregeneratedProxyFactory().createProxy(Greeter.class, call -> {
+            assertEquals(call.getMethod().getDeclaringClass().getMethod(call.getMethod().getName(),
+                    call.getMethod().getParameterTypes()), call.getMethod());
+            calls.add(call.getMethod().getName());
+            return call.invoke(target);
+        });
+        assertGenerated(proxy);
+        assertGreeter(proxy);
+        proxy.reset();
+        assertEquals(1, target.getResets());
+        assertTrue(calls.containsAll(Arrays.asList("getName", "greetWorld", "add", "total", "first", "reset")));
+        try {
+            proxy.read();
+            fail("Should throw IOException");
+        } catch (IOException e) {
+            assertEquals("Nothing to read", e.getMessage());
+        }
+    }
+
+    /**
+     * Test that interceptor proxies run the chains of intercepted methods and call other methods directly.
+     */
+    @Test
+    public void testInterceptorProxy() throws Exception {
+        final List<String> intercepted = new ArrayList<String>();
+        MethodInterceptor interceptor = call -> {
+            intercepted.add(call.getMethod().getName());
+            return ((PrimitiveMethodInvocation) call).proceedInt() * 10;
+        };
+        Greeter proxy = new PregeneratedProxyFactory().buildInterceptor(Greeter.class).on(new GreeterImpl())
+                .using(Greeter.class.getMethod("add", int.class, int.class), interceptor)
+                .create();
+        assertGenerated(proxy);
+        assertEquals(30, proxy.add(1, 2));
+        assertEquals("Hello World", proxy.greetWorld());
+        assertEquals(Arrays.asList("add"), intercepted);
+    }
+
+    /**
+     * Test that interfaces without generated proxies are created by the fallback factory.
+     */
+    @Test
+    public void testFallback() {
+        PregeneratedProxyFactory factory = new PregeneratedProxyFactory();
+        Runnable proxy = factory.createProxy(Runnable.class, () -> () -> {});
+        proxy.run();
+        assertEquals(0, factory.getPregeneratedCount());
+        assertEquals(1, factory.getFallbackCount());
+    }
+
+    //verifies the proxy is one of the generated classes
+    private void assertGenerated(Object proxy) {
+        assertEquals(Greeter.class.getName() + PregeneratedProxies.CLASS_SUFFIX, proxy.getClass().getEnclosingClass().getName());
+    }
+
+    //verifies calls reach the target
+    private void assertGreeter(Greeter proxy) {
+        assertEquals("greeter", proxy.getName());
+        assertEquals("Hello World", proxy.greetWorld());
+        assertEquals(3, proxy.add(1, 2));
+        assertEquals(6L, proxy.total(1, 2, 3));
+        assertEquals(Integer.valueOf(7), proxy.first(Arrays.asList(7, 8)));
+    }
+}
@@ -0,0 +1,29 @@
+package org.proxy4j.apt.testobj;
+
+import org.proxy4j.core.pregen.GenerateProxies;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Interface with proxies generated at compile time.
+ */
+@GenerateProxies
+public interface Greeter extends Named
+{
+    String greet(String name);
+
+    int add(int a, int b);
+
+    long total(long... values);
+
+    <X extends Number> X first(List<X> values);
+
+    void reset();
+
+    String read() throws IOException;
+
+    default String greetWorld() {
+        return greet("World");
+    }
+}
@@ -0,0 +1,48 @@
+package org.proxy4j.apt.testobj;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Implementation of {@link Greeter}.
+ */
+public class GreeterImpl implements Greeter
+{
+    private int resets;
+
+    public String getName() {
+        return "greeter";
+    }
+
+    public String greet(String name) {
+        return "Hello " + name;
+    }
+
+    public int add(int a, int b) {
+        return a + b;
+    }
+
+    public long total(long... values) {
+        long total = 0;
+        for(long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    public <X extends Number> X first(List<X> values) {
+        return values.get(0);
+    }
+
+    public void reset() {
+        resets++;
+    }
+
+    public String read() throws IOException {
+        throw new IOException("Nothing to read");
+    }
+
+    public int getResets() {
+        return resets;
+    }
+}
@@ -0,0 +1,9 @@
+package org.proxy4j.apt.testobj;
+
+/**
+ * Superinterface of {@link Greeter}, whose methods are proxied with it.
+ */
+public interface Named
+{
+    String getName();
+}
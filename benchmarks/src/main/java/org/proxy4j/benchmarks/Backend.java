@@ -0,0 +1,33 @@
+package org.proxy4j.benchmarks;
+
+import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.cglib.CglibProxyFactory;
+import org.proxy4j.core.hidden.HiddenClassProxyFactory;
+import org.proxy4j.core.javassist.JavassistProxyFactory;
+import org.proxy4j.core.jdk.JdkProxyFactory;
+
+/**
+ * The {@link ProxyFactory} implementations under benchmark.
+ * @since 1.2.0
+ */
+public enum Backend
+{
+    JDK {
+        ProxyFactory newFactory() { return new JdkProxyFactory(); }
+    },
+    CGLIB {
+        ProxyFactory newFactory() { return new CglibProxyFactory(); }
+    },
+    JAVASSIST {
+        ProxyFactory newFactory() { return new JavassistProxyFactory(); }
+    },
+    HIDDEN {
+        ProxyFactory newFactory() { return new HiddenClassProxyFactory(); }
+    };
+
+    /**
+     * Creates a new factory for this backend.
+     * @return The proxy factory
+     */
+    abstract ProxyFactory newFactory();
+}
@@ -0,0 +1,41 @@
+package org.proxy4j.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.proxy4j.core.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures proxy creation by many threads sharing one factory, which exposes contention
+ * on the proxy class caches.
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+@Threads(8)
+public class ContentionBenchmark
+{
+    @Param
+    public Backend backend;
+
+    private ProxyFactory factory;
+
+    @Setup
+    public void setUp() {
+        factory = backend.newFactory();
+    }
+
+    @Benchmark
+    public Counter virtualProxy() throws Exception {
+        return Proxies.virtualProxy(factory, Counter.class, new CounterImpl());
+    }
+
+    @Benchmark
+    public Counter interceptorProxy() throws Exception {
+        return Proxies.interceptorProxy(factory, Counter.class, new CounterImpl(), new PassThroughInterceptor());
+    }
+}
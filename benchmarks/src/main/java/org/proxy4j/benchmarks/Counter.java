@@ -0,0 +1,14 @@
+package org.proxy4j.benchmarks;
+
+/**
+ * Proxied interface used by the benchmarks.
+ * @since 1.2.0
+ */
+public interface Counter
+{
+    /**
+     * Increments the counter.
+     * @return The new count
+     */
+    int next();
+}
@@ -0,0 +1,14 @@
+package org.proxy4j.benchmarks;
+
+/**
+ * Target of the benchmarked proxies. Not final, so that it can be proxied by subclassing.
+ * @since 1.2.0
+ */
+public class CounterImpl implements Counter
+{
+    private int count;
+
+    public int next() {
+        return ++count;
+    }
+}
@@ -0,0 +1,70 @@
+package org.proxy4j.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.proxy4j.core.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures proxy creation. Warm benchmarks create proxies of a type that has already been
+ * proxied, so the proxy class comes from the cache. Cold benchmarks proxy a freshly loaded
+ * copy of the type on every invocation, so the proxy class must be generated. The copy is loaded
+ * by a per-invocation setup in its own state, which only the cold benchmarks use.
+ * @since 1.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class CreationBenchmark
+{
+    @Param
+    public Backend backend;
+
+    private ProxyFactory factory;
+
+    /**
+     * A freshly loaded copy of the proxied type and its implementation, for each invocation.
+     */
+    @State(Scope.Thread)
+    public static class ColdType
+    {
+        private Class<Object> type;
+        private Object target;
+
+        @Setup(Level.Invocation)
+        @SuppressWarnings("unchecked")
+        public void setUp() throws Exception {
+            ClassLoader loader = new IsolatingClassLoader(getClass().getClassLoader(), Counter.class, CounterImpl.class);
+            type = (Class<Object>) loader.loadClass(Counter.class.getName());
+            target = loader.loadClass(CounterImpl.class.getName()).getConstructor().newInstance();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUpFactory() {
+        factory = backend.newFactory();
+    }
+
+    @Benchmark
+    public Counter warmVirtualProxy() throws Exception {
+        return Proxies.virtualProxy(factory, Counter.class, new CounterImpl());
+    }
+
+    @Benchmark
+    public Counter warmInterceptorProxy() throws Exception {
+        return Proxies.interceptorProxy(factory, Counter.class, new CounterImpl(), new PassThroughInterceptor());
+    }
+
+    @Benchmark
+    public Object coldVirtualProxy(ColdType cold) throws Exception {
+        return Proxies.virtualProxy(factory, cold.type, cold.target);
+    }
+
+    @Benchmark
+    public Object coldInterceptorProxy(ColdType cold) throws Exception {
+        return Proxies.interceptorProxy(factory, cold.type, cold.target, new PassThroughInterceptor());
+    }
+}
@@ -0,0 +1,87 @@
+package org.proxy4j.benchmarks;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.*;
+import org.proxy4j.core.reflect.BasicMethodExtractor;
+import org.proxy4j.core.reflect.SignatureKey;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sorting and extracting the methods of a class with 500 methods, many of which
+ * are overloads that differ only in their parameters. Sorting with the interned signatures
+ * of {@link SignatureKey#methodComparator()} is compared with sorting by signatures created
+ * on every comparison, as the comparator used to.
+ * @since 1.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class ExtractionBenchmark
+{
+    private static final int NAMES = 50;
+    private static final int OVERLOADS = 10;
+    private static final String NAME = "org/proxy4j/benchmarks/generated/WideService";
+
+    private Class<?> type;
+    private Method[] methods;
+
+    @Setup
+    public void setUp() {
+        byte[] bytes = newAbstractClass();
+        type = new ClassLoader(getClass().getClassLoader()) {
+            Class<?> define() {
+                return defineClass(NAME.replace('/', '.'), bytes, 0, bytes.length);
+            }
+        }.define();
+        methods = type.getDeclaredMethods();
+    }
+
+    @Benchmark
+    public Set<Method> sortInterned() {
+        Set<Method> sorted = new TreeSet<>(SignatureKey.methodComparator());
+        sorted.addAll(Arrays.asList(methods));
+        return sorted;
+    }
+
+    @Benchmark
+    public Set<Method> sortUninterned() {
+        Set<Method> sorted = new TreeSet<>(Comparator.comparing(SignatureKey::new));
+        sorted.addAll(Arrays.asList(methods));
+        return sorted;
+    }
+
+    @Benchmark
+    public Collection<Method> extract() {
+        return new BasicMethodExtractor(type).getProxyableMethods();
+    }
+
+    //an abstract class with overloads of each method name, taking 1 to 5 parameters, two of each arity
+    private static byte[] newAbstractClass() {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, NAME, null, "java/lang/Object", null);
+        for(int i=0; i<NAMES; i++) {
+            for(int j=0; j<OVERLOADS; j++) {
+                StringBuilder descriptor = new StringBuilder("(");
+                for(int k=0; k<j/2; k++) {
+                    descriptor.append("Ljava/lang/String;");
+                }
+                descriptor.append(j % 2 == 0 ? "Ljava/lang/String;" : "J").append(")I");
+                writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "call" + i,
+                        descriptor.toString(), null, null).visitEnd();
+            }
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
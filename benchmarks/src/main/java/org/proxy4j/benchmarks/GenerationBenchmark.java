@@ -0,0 +1,107 @@
+package org.proxy4j.benchmarks;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.*;
+import org.proxy4j.core.ProxyFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures generating the proxy classes of many distinct interfaces of one class loader,
+ * split across a number of threads. Each invocation loads fresh copies of the interfaces,
+ * so every proxy class must be generated; generation that scales across cores takes less
+ * time with more threads.
+ * @since 1.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class GenerationBenchmark
+{
+    private static final int TYPES = 64;
+    private static final int METHODS = 8;
+    private static final String PACKAGE = "org/proxy4j/benchmarks/generated/";
+
+    @Param
+    public Backend backend;
+
+    @Param({"1", "4", "8"})
+    public int threads;
+
+    private Path classDir;
+    private ExecutorService executor;
+    private ProxyFactory factory;
+    private List<Class<Object>> types;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException {
+        classDir = Files.createTempDirectory("proxy4j-generation");
+        Files.createDirectories(classDir.resolve(PACKAGE));
+        for(int i=0; i<TYPES; i++) {
+            Files.write(classDir.resolve(PACKAGE + "Service" + i + ".class"), newInterface(PACKAGE + "Service" + i));
+        }
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @Setup(Level.Invocation)
+    @SuppressWarnings("unchecked")
+    public void setUpTypes() throws Exception {
+        ClassLoader loader = new URLClassLoader(new URL[]{classDir.toUri().toURL()}, getClass().getClassLoader());
+        types = new ArrayList<>(TYPES);
+        for(int i=0; i<TYPES; i++) {
+            types.add((Class<Object>) loader.loadClass(PACKAGE.replace('/', '.') + "Service" + i));
+        }
+        factory = backend.newFactory();
+    }
+
+    @Benchmark
+    public void generate() throws Exception {
+        List<Callable<Object>> tasks = new ArrayList<>(TYPES);
+        for(Class<Object> type : types) {
+            tasks.add(() -> Proxies.virtualProxy(factory, type, null));
+        }
+        for(Future<Object> proxy : executor.invokeAll(tasks)) {
+            proxy.get();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdown();
+        try(Stream<Path> files = Files.walk(classDir)) {
+            for(Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    //an interface with a few abstract methods
+    private static byte[] newInterface(String name) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE,
+                name, null, "java/lang/Object", null);
+        for(int i=0; i<METHODS; i++) {
+            writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "call" + i,
+                    "(ILjava/lang/String;)I", null, null).visitEnd();
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
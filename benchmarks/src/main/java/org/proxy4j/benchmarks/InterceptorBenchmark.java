@@ -0,0 +1,37 @@
+package org.proxy4j.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calls through interceptor proxies with chains of pass-through interceptors.
+ * @since 1.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class InterceptorBenchmark
+{
+    @Param
+    public Backend backend;
+
+    @Param({"1", "3", "10"})
+    public int interceptors;
+
+    private Counter proxy;
+
+    @Setup
+    public void setUp() throws Exception {
+        proxy = Proxies.interceptorProxy(backend.newFactory(), Counter.class, new CounterImpl(),
+                PassThroughInterceptor.chainOf(interceptors));
+    }
+
+    @Benchmark
+    public int intercepted() {
+        return proxy.next();
+    }
+}
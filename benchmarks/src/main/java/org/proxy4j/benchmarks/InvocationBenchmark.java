@@ -0,0 +1,50 @@
+package org.proxy4j.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.proxy4j.core.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calls through virtual ({@code Provider}) proxies and {@code ProxyHandler} proxies,
+ * against a direct call on the target as the baseline.
+ * @since 1.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class InvocationBenchmark
+{
+    @Param
+    public Backend backend;
+
+    private Counter target;
+    private Counter virtualProxy;
+    private Counter handlerProxy;
+
+    @Setup
+    public void setUp() throws Exception {
+        ProxyFactory factory = backend.newFactory();
+        target = new CounterImpl();
+        virtualProxy = Proxies.virtualProxy(factory, Counter.class, target);
+        handlerProxy = Proxies.handlerProxy(factory, Counter.class, target);
+    }
+
+    @Benchmark
+    public int direct() {
+        return target.next();
+    }
+
+    @Benchmark
+    public int virtualProxy() {
+        return virtualProxy.next();
+    }
+
+    @Benchmark
+    public int handlerProxy() {
+        return handlerProxy.next();
+    }
+}
@@ -0,0 +1,65 @@
+package org.proxy4j.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Class loader that defines its own copy of the given classes, so that proxying them
+ * requires the proxy classes to be generated again rather than found in a cache.
+ * All other classes are loaded by the parent.
+ * @since 1.2.0
+ */
+class IsolatingClassLoader extends ClassLoader
+{
+    private final Set<String> isolated;
+
+    /**
+     * Creates a loader that isolates the given classes.
+     * @param parent The parent loader, which supplies the class files
+     * @param classes The classes to isolate
+     */
+    IsolatingClassLoader(ClassLoader parent, Class<?>... classes) {
+        super(parent);
+        isolated = new HashSet<>();
+        for(Class<?> type : Arrays.asList(classes)) {
+            isolated.add(type.getName());
+        }
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if(!isolated.contains(name))
+            return super.loadClass(name, resolve);
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> type = findLoadedClass(name);
+            if(type==null)
+                type = findClass(name);
+            if(resolve)
+                resolveClass(type);
+            return type;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        String resource = name.replace('.', '/') + ".class";
+        try (InputStream in = getParent().getResourceAsStream(resource)) {
+            if(in==null)
+                throw new ClassNotFoundException(name);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while((read = in.read(buffer))!=-1) {
+                out.write(buffer, 0, read);
+            }
+            byte[] bytes = out.toByteArray();
+            return defineClass(name, bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.proxy4j.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.proxy4j.core.reflect.MethodInvoker;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link MethodInvoker} against {@link Method#invoke(Object, Object...)} for invoking
+ * methods with an argument array, as the JDK proxy backend does. Like a proxy's dispatch, each
+ * benchmark invokes several methods through the same call site, so neither path benefits from a
+ * monomorphic profile.
+ * @since 1.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class MethodInvokerBenchmark
+{
+    /**
+     * Type with several methods of the same shape.
+     */
+    public interface Accumulator
+    {
+        int addOne(int value);
+        int addTwo(int value);
+        int addThree(int value);
+        int addFour(int value);
+    }
+
+    public static class AccumulatorImpl implements Accumulator
+    {
+        public int addOne(int value) { return value + 1; }
+        public int addTwo(int value) { return value + 2; }
+        public int addThree(int value) { return value + 3; }
+        public int addFour(int value) { return value + 4; }
+    }
+
+    private final Accumulator target = new AccumulatorImpl();
+    private final Object[] args = {1};
+    private Method[] methods;
+    private MethodInvoker[] invokers;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        methods = new Method[] {
+            Accumulator.class.getMethod("addOne", int.class),
+            Accumulator.class.getMethod("addTwo", int.class),
+            Accumulator.class.getMethod("addThree", int.class),
+            Accumulator.class.getMethod("addFour", int.class)
+        };
+        invokers = new MethodInvoker[methods.length];
+        for(int i=0; i<methods.length; i++) {
+            invokers[i] = MethodInvoker.forMethod(methods[i]);
+        }
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return methods[next++ & 3].invoke(target, args);
+    }
+
+    /** Invokers resolved ahead of the call, as the JDK interceptor proxies do. */
+    @Benchmark
+    public Object methodInvoker() throws Throwable {
+        return invokers[next++ & 3].invoke(target, args);
+    }
+
+    /** Invokers looked up in the per-class table on every call. */
+    @Benchmark
+    public Object methodInvokerLookup() throws Throwable {
+        return MethodInvoker.invoke(methods[next++ & 3], target, args);
+    }
+}
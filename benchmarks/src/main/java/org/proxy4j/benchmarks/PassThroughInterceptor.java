@@ -0,0 +1,28 @@
+package org.proxy4j.benchmarks;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Interceptor that only proceeds, so that benchmarks measure the interception overhead.
+ * @since 1.2.0
+ */
+public class PassThroughInterceptor implements MethodInterceptor
+{
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        return invocation.proceed();
+    }
+
+    /**
+     * Returns the given number of interceptors.
+     * @param count The number of interceptors
+     * @return The interceptors
+     */
+    static MethodInterceptor[] chainOf(int count) {
+        MethodInterceptor[] interceptors = new MethodInterceptor[count];
+        for(int i=0; i<count; i++) {
+            interceptors[i] = new PassThroughInterceptor();
+        }
+        return interceptors;
+    }
+}
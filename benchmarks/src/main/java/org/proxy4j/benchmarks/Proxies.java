@@ -0,0 +1,61 @@
+package org.proxy4j.benchmarks;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.proxy4j.core.GenerationException;
+import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.ProxyHandler;
+
+import javax.inject.Provider;
+
+/**
+ * Creates the proxies that are benchmarked, so that creation and invocation
+ * benchmarks measure the same proxies.
+ * @since 1.2.0
+ */
+final class Proxies
+{
+    private Proxies() {}
+
+    /**
+     * Creates a virtual proxy whose provider always returns the same target.
+     * @param factory The proxy factory
+     * @param type The proxied type
+     * @param target The target
+     * @return The proxy
+     * @throws GenerationException If the proxy cannot be created
+     */
+    static <T> T virtualProxy(ProxyFactory factory, Class<T> type, T target) throws GenerationException {
+        Provider<T> provider = () -> target;
+        return factory.createProxy(type, provider);
+    }
+
+    /**
+     * Creates a handler proxy that invokes the target.
+     * @param factory The proxy factory
+     * @param type The proxied type
+     * @param target The target
+     * @return The proxy
+     * @throws GenerationException If the proxy cannot be created
+     */
+    static <T> T handlerProxy(ProxyFactory factory, Class<T> type, T target) throws GenerationException {
+        ProxyHandler<T> handler = invocation -> invocation.invoke(target);
+        return factory.createProxy(type, handler);
+    }
+
+    /**
+     * Creates an interceptor proxy that intercepts every method declared by the proxied type.
+     * @param factory The proxy factory
+     * @param type The proxied type
+     * @param target The target
+     * @param interceptors The interceptors
+     * @return The proxy
+     * @throws GenerationException If the proxy cannot be created
+     */
+    static <T> T interceptorProxy(ProxyFactory factory, Class<T> type, T target, MethodInterceptor... interceptors)
+            throws GenerationException {
+        return factory.buildInterceptor(type)
+                .on(target)
+                .using(m -> m.getDeclaringClass()!=Object.class, interceptors)
+                .create();
+    }
+}
@@ -1,19 +1,26 @@
 package org.proxy4j.core;
 
 import org.aopalliance.intercept.MethodInterceptor;
+import org.proxy4j.core.init.Prefetchable;
 import org.proxy4j.core.util.DefaultNamingPolicy;
 import org.proxy4j.core.util.NamingPolicy;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 import java.lang.annotation.Annotation;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * <p>Abstract base implementation of {@link ProxyFactory}.</p>
  * @author Brennan Spies
  * @since 1.0.0
  */
-public abstract class BaseProxyFactory implements ProxyFactory
+public abstract class BaseProxyFactory implements PreparableProxyFactory
 {
     private WeakReference<ClassLoader> preferredClassLoader;
     private NamingPolicy namingPolicy = new DefaultNamingPolicy();
@@ -98,6 +105,19 @@ public abstract class BaseProxyFactory implements ProxyFactory
         }
     }
 
+    /**
+     * Notifies the provider of a newly created virtual proxy, if it is {@link Prefetchable}.
+     * @param proxy The virtual proxy
+     * @param provider The provider of the proxy
+     * @param <T> The proxy type
+     * @return The proxy
+     */
+    protected <T> T virtualProxyCreated(T proxy, Provider<?> provider) {
+        if(provider instanceof Prefetchable)
+            ((Prefetchable) provider).proxyCreated();
+        return proxy;
+    }
+
     /**
      * @see ProxyFactory#createProxy(Class, Object, Class, org.aopalliance.intercept.MethodInterceptor...)
      */
@@ -109,4 +129,35 @@ public abstract class BaseProxyFactory implements ProxyFactory
                 .using(marker, interceptors)
                 .create();
     }
+
+    /**
+     * Prepares each shape by creating (and discarding) a proxy of that shape on the executor,
+     * which generates and caches its class.
+     * @see PreparableProxyFactory#prepare(Executor, Collection)
+     */
+    public CompletableFuture<PreparationReport> prepare(Executor executor, Collection<? extends ProxySpec<?>> specs) {
+        List<CompletableFuture<PreparationReport.Entry>> tasks = new ArrayList<>(specs.size());
+        for(ProxySpec<?> spec : specs) {
+            tasks.add(CompletableFuture.supplyAsync(() -> PreparationReport.prepare(this, spec), executor));
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<PreparationReport.Entry> entries = new ArrayList<>(tasks.size());
+            for(CompletableFuture<PreparationReport.Entry> task : tasks) {
+                entries.add(task.join());
+            }
+            return new PreparationReport(entries);
+        });
+    }
+
+    /**
+     * @see PreparableProxyFactory#prepare(Executor, Class[])
+     */
+    public CompletableFuture<PreparationReport> prepare(Executor executor, Class<?>... types) {
+        List<ProxySpec<?>> specs = new ArrayList<>(types.length*2);
+        for(Class<?> type : types) {
+            specs.add(ProxySpec.virtual(type));
+            specs.add(ProxySpec.handler(type));
+        }
+        return prepare(executor, specs);
+    }
 }
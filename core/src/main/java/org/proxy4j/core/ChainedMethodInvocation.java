@@ -0,0 +1,71 @@
+package org.proxy4j.core;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.proxy4j.core.trace.InvocationTracer;
+
+/**
+ * Base class for backend {@link org.aopalliance.intercept.MethodInvocation MethodInvocations} that can also serve as
+ * the cursor of an {@link InterceptorChain}. When such an invocation is passed to a chain,
+ * the chain binds its interceptors to the invocation, so that traversing the chain needs no
+ * further objects. Once the interceptors are exhausted, {@link #proceed()} invokes the target
+ * through {@link #invokeTarget()}. An invocation that is not bound to a chain invokes the
+ * target directly.
+ * @since 1.2.0
+ */
+public abstract class ChainedMethodInvocation implements PrimitiveMethodInvocation
+{
+    private MethodInterceptor[] interceptors;
+    private int index;
+
+    /**
+     * Proceeds to the next interceptor in the chain, or invokes the target if there is
+     * none. As with any {@code MethodInvocation}, an interceptor may proceed more than once.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    public final Object proceed() throws Throwable {
+        if(interceptors==null || index==interceptors.length) {
+            if(InvocationTracer.isEnabled())
+                InvocationTracer.dispatch(getMethod());
+            return invokeTarget();
+        }
+        if(InvocationTracer.isEnabled())
+            InvocationTracer.interceptor(getMethod(), index);
+        MethodInterceptor interceptor = interceptors[index++];
+        try {
+            return interceptor.invoke(this);
+        } finally {
+            index--;
+        }
+    }
+
+    /**
+     * Returns true if proceeding invokes another interceptor, and false if it
+     * invokes the target. Subclasses that proceed with a primitive result may
+     * only call the target directly when this returns false.
+     * @return True if there are interceptors left to invoke
+     */
+    protected final boolean hasNextInterceptor() {
+        return interceptors!=null && index<interceptors.length;
+    }
+
+    /**
+     * Invokes the target method with the arguments of this invocation.
+     * @return The return value of the target method
+     * @throws Throwable If an error occurs during invocation
+     */
+    protected abstract Object invokeTarget() throws Throwable;
+
+    /**
+     * Binds the chain of interceptors to this invocation, unless it is already bound
+     * to another chain.
+     * @param interceptors The interceptors
+     * @return True if the interceptors were bound
+     */
+    boolean bind(MethodInterceptor[] interceptors) {
+        if(this.interceptors!=null)
+            return false;
+        this.interceptors = interceptors;
+        return true;
+    }
+}
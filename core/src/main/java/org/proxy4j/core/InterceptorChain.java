@@ -2,9 +2,12 @@ package org.proxy4j.core;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.proxy4j.core.trace.InvocationTracer;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,7 +15,9 @@ import java.util.List;
  * (author: Bob Lee), but generalized to use the AOP alliance interfaces. This class is used to hold a chain of
  * {@link MethodInterceptor MethodInterceptors}, which are invoked <i>in order</i> by the proxy. Any interceptor that
  * does not call {@code MethodInvocation#proceed()} will effectively short-circuit the traversal of the chain and
- * prevent the target from being called.
+ * prevent the target from being called. A single-interceptor chain passes the method invocation straight to
+ * its interceptor, and a chain invoked with a {@link ChainedMethodInvocation} uses it as the chain cursor instead
+ * of wrapping it.
  * @author Brennan Spies
  * @since 1.0.0
  */
@@ -28,6 +33,21 @@ public class InterceptorChain implements MethodInterceptor
         this.interceptors = interceptors;
     }
 
+    /**
+     * Creates the chain of the given method from the interceptors of the factory. If the
+     * factory is a {@link LazyInterceptorFactory}, the interceptors are only created when
+     * the chain is first invoked.
+     * @param factory The interceptor factory
+     * @param method The method to be intercepted
+     * @return The interceptor chain of the method
+     * @since 1.2.0
+     */
+    public static InterceptorChain forMethod(InterceptorFactory factory, Method method) {
+        if(factory instanceof LazyInterceptorFactory)
+            return ((LazyInterceptorFactory) factory).newChain(method);
+        return new InterceptorChain(factory.getInterceptors(method));
+    }
+
     /**
      * Invokes the interceptor chain.
      * @param methodInvocation The method invocation
@@ -35,15 +55,62 @@ public class InterceptorChain implements MethodInterceptor
      * @throws Throwable If an error occurs during invocation
      */
     public Object invoke(MethodInvocation methodInvocation) throws Throwable {
-        return new InterceptedMethodInvocation(methodInvocation).proceed();
+        if(InvocationTracer.isEnabled())
+            return tracedInvoke(methodInvocation);
+        return invoke(getInterceptorArray(), methodInvocation);
+    }
+
+    private static Object invoke(MethodInterceptor[] interceptors, MethodInvocation methodInvocation) throws Throwable {
+        if(interceptors.length==1)
+            return interceptors[0].invoke(methodInvocation);
+        if(methodInvocation instanceof ChainedMethodInvocation &&
+                ((ChainedMethodInvocation) methodInvocation).bind(interceptors))
+            return methodInvocation.proceed();
+        return new InterceptedMethodInvocation(interceptors, methodInvocation).proceed();
     }
 
-    private class InterceptedMethodInvocation implements MethodInvocation
+    //records the entry and exit of the call, and the interceptor of a single-interceptor chain
+    private Object tracedInvoke(MethodInvocation methodInvocation) throws Throwable {
+        Method method = methodInvocation.getMethod();
+        MethodInterceptor[] interceptors = getInterceptorArray();
+        InvocationTracer.enter(method);
+        boolean failed = true;
+        try {
+            if(interceptors.length==1)
+                InvocationTracer.interceptor(method, 0);
+            Object result = invoke(interceptors, methodInvocation);
+            failed = false;
+            return result;
+        } finally {
+            InvocationTracer.exit(method, failed);
+        }
+    }
+
+    /**
+     * Returns the interceptors of the chain, in order of invocation.
+     * @return The interceptors
+     */
+    public List<MethodInterceptor> getInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(getInterceptorArray().clone()));
+    }
+
+    /**
+     * Returns the interceptors to invoke for a single call, which must not be modified.
+     * The array is read once per call, so a call runs the same interceptors throughout.
+     * @return The interceptors
+     */
+    MethodInterceptor[] getInterceptorArray() {
+        return interceptors;
+    }
+
+    private static class InterceptedMethodInvocation implements PrimitiveMethodInvocation
     {
+        final MethodInterceptor[] interceptors;
         MethodInvocation target;
         int index = -1;
 
-        InterceptedMethodInvocation(MethodInvocation target) {
+        InterceptedMethodInvocation(MethodInterceptor[] interceptors, MethodInvocation target) {
+            this.interceptors = interceptors;
             this.target = target;
         }
 
@@ -58,6 +125,8 @@ public class InterceptorChain implements MethodInterceptor
         public Object proceed() throws Throwable {
             index++;
             try {
+                if(InvocationTracer.isEnabled())
+                    traceProceed();
                 return index==interceptors.length ? target.proceed() :
                     interceptors[index].invoke(this);
             } finally {
@@ -65,6 +134,14 @@ public class InterceptorChain implements MethodInterceptor
             }
         }
 
+        //a chained target records its own steps
+        private void traceProceed() {
+            if(index<interceptors.length)
+                InvocationTracer.interceptor(getMethod(), index);
+            else if(!(target instanceof ChainedMethodInvocation))
+                InvocationTracer.dispatch(getMethod());
+        }
+
         public Object getThis() {
             return target.getThis();
         }
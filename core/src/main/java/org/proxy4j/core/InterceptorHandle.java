@@ -0,0 +1,106 @@
+package org.proxy4j.core;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.proxy4j.core.reflect.SignatureKey;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An interceptor proxy together with the {@link MutableInterceptorChain chains} of its
+ * intercepted methods, through which interceptors can be replaced or added while the proxy
+ * is in use, without generating a new proxy class or creating a new proxy. Only methods that
+ * were bound when the proxy was built can be changed; binding a method to an empty chain
+ * leaves it free to have interceptors added later.
+ * @since 1.2.0
+ * @see org.proxy4j.core.build.InterceptorCreator#createHandle()
+ */
+public final class InterceptorHandle<T>
+{
+    private final T proxy;
+    private final Map<SignatureKey,MutableInterceptorChain> chains;
+
+    /**
+     * Creates the handle of an interceptor proxy. Used by the proxy factories.
+     * @param proxy The proxy
+     * @param chains The chains of the intercepted methods, keyed by method signature
+     */
+    public InterceptorHandle(T proxy, Map<SignatureKey,MutableInterceptorChain> chains) {
+        this.proxy = proxy;
+        this.chains = Collections.unmodifiableMap(new LinkedHashMap<>(chains));
+    }
+
+    /**
+     * Copies each chain of the given bindings into its own mutable chain, keyed by method signature.
+     * @param bindings The chains bound to each intercepted method, keyed by method or signature
+     * @return The mutable chains
+     */
+    public static Map<SignatureKey,MutableInterceptorChain> toMutableChains(Map<?,? extends InterceptorChain> bindings) {
+        Map<SignatureKey,MutableInterceptorChain> chains = new LinkedHashMap<>();
+        for(Map.Entry<?,? extends InterceptorChain> entry : bindings.entrySet()) {
+            Object key = entry.getKey();
+            chains.put(key instanceof Method ? SignatureKey.of((Method) key) : (SignatureKey) key,
+                    new MutableInterceptorChain(entry.getValue()));
+        }
+        return chains;
+    }
+
+    /**
+     * Returns the proxy.
+     * @return The interceptor proxy
+     */
+    public T getProxy() {
+        return proxy;
+    }
+
+    /**
+     * Returns true if the method was bound when the proxy was built, so that its
+     * interceptors can be changed.
+     * @param method The method
+     * @return True if the method is intercepted
+     */
+    public boolean isBound(Method method) {
+        return chains.containsKey(SignatureKey.of(method));
+    }
+
+    /**
+     * Returns the interceptors currently bound to the given method.
+     * @param method The method
+     * @return The interceptors, in order of invocation
+     * @throws IllegalArgumentException If the method was not bound when the proxy was built
+     */
+    public List<MethodInterceptor> getInterceptors(Method method) {
+        return getChain(method).getInterceptors();
+    }
+
+    /**
+     * Replaces the interceptors of the given method. Calls already in progress complete
+     * with the previous interceptors.
+     * @param method The method
+     * @param interceptors The new interceptors, or none to pass calls through to the target
+     * @throws IllegalArgumentException If the method was not bound when the proxy was built
+     */
+    public void replace(Method method, MethodInterceptor... interceptors) {
+        getChain(method).set(interceptors);
+    }
+
+    /**
+     * Adds interceptors to the end of the chain of the given method.
+     * @param method The method
+     * @param interceptors The interceptors to add
+     * @throws IllegalArgumentException If the method was not bound when the proxy was built
+     */
+    public void append(Method method, MethodInterceptor... interceptors) {
+        getChain(method).append(interceptors);
+    }
+
+    private MutableInterceptorChain getChain(Method method) {
+        MutableInterceptorChain chain = chains.get(SignatureKey.of(method));
+        if(chain==null)
+            throw new IllegalArgumentException("Method not bound to interceptor: " + method.getName());
+        return chain;
+    }
+}
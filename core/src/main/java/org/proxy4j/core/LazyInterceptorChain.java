@@ -0,0 +1,47 @@
+package org.proxy4j.core;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * The chain of a method bound with a {@link LazyInterceptorFactory}, whose interceptors are
+ * created on its first invocation. The interceptors are published with a compare-and-set,
+ * so every call sees the same interceptors even if the first calls race; the factory may
+ * then be asked more than once, and all but one of the results are discarded.
+ * @since 1.2.0
+ */
+final class LazyInterceptorChain extends InterceptorChain
+{
+    private static final AtomicReferenceFieldUpdater<LazyInterceptorChain,MethodInterceptor[]> resolvedUpdater =
+            AtomicReferenceFieldUpdater.newUpdater(LazyInterceptorChain.class, MethodInterceptor[].class, "interceptors");
+
+    private final LazyInterceptorFactory factory;
+    private final Method method;
+    private volatile MethodInterceptor[] interceptors;
+
+    LazyInterceptorChain(LazyInterceptorFactory factory, Method method) {
+        this.factory = factory;
+        this.method = method;
+    }
+
+    @Override
+    MethodInterceptor[] getInterceptorArray() {
+        MethodInterceptor[] resolved = interceptors;
+        return resolved!=null ? resolved : resolve();
+    }
+
+    //creates the interceptors, keeping those of a racing call if it published first
+    private MethodInterceptor[] resolve() {
+        long start = System.nanoTime();
+        List<MethodInterceptor> list = factory.getInterceptors(method);
+        MethodInterceptor[] resolved = list.toArray(new MethodInterceptor[list.size()]);
+        if(resolvedUpdater.compareAndSet(this, null, resolved)) {
+            factory.resolved(System.nanoTime() - start);
+            return resolved;
+        }
+        return interceptors;
+    }
+}
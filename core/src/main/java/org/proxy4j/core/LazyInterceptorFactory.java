@@ -0,0 +1,101 @@
+package org.proxy4j.core;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link InterceptorFactory} whose interceptors are created when each method is first
+ * called rather than when the proxy is built. Wrapping a factory this way saves the time and
+ * heap of creating chains for methods that are never called, which matters for proxies of
+ * wide interfaces of which only a few methods are used:
+ * <pre>proxyFactory.buildInterceptor(Foo.class)
+ *     .on(foo)
+ *     .using(filter, LazyInterceptorFactory.of(factory))
+ *     .create();</pre>
+ * The factory keeps counts of the methods bound and resolved, so the effect can be observed.
+ * @since 1.2.0
+ */
+public final class LazyInterceptorFactory implements InterceptorFactory
+{
+    private final InterceptorFactory factory;
+    private final LongAdder bound = new LongAdder();
+    private final LongAdder resolved = new LongAdder();
+    private final LongAdder resolutionNanos = new LongAdder();
+
+    private LazyInterceptorFactory(InterceptorFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Wraps the given factory, so that its interceptors are created on the first call
+     * of each method.
+     * @param factory The interceptor factory
+     * @return The lazy factory
+     */
+    public static LazyInterceptorFactory of(InterceptorFactory factory) {
+        return factory instanceof LazyInterceptorFactory ? (LazyInterceptorFactory) factory : new LazyInterceptorFactory(factory);
+    }
+
+    /**
+     * Returns the interceptors of the wrapped factory for the given method right away.
+     * @param method The method to be intercepted
+     * @return The interceptor chain (in order of invocation)
+     */
+    public List<MethodInterceptor> getInterceptors(Method method) {
+        return factory.getInterceptors(method);
+    }
+
+    /**
+     * Returns the number of methods bound to chains of this factory.
+     * @return The number of bound methods
+     */
+    public long getBoundCount() {
+        return bound.sum();
+    }
+
+    /**
+     * Returns the number of bound methods whose chains have been created, because
+     * the method was called.
+     * @return The number of resolved methods
+     */
+    public long getResolvedCount() {
+        return resolved.sum();
+    }
+
+    /**
+     * Returns the total time spent creating the chains of resolved methods.
+     * @param unit The unit of the returned time
+     * @return The resolution time
+     */
+    public long getResolutionTime(TimeUnit unit) {
+        return unit.convert(resolutionNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates the chain of the given method, which is resolved when it is first invoked.
+     * @param method The bound method
+     * @return The lazy chain
+     */
+    InterceptorChain newChain(Method method) {
+        bound.increment();
+        return new LazyInterceptorChain(this, method);
+    }
+
+    /**
+     * Records the resolution of a method's chain.
+     * @param nanos The time it took to create the chain
+     */
+    void resolved(long nanos) {
+        resolved.increment();
+        resolutionNanos.add(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyInterceptorFactory[" + factory + ", resolved " + getResolvedCount() + "/" + getBoundCount() + "]";
+    }
+}
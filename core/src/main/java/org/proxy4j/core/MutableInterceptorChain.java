@@ -0,0 +1,68 @@
+package org.proxy4j.core;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An {@link InterceptorChain} whose interceptors can be replaced while the proxy that holds it
+ * is in use. Changes publish a new copy of the interceptor array, so invoking the chain never
+ * locks; a call that is already in progress completes with the interceptors it started with.
+ * An empty chain passes calls straight through to the target.
+ * @since 1.2.0
+ * @see InterceptorHandle
+ */
+public class MutableInterceptorChain extends InterceptorChain
+{
+    private volatile MethodInterceptor[] interceptors;
+
+    /**
+     * Creates a mutable chain starting with the interceptors of the given chain. The
+     * interceptors of a chain bound with a {@link LazyInterceptorFactory} are created now.
+     * @param chain The initial chain
+     */
+    public MutableInterceptorChain(InterceptorChain chain) {
+        this(chain.getInterceptorArray());
+    }
+
+    /**
+     * Creates a mutable chain starting with the given interceptors.
+     * @param interceptors The initial interceptors
+     */
+    public MutableInterceptorChain(MethodInterceptor... interceptors) {
+        this.interceptors = interceptors.clone();
+    }
+
+    /**
+     * Replaces all interceptors of the chain.
+     * @param interceptors The new interceptors, or none to pass calls through to the target
+     */
+    public synchronized void set(MethodInterceptor... interceptors) {
+        this.interceptors = interceptors.clone();
+    }
+
+    /**
+     * Replaces all interceptors of the chain.
+     * @param interceptors The new interceptors, or none to pass calls through to the target
+     */
+    public void set(List<MethodInterceptor> interceptors) {
+        set(interceptors.toArray(new MethodInterceptor[interceptors.size()]));
+    }
+
+    /**
+     * Adds the given interceptors to the end of the chain.
+     * @param interceptors The interceptors to add
+     */
+    public synchronized void append(MethodInterceptor... interceptors) {
+        MethodInterceptor[] current = this.interceptors;
+        MethodInterceptor[] appended = Arrays.copyOf(current, current.length + interceptors.length);
+        System.arraycopy(interceptors, 0, appended, current.length, interceptors.length);
+        this.interceptors = appended;
+    }
+
+    @Override
+    MethodInterceptor[] getInterceptorArray() {
+        return interceptors;
+    }
+}
@@ -0,0 +1,32 @@
+package org.proxy4j.core;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link ProxyFactory} that can generate its proxy classes ahead of time, typically at
+ * startup, so that the first proxies created while serving requests find their classes
+ * already cached.
+ * @since 1.2.0
+ */
+public interface PreparableProxyFactory extends ProxyFactory
+{
+    /**
+     * Generates the proxy classes of the given shapes, each as a separate task on the executor.
+     * Shapes that cannot be prepared are reported as failures rather than failing the result.
+     * @param executor The executor that runs the generation tasks
+     * @param specs The proxy shapes to prepare
+     * @return A future completed with the report once all shapes have been prepared
+     */
+    CompletableFuture<PreparationReport> prepare(Executor executor, Collection<? extends ProxySpec<?>> specs);
+
+    /**
+     * Generates the virtual and handler proxy classes of each of the given types.
+     * @param executor The executor that runs the generation tasks
+     * @param types The proxy types
+     * @return A future completed with the report once all shapes have been prepared
+     * @see #prepare(Executor, Collection)
+     */
+    CompletableFuture<PreparationReport> prepare(Executor executor, Class<?>... types);
+}
@@ -0,0 +1,129 @@
+package org.proxy4j.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of {@link PreparableProxyFactory#prepare preparing} a set of proxy shapes:
+ * how long each one took, and why any of them failed.
+ * @since 1.2.0
+ */
+public final class PreparationReport
+{
+    /**
+     * The outcome of preparing a single proxy shape.
+     */
+    public static final class Entry
+    {
+        private final ProxySpec<?> spec;
+        private final long nanos;
+        private final Throwable failure;
+
+        Entry(ProxySpec<?> spec, long nanos, Throwable failure) {
+            this.spec = spec;
+            this.nanos = nanos;
+            this.failure = failure;
+        }
+
+        /**
+         * Returns the prepared proxy shape.
+         * @return The proxy spec
+         */
+        public ProxySpec<?> getSpec() { return spec; }
+
+        /**
+         * Returns the time it took to prepare the shape. A shape whose class was
+         * already cached takes next to no time.
+         * @param unit The unit of the returned time
+         * @return The preparation time
+         */
+        public long getTime(TimeUnit unit) { return unit.convert(nanos, TimeUnit.NANOSECONDS); }
+
+        /**
+         * Returns the reason the shape could not be prepared.
+         * @return The failure, or {@code null} if the shape was prepared
+         */
+        public Throwable getFailure() { return failure; }
+
+        /**
+         * Returns true if the shape was prepared.
+         * @return True if the shape's proxy class was generated or already cached
+         */
+        public boolean isPrepared() { return failure==null; }
+
+        @Override
+        public String toString() {
+            return spec + ": " + (failure==null ? TimeUnit.NANOSECONDS.toMicros(nanos) + "us" : "failed (" + failure + ")");
+        }
+    }
+
+    private final List<Entry> entries;
+
+    PreparationReport(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Prepares a single shape with the given factory, recording the time it takes.
+     * @param factory The factory to prepare
+     * @param spec The proxy shape
+     * @return The report entry for the shape
+     */
+    static Entry prepare(ProxyFactory factory, ProxySpec<?> spec) {
+        long start = System.nanoTime();
+        try {
+            spec.prepare(factory);
+            return new Entry(spec, System.nanoTime() - start, null);
+        } catch (RuntimeException | LinkageError e) {
+            return new Entry(spec, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Returns the entries of all prepared shapes, in the order they were requested.
+     * @return The report entries
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the entries of the shapes that could not be prepared.
+     * @return The failed entries
+     */
+    public List<Entry> getFailures() {
+        List<Entry> failures = new ArrayList<>();
+        for(Entry entry : entries) {
+            if(!entry.isPrepared())
+                failures.add(entry);
+        }
+        return failures;
+    }
+
+    /**
+     * Returns the sum of the preparation times of all shapes, which exceeds the elapsed
+     * time when shapes were prepared in parallel.
+     * @param unit The unit of the returned time
+     * @return The total preparation time
+     */
+    public long getTotalTime(TimeUnit unit) {
+        long total = 0;
+        for(Entry entry : entries) {
+            total += entry.nanos;
+        }
+        return unit.convert(total, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Prepared ")
+                .append(entries.size() - getFailures().size()).append('/').append(entries.size())
+                .append(" proxy shapes");
+        for(Entry entry : entries) {
+            sb.append("\n  ").append(entry);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package org.proxy4j.core;
+
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * A {@link MethodInvocation} that can proceed with a primitive result. An interceptor on a method
+ * with a primitive return type may call the {@code proceed} method for that type instead of
+ * {@link #proceed()}. Implementations that can call the target without boxing its result override
+ * the method for the return type of the target; the default implementations unbox the result
+ * of {@code proceed()}.
+ * <p>Calling a method that does not match the return type of the invoked method results in a
+ * {@code ClassCastException}.</p>
+ * @since 1.2.0
+ */
+public interface PrimitiveMethodInvocation extends MethodInvocation
+{
+    /**
+     * Proceeds with an invocation of a method returning {@code boolean}.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    default boolean proceedBoolean() throws Throwable {
+        return (Boolean) proceed();
+    }
+
+    /**
+     * Proceeds with an invocation of a method returning {@code byte}.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    default byte proceedByte() throws Throwable {
+        return (Byte) proceed();
+    }
+
+    /**
+     * Proceeds with an invocation of a method returning {@code short}.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    default short proceedShort() throws Throwable {
+        return (Short) proceed();
+    }
+
+    /**
+     * Proceeds with an invocation of a method returning {@code char}.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    default char proceedChar() throws Throwable {
+        return (Character) proceed();
+    }
+
+    /**
+     * Proceeds with an invocation of a method returning {@code int}.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    default int proceedInt() throws Throwable {
+        return (Integer) proceed();
+    }
+
+    /**
+     * Proceeds with an invocation of a method returning {@code long}.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    default long proceedLong() throws Throwable {
+        return (Long) proceed();
+    }
+
+    /**
+     * Proceeds with an invocation of a method returning {@code float}.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    default float proceedFloat() throws Throwable {
+        return (Float) proceed();
+    }
+
+    /**
+     * Proceeds with an invocation of a method returning {@code double}.
+     * @return The return value
+     * @throws Throwable If an error occurs during invocation
+     */
+    default double proceedDouble() throws Throwable {
+        return (Double) proceed();
+    }
+}
@@ -0,0 +1,143 @@
+package org.proxy4j.core;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.proxy4j.core.filter.MethodFilter;
+
+import java.lang.annotation.Annotation;
+import java.util.function.Consumer;
+
+/**
+ * Describes the shape of a proxy, i.e. the proxied types and the kind of proxy, so that
+ * its class can be generated ahead of time by {@link PreparableProxyFactory#prepare}.
+ * A prepared class is only reused by proxies of exactly the same shape: interceptor
+ * proxies must be created for a target of the same class, with the same methods
+ * intercepted by a single chain.
+ * @param <T> The proxy type
+ * @since 1.2.0
+ */
+public final class ProxySpec<T>
+{
+    /**
+     * The kinds of proxy that can be prepared.
+     */
+    public enum Shape
+    {
+        /** A proxy created with {@link ProxyFactory#createProxy(Class, javax.inject.Provider)}. */
+        VIRTUAL,
+        /** A proxy created with one of the {@link ProxyHandler} methods of {@link ProxyFactory}. */
+        HANDLER,
+        /** A proxy created with {@link ProxyFactory#buildInterceptor(Class)}. */
+        INTERCEPTOR
+    }
+
+    private static final MethodInterceptor PROCEED = MethodInvocation::proceed;
+
+    private final Shape shape;
+    private final Class<?>[] types;
+    private final Consumer<ProxyFactory> preparer;
+
+    private ProxySpec(Shape shape, Class<?>[] types, Consumer<ProxyFactory> preparer) {
+        this.shape = shape;
+        this.types = types;
+        this.preparer = preparer;
+    }
+
+    /**
+     * Returns the spec of a virtual proxy of the given type.
+     * @param type The proxy type
+     * @param <T> The proxy type
+     * @return The proxy spec
+     */
+    public static <T> ProxySpec<T> virtual(Class<T> type) {
+        return new ProxySpec<>(Shape.VIRTUAL, new Class<?>[]{type}, factory -> factory.createProxy(type, () -> {
+            throw new IllegalStateException("Prepared proxies are not used");
+        }));
+    }
+
+    /**
+     * Returns the spec of a handler proxy of the given type.
+     * @param type The proxy type
+     * @param <T> The proxy type
+     * @return The proxy spec
+     */
+    public static <T> ProxySpec<T> handler(Class<T> type) {
+        return new ProxySpec<>(Shape.HANDLER, new Class<?>[]{type},
+                factory -> factory.createProxy(type, (ProxyHandler<T>) invocation -> null));
+    }
+
+    /**
+     * Returns the spec of a handler proxy that implements the given interfaces.
+     * @param interfaces The proxy interfaces
+     * @return The proxy spec
+     */
+    public static ProxySpec<Object> handler(Class<?>... interfaces) {
+        Class<?>[] types = interfaces.clone();
+        return new ProxySpec<>(Shape.HANDLER, types,
+                factory -> factory.createProxy(types, invocation -> null));
+    }
+
+    /**
+     * Returns the spec of an interceptor proxy for the given target, whose methods
+     * accepted by the filter are intercepted.
+     * @param type The proxy type
+     * @param target A target of the class the proxies will be created for; it is not invoked
+     * @param filter Selects the intercepted methods
+     * @param <T> The proxy type
+     * @return The proxy spec
+     */
+    public static <T> ProxySpec<T> interceptor(Class<T> type, T target, MethodFilter filter) {
+        return new ProxySpec<>(Shape.INTERCEPTOR, new Class<?>[]{type},
+                factory -> factory.buildInterceptor(type).on(target).using(filter, PROCEED).create());
+    }
+
+    /**
+     * Returns the spec of an interceptor proxy for the given target, whose methods
+     * marked with the annotation are intercepted.
+     * @param type The proxy type
+     * @param target A target of the class the proxies will be created for; it is not invoked
+     * @param marker The annotation that marks intercepted methods
+     * @param <T> The proxy type
+     * @return The proxy spec
+     */
+    public static <T> ProxySpec<T> interceptor(Class<T> type, T target, Class<? extends Annotation> marker) {
+        return new ProxySpec<>(Shape.INTERCEPTOR, new Class<?>[]{type},
+                factory -> factory.createProxy(type, target, marker, PROCEED));
+    }
+
+    /**
+     * Returns the kind of proxy.
+     * @return The proxy shape
+     */
+    public Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * Returns the proxied types.
+     * @return The proxied types
+     */
+    public Class<?>[] getTypes() {
+        return types.clone();
+    }
+
+    /**
+     * Creates a proxy of this shape with the given factory, so that its class is generated
+     * and cached. The proxy itself is discarded.
+     * @param factory The factory to prepare
+     * @throws GenerationException If the proxy class cannot be generated
+     */
+    public void prepare(ProxyFactory factory) throws GenerationException {
+        preparer.accept(factory);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(shape.name().toLowerCase()).append(' ');
+        for(int i=0; i<types.length; i++) {
+            if(i>0) sb.append(", ");
+            sb.append(types[i].getName());
+        }
+        return sb.toString();
+    }
+}
@@ -26,7 +26,8 @@ public interface InterceptorBindingBuilder<T> extends MethodBinder<T> {
     /**
      * Uses the given method filter to selectively bind methods on the class of type {@code T} to
      * a chain of interceptors produced by the given factory. Hence the interceptors are not (necessarily)
-     * shared between all proxied methods.
+     * shared between all proxied methods. If the factory is a {@link org.proxy4j.core.LazyInterceptorFactory},
+     * the chain of each method is created when the method is first called.
      * @param filter The method filter
      * @param factory The interceptor factory
      * @return The final builder, used to create the proxy
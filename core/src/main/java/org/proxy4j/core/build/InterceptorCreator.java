@@ -1,6 +1,7 @@
 package org.proxy4j.core.build;
 
 import org.proxy4j.core.GenerationException;
+import org.proxy4j.core.InterceptorHandle;
 
 /**
  * The final builder used internally by {@link InterceptorBuilder}
@@ -16,4 +17,14 @@ public interface InterceptorCreator<T> {
      * @throws GenerationException If an error occurs generating the proxy
      */
     T create() throws GenerationException;
+
+    /**
+     * Creates the interceptor proxy with chains whose interceptors can be replaced or
+     * added to while the proxy is in use. Each bound method has its own chain, even
+     * if it was bound together with other methods.
+     * @return The handle of the interceptor proxy
+     * @throws GenerationException If an error occurs generating the proxy
+     * @since 1.2.0
+     */
+    InterceptorHandle<T> createHandle() throws GenerationException;
 }
@@ -7,9 +7,13 @@ import org.aopalliance.intercept.MethodInterceptor;
 import org.proxy4j.core.GenerationException;
 import org.proxy4j.core.InterceptorChain;
 import org.proxy4j.core.InterceptorFactory;
+import org.proxy4j.core.InterceptorHandle;
+import org.proxy4j.core.LazyInterceptorFactory;
+import org.proxy4j.core.MutableInterceptorChain;
 import org.proxy4j.core.filter.AnnotationFilter;
 import org.proxy4j.core.filter.MethodFilter;
 import org.proxy4j.core.build.*;
+import org.proxy4j.core.reflect.SignatureKey;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -24,32 +28,30 @@ import java.util.*;
 class CglibInterceptorBuilder<T> implements InterceptorBuilder<T>
 {
     private final ClassLoader loader;
+    private final ProxyClassCache cache;
     private ProxyCreator<T> proxyCreator;
     private T target;
 
-    CglibInterceptorBuilder(ClassLoader loader) {
+    CglibInterceptorBuilder(ClassLoader loader, ProxyClassCache cache) {
        this.loader = loader;
+       this.cache = cache;
     }
 
     @SuppressWarnings("unchecked")
     public InterceptorBindingBuilder<T> on(T target) {
         this.target = target;
-        proxyCreator = new ProxyCreator<>(loader, (Class<T>) target.getClass());
+        proxyCreator = new ProxyCreator<>(loader, (Class<T>) target.getClass(), cache);
         return new CglibInterceptorBindingBuilder();
     }
 
-    // Returns the appropriate {@code Callback}.
+    // Returns the {@code Callback} for the interceptors.
     private Callback getCallback(MethodInterceptor... interceptors) {
-        //assume not 0
-        return interceptors.length == 1 ? new InterceptorCallback(target, interceptors[0]) :
-            new InterceptorChainCallback(target, interceptors);
+        return new InterceptorChainCallback(target, new InterceptorChain(interceptors));
     }
 
-    // Returns the appropriate {@code Callback}.
-    private Callback getCallback(List<MethodInterceptor> interceptors) {
-        //assume not 0
-        return interceptors.size()==1 ? new InterceptorCallback(target, interceptors.get(0)) :
-            new InterceptorChainCallback(interceptors);
+    // Returns the {@code Callback} for the interceptor chain.
+    private Callback getCallback(InterceptorChain chain) {
+        return new InterceptorChainCallback(target, chain);
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////
@@ -75,11 +77,16 @@ class CglibInterceptorBuilder<T> implements InterceptorBuilder<T>
             mapper.bind(method, getCallback(interceptors));
         }
 
+        // Maps the given method to the chain created by the factory, right away unless the factory is lazy
         protected void map(Method method, InterceptorFactory factory) {
+            if(factory instanceof LazyInterceptorFactory) {
+                mapper.bind(method, getCallback(InterceptorChain.forMethod(factory, method)));
+                return;
+            }
             List<MethodInterceptor> interceptors = factory.getInterceptors(method);
             if (interceptors.size() == 0)
                 throw new RuntimeException("InterceptorFactory must return non-empty list of interceptors");
-            mapper.bind(method, getCallback(interceptors));
+            mapper.bind(method, getCallback(new InterceptorChain(interceptors)));
         }
     }
 
@@ -141,6 +148,10 @@ class CglibInterceptorBuilder<T> implements InterceptorBuilder<T>
             InterceptorCreator<T> creator = new CglibInterceptorCreator(getMethodMapper());
             return creator.create();
         }
+
+        public InterceptorHandle<T> createHandle() throws GenerationException {
+            return new CglibInterceptorCreator(getMethodMapper()).createHandle();
+        }
     }
 
     /**
@@ -148,15 +159,21 @@ class CglibInterceptorBuilder<T> implements InterceptorBuilder<T>
      */
     private class CglibInterceptorCreator implements InterceptorCreator<T>
     {
-        private final CallbackMapper mapper;
+        private final BindingCallbackMapper mapper;
 
-        CglibInterceptorCreator(CallbackMapper mapper) {
+        CglibInterceptorCreator(BindingCallbackMapper mapper) {
             this.mapper = mapper;
         }
 
         public T create() throws GenerationException {
             return proxyCreator.newProxy(mapper);
         }
+
+        public InterceptorHandle<T> createHandle() throws GenerationException {
+            Map<SignatureKey,MutableInterceptorChain> chains = new LinkedHashMap<>();
+            T proxy = proxyCreator.newProxy(mapper.toMutable(chains));
+            return new InterceptorHandle<>(proxy, chains);
+        }
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////
@@ -171,7 +188,7 @@ class CglibInterceptorBuilder<T> implements InterceptorBuilder<T>
         private final Map<Method,Callback> map;
 
         public BindingCallbackMapper() {
-            map = new HashMap<>();
+            map = new LinkedHashMap<>();
         }
 
         void bind(Method m, Callback callback) {
@@ -184,41 +201,45 @@ class CglibInterceptorBuilder<T> implements InterceptorBuilder<T>
             Callback callback = map.get(method);
             return callback!=null ? callback : NoOp.INSTANCE;
         }
-    }
-
-    /** CGLIB adapter for invoking an {@code InterceptorChain}. */
-    private static class InterceptorChainCallback implements net.sf.cglib.proxy.MethodInterceptor
-    {
-        private final InterceptorChain chain;
-        private Object target;
 
-        InterceptorChainCallback(Object target, MethodInterceptor... interceptors) {
-            this.target = target;
-            chain = new InterceptorChain(interceptors);
-        }
-
-        InterceptorChainCallback(List<MethodInterceptor> interceptors) {
-            chain = new InterceptorChain(interceptors);
-        }
-
-        public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
-            return chain.invoke(new CglibMethodInvocation(target, method, methodProxy, args));
+        /**
+         * Returns a mapper with the same bindings, where each interceptor callback has its
+         * own mutable copy of its chain.
+         * @param chains Receives the mutable chains, keyed by method signature
+         * @return The mapper with mutable chains
+         */
+        BindingCallbackMapper toMutable(Map<SignatureKey,MutableInterceptorChain> chains) {
+            BindingCallbackMapper mutable = new BindingCallbackMapper();
+            for(Map.Entry<Method,Callback> entry : map.entrySet()) {
+                Callback callback = entry.getValue();
+                if(callback instanceof InterceptorChainCallback) {
+                    InterceptorChainCallback chainCallback = (InterceptorChainCallback) callback;
+                    MutableInterceptorChain chain = new MutableInterceptorChain(chainCallback.chain);
+                    chains.put(SignatureKey.of(entry.getKey()), chain);
+                    callback = new InterceptorChainCallback(chainCallback.target, chain);
+                }
+                mutable.bind(entry.getKey(), callback);
+            }
+            return mutable;
         }
     }
 
-    /** CGLIB adapter for invoking a {@link MethodInterceptor}. */
-    private static class InterceptorCallback implements net.sf.cglib.proxy.MethodInterceptor
+    /**
+     * CGLIB adapter for invoking an {@code InterceptorChain}. The {@code CglibMethodInvocation}
+     * created for each call also serves as the chain cursor.
+     */
+    private static class InterceptorChainCallback implements net.sf.cglib.proxy.MethodInterceptor
     {
-        private final MethodInterceptor interceptor;
+        private final InterceptorChain chain;
         private final Object target;
 
-        InterceptorCallback(Object target, MethodInterceptor interceptor) {
+        InterceptorChainCallback(Object target, InterceptorChain chain) {
             this.target = target;
-            this.interceptor = interceptor;
+            this.chain = chain;
         }
 
         public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
-            return interceptor.invoke(new CglibMethodInvocation(target, method, methodProxy, args));
+            return chain.invoke(new CglibMethodInvocation(target, method, methodProxy, args));
         }
     }
 }
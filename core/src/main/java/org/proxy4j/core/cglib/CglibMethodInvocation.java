@@ -2,6 +2,7 @@ package org.proxy4j.core.cglib;
 
 import net.sf.cglib.proxy.MethodProxy;
 import org.aopalliance.intercept.MethodInvocation;
+import org.proxy4j.core.ChainedMethodInvocation;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
@@ -11,7 +12,7 @@ import java.lang.reflect.Method;
  * @author Brennan Spies
  * @since 1.0.0
  */
-class CglibMethodInvocation implements MethodInvocation
+class CglibMethodInvocation extends ChainedMethodInvocation
 {
     private final Object target;
     private final Method method;
@@ -33,7 +34,7 @@ class CglibMethodInvocation implements MethodInvocation
         return args;
     }
 
-    public Object proceed() throws Throwable {
+    protected Object invokeTarget() throws Throwable {
         return methodProxy.invoke(target, args);
     }
 
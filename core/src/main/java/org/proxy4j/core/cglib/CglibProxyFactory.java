@@ -1,8 +1,8 @@
 package org.proxy4j.core.cglib;
 
+import net.sf.cglib.core.GeneratorStrategy;
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Dispatcher;
-import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodProxy;
 import net.sf.cglib.reflect.FastClass;
 import org.proxy4j.core.BaseProxyFactory;
@@ -10,11 +10,17 @@ import org.proxy4j.core.GenerationException;
 import org.proxy4j.core.ProxyHandler;
 import org.proxy4j.core.ProxyLoader;
 import org.proxy4j.core.build.InterceptorBuilder;
+import org.proxy4j.core.util.ClassHashKey;
+import org.proxy4j.core.util.ProxyClassStore;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * {@link org.proxy4j.core.ProxyFactory ProxyFactory} implementation using <a href="http://cglib.sourceforge.net/">CGLIB</a>.
@@ -23,6 +29,8 @@ import java.lang.reflect.Method;
  */
 public class CglibProxyFactory extends BaseProxyFactory
 {
+    private final ProxyClassCache cache = new ProxyClassCache();
+
     public CglibProxyFactory() {
         super();
     }
@@ -38,13 +46,12 @@ public class CglibProxyFactory extends BaseProxyFactory
      */
     public <T> T createProxy(Class<T> proxyClass, Provider<T> provider) throws GenerationException
     {
-        FastClass fastClass = getProxyClass(getProxyClassLoader(proxyClass), proxyClass, new ProviderAdapter(provider));
+        Callback callback = new ProviderAdapter(provider);
+        FastClass fastClass = getProxyClass(getProxyClassLoader(proxyClass), proxyClass, callback);
         try {
-            return proxyClass.cast(fastClass.newInstance());
+            return virtualProxyCreated(proxyClass.cast(ClassGenerator.newInstance(fastClass, callback)), provider);
         } catch(InvocationTargetException ite) {
             throw new GenerationException("Error creating Provider proxy", ite);
-        } finally {
-            clean(fastClass);
         }
     }
 
@@ -53,13 +60,12 @@ public class CglibProxyFactory extends BaseProxyFactory
      * @see org.proxy4j.core.ProxyFactory#createProxy(Class, org.proxy4j.core.ProxyHandler)
      */
     public <T> T createProxy(Class<T> proxyClass, final ProxyHandler<T> handler) throws GenerationException {
-        FastClass fastClass = getProxyClass(getProxyClassLoader(proxyClass), proxyClass, new InvocationHandlerAdapter(handler));
+        Callback callback = new InvocationHandlerAdapter(handler);
+        FastClass fastClass = getProxyClass(getProxyClassLoader(proxyClass), proxyClass, callback);
         try {
-            return proxyClass.cast(fastClass.newInstance());
+            return proxyClass.cast(ClassGenerator.newInstance(fastClass, callback));
         } catch(InvocationTargetException ite) {
             throw new GenerationException("Error creating Invocation proxy", ite);
-        } finally {
-            clean(fastClass);
         }
     }
 
@@ -71,14 +77,12 @@ public class CglibProxyFactory extends BaseProxyFactory
         if(proxyInterfaces.length==0)
             throw new IllegalArgumentException("Must be at least 1 proxy interface class");
         assertInterfaces(proxyInterfaces);
-        FastClass fastClass = getProxyClass(getProxyClassLoader(proxyInterfaces[0]),
-            proxyInterfaces, new InvocationHandlerAdapter(handler));
+        Callback callback = new InvocationHandlerAdapter(handler);
+        FastClass fastClass = getProxyClass(getProxyClassLoader(proxyInterfaces[0]), proxyInterfaces, callback);
         try {
-            return fastClass.newInstance();
+            return ClassGenerator.newInstance(fastClass, callback);
         } catch(InvocationTargetException ite) {
             throw new GenerationException("Error creating Invocation proxy", ite);
-        } finally {
-            clean(fastClass);
         }
     }
 
@@ -87,36 +91,67 @@ public class CglibProxyFactory extends BaseProxyFactory
      * @see org.proxy4j.core.ProxyFactory#buildInterceptor(Class) 
      */
     public <T> InterceptorBuilder<T> buildInterceptor(Class<T> proxyClass) {
-        return new CglibInterceptorBuilder<>(getProxyClassLoader(proxyClass));
+        return new CglibInterceptorBuilder<>(getProxyClassLoader(proxyClass), cache);
     }
 
-    //retrives or creates the FastClass for the proxy
-    private FastClass getProxyClass(ClassLoader loader, Class<?> proxyClass, Callback callback) {
-        FastClass fastClass = null; //TODO cache
-        if(fastClass == null) {
-            Class<?> enhanced = ClassGenerator.forType(loader, proxyClass)
-                .generate(callback.getClass());
-            fastClass = FastClass.create(enhanced);
-        }
-        Enhancer.registerCallbacks(fastClass.getJavaClass(), new Callback[]{callback});
-        return fastClass;
+    /**
+     * Sets the store that proxy classes generated by this factory are saved to, and defined
+     * from by later factories (typically in later JVMs) instead of being generated again.
+     * The store is not used if {@link ProxyClassStore#isEnabled()} is false.
+     * @param store The class store, or {@code null} to generate every class
+     */
+    public void setClassStore(ProxyClassStore store) {
+        cache.setStore(store);
+    }
+
+    /**
+     * Returns the number of proxy class lookups that were served from the cache.
+     * @return The cache hit count
+     */
+    public long getCacheHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * Returns the number of proxy class lookups that required a new proxy
+     * class to be generated.
+     * @return The cache miss count
+     */
+    public long getCacheMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * Returns the number of class loaders with proxy classes in the cache. Segments
+     * are dropped when their class loader is collected, so a count that keeps growing
+     * indicates that class loaders are leaking.
+     * @return The cache segment count
+     */
+    public int getCacheSegmentCount() {
+        return cache.getSegmentCount();
     }
 
     //retrieves or creates the FastClass for the proxy
-    private FastClass getProxyClass(ClassLoader loader, Class<?>[] interfaces, Callback callback) {
-        FastClass fastClass = null; //TODO cache
-        if(fastClass == null) {
-           Class<?> enhanced = ClassGenerator.forTypes(loader, interfaces)
-                .generate(callback.getClass());
-           fastClass = FastClass.create(enhanced);
-        }
-        Enhancer.registerCallbacks(fastClass.getJavaClass(), new Callback[]{callback});
-        return fastClass;
+    private FastClass getProxyClass(ClassLoader loader, Class<?> proxyClass, Callback callback) {
+        Function<GeneratorStrategy, Class<?>> generator = strategy -> ClassGenerator.forType(loader, proxyClass)
+                .generate(strategy, callback.getClass());
+        //classes visible only to the bootstrap loader cannot be keyed by loader
+        if(loader==null)
+            return ProxyClassCache.getUncachedFastClass(generator);
+        return cache.getFastClass(loader, new ClassHashKey(loader, callback.getClass(), proxyClass),
+                () -> cache.getStore().getKey("cglib", List.of(proxyClass, callback.getClass())), generator);
     }
 
-    //cleans the enhanced class of any registered callbacks
-    private void clean(FastClass fastClass) {
-        Enhancer.registerCallbacks(fastClass.getJavaClass(), null);
+    //retrieves or creates the FastClass for the proxy
+    private FastClass getProxyClass(ClassLoader loader, Class<?>[] interfaces, Callback callback) {
+        Function<GeneratorStrategy, Class<?>> generator = strategy -> ClassGenerator.forTypes(loader, interfaces)
+                .generate(strategy, callback.getClass());
+        if(loader==null)
+            return ProxyClassCache.getUncachedFastClass(generator);
+        List<Class<?>> types = new ArrayList<>(Arrays.asList(interfaces));
+        types.add(callback.getClass());
+        return cache.getFastClass(loader, new ClassHashKey(loader, types),
+                () -> cache.getStore().getKey("cglib", types), generator);
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////
@@ -1,8 +1,12 @@
 package org.proxy4j.core.cglib;
 
+import net.sf.cglib.core.GeneratorStrategy;
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.CallbackFilter;
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.reflect.FastClass;
+
+import java.lang.reflect.InvocationTargetException;
 
 /**
  * Generates proxy classes using CGLIB.
@@ -25,15 +29,15 @@ abstract class ClassGenerator<T>
         }
 
         @SuppressWarnings("unchecked")
-        Class<T> generate(Class<? extends Callback> callbackClass) {
-            Enhancer enhancer = newEnhancer(loader, proxyClass);
+        Class<T> generate(GeneratorStrategy strategy, Class<? extends Callback> callbackClass) {
+            Enhancer enhancer = newEnhancer(strategy, loader, proxyClass);
             enhancer.setCallbackType(callbackClass);
             return (Class<T>)enhancer.createClass();
         }
 
         @SuppressWarnings("unchecked")
-        Class<T> generate(CallbackFilter filter, Class<? extends Callback>... callbackClasses) {
-            Enhancer enhancer = newEnhancer(loader, proxyClass);
+        Class<T> generate(GeneratorStrategy strategy, CallbackFilter filter, Class<? extends Callback>... callbackClasses) {
+            Enhancer enhancer = newEnhancer(strategy, loader, proxyClass);
             enhancer.setCallbackTypes(callbackClasses);
             enhancer.setCallbackFilter(filter);
             return (Class<T>)enhancer.createClass();
@@ -62,15 +66,15 @@ abstract class ClassGenerator<T>
         }
 
         @SuppressWarnings("unchecked")
-        Class<T> generate(Class<? extends Callback> callbackClass) {
-            Enhancer enhancer = newEnhancer(loader, superType, proxyInterfaces);
+        Class<T> generate(GeneratorStrategy strategy, Class<? extends Callback> callbackClass) {
+            Enhancer enhancer = newEnhancer(strategy, loader, superType, proxyInterfaces);
             enhancer.setCallbackType(callbackClass);
             return (Class<T>)enhancer.createClass();
         }
 
         @SuppressWarnings("unchecked")
-        Class<T> generate(CallbackFilter filter, Class<? extends Callback>... callbackClasses) {
-            Enhancer enhancer = newEnhancer(loader, superType, proxyInterfaces);
+        Class<T> generate(GeneratorStrategy strategy, CallbackFilter filter, Class<? extends Callback>... callbackClasses) {
+            Enhancer enhancer = newEnhancer(strategy, loader, superType, proxyInterfaces);
             enhancer.setCallbackTypes(callbackClasses);
             enhancer.setCallbackFilter(filter);
             return (Class<T>)enhancer.createClass();
@@ -104,42 +108,65 @@ abstract class ClassGenerator<T>
 
     /**
      * Generates the proxy class with the given {@code Callback} type.
+     * @param strategy The strategy that generates the class bytes
      * @param callbackClass The callback type  
      * @return The proxy class
      */
-    abstract Class<T> generate(Class<? extends Callback> callbackClass);
+    abstract Class<T> generate(GeneratorStrategy strategy, Class<? extends Callback> callbackClass);
 
     /**
      * Generates the proxy class with the given {@code Callback} types and
      * filter.
+     * @param strategy The strategy that generates the class bytes
      * @param filter The callback filter
      * @param callbackClasses The callback types
      * @return The proxy class
      */
-    abstract Class<T> generate(CallbackFilter filter, Class<? extends Callback>... callbackClasses);
+    abstract Class<T> generate(GeneratorStrategy strategy, CallbackFilter filter, Class<? extends Callback>... callbackClasses);
+
+    /**
+     * Creates a proxy instance bound to the given callbacks. Callbacks are registered
+     * per thread by CGLIB, so concurrent creators of the same proxy class do not see
+     * each other's callbacks; the registration is always cleared afterwards.
+     * @param fastClass The {@code FastClass} of the proxy class
+     * @param callbacks The callbacks for the new instance
+     * @return The proxy instance
+     * @throws InvocationTargetException If the proxy constructor throws an exception
+     */
+    static Object newInstance(FastClass fastClass, Callback... callbacks) throws InvocationTargetException {
+        Enhancer.registerCallbacks(fastClass.getJavaClass(), callbacks);
+        try {
+            return fastClass.newInstance();
+        } finally {
+            Enhancer.registerCallbacks(fastClass.getJavaClass(), null);
+        }
+    }
 
     /**
      * Creates a new {@link Enhancer} for the given type, which
      * also implements the given interfaces.
+     * @param strategy The strategy that generates the class bytes
      * @param loader The class loader to use
      * @param type The type to enhance
      * @param interfaces The interfaces for the proxy to implement
      * @return The new enhancer
      */
-    protected Enhancer newEnhancer(ClassLoader loader, Class<?> type, Class<?>[] interfaces) {
-       Enhancer enhancer = newEnhancer(loader, type);
+    protected Enhancer newEnhancer(GeneratorStrategy strategy, ClassLoader loader, Class<?> type, Class<?>[] interfaces) {
+       Enhancer enhancer = newEnhancer(strategy, loader, type);
        enhancer.setInterfaces(interfaces);
        return enhancer;
     }
 
     /**
      * Creates a new {@link Enhancer} for the given type.
+     * @param strategy The strategy that generates the class bytes
      * @param loader The class loader to use
      * @param type The type to enhance
      * @return The new enhancer
      */
-    protected Enhancer newEnhancer(ClassLoader loader, Class<?> type) {
+    protected Enhancer newEnhancer(GeneratorStrategy strategy, ClassLoader loader, Class<?> type) {
         Enhancer enhancer = new Enhancer();
+        enhancer.setStrategy(strategy);
         enhancer.setUseFactory(false);
         enhancer.setClassLoader(loader);
         enhancer.setSuperclass(type);
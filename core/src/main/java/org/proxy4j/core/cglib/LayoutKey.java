@@ -0,0 +1,56 @@
+package org.proxy4j.core.cglib;
+
+import org.proxy4j.core.util.ClassHashKey;
+import org.proxy4j.core.util.Key;
+
+import java.util.Arrays;
+
+/**
+ * {@link Key} implementation for method-level proxy classes, which are determined
+ * by the proxied types, the index of the callback assigned to each method, and the
+ * callback types at each index.
+ * @since 1.2.0
+ */
+final class LayoutKey extends Key
+{
+    private final ClassHashKey typeKey;
+    private final int[] layout;
+    private final Class<?>[] callbackClasses;
+    private final int hash;
+
+    /**
+     * Creates a key for the given proxy layout.
+     * @param loader The class loader of the proxy
+     * @param typeKey The key for the proxied types
+     * @param layout The callback index of each proxied method, in method order
+     * @param callbackClasses The callback type at each callback index
+     */
+    LayoutKey(ClassLoader loader, ClassHashKey typeKey, int[] layout, Class<?>[] callbackClasses) {
+        super(loader);
+        this.typeKey = typeKey;
+        this.layout = layout;
+        this.callbackClasses = callbackClasses;
+        hash = internalHash();
+    }
+
+    private int internalHash() {
+        int result = 17;
+        result = 37*result + typeKey.hashCode();
+        result = 37*result + Arrays.hashCode(layout);
+        result = 37*result + Arrays.hashCode(callbackClasses);
+        return result;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LayoutKey that = (LayoutKey) o;
+        return typeKey.equals(that.typeKey) &&
+            Arrays.equals(layout, that.layout) &&
+            Arrays.equals(callbackClasses, that.callbackClasses);
+    }
+
+    @Override public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,161 @@
+package org.proxy4j.core.cglib;
+
+import net.sf.cglib.core.DebuggingClassWriter;
+import net.sf.cglib.core.DefaultGeneratorStrategy;
+import net.sf.cglib.core.GeneratorStrategy;
+import net.sf.cglib.core.ReflectUtils;
+import net.sf.cglib.reflect.FastClass;
+import org.proxy4j.core.jfr.ProxyEvents;
+import org.proxy4j.core.jfr.RecorderState;
+import org.proxy4j.core.jfr.ProxyGeneratedEvent;
+import org.proxy4j.core.util.ClassCache;
+import org.proxy4j.core.util.Key;
+import org.proxy4j.core.util.ProxyClassStore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A concurrent cache of CGLIB-enhanced proxy classes and their corresponding
+ * {@link FastClass FastClasses}. Proxy classes are held by a {@link ClassCache}, so
+ * a cached class does not prevent its class loader from being collected. The
+ * {@code FastClass} for a proxy class lives exactly as long as the proxy class.
+ * <p>If a {@link ProxyClassStore} is set, proxy classes are defined from the store when it
+ * has them, instead of being generated by the {@code Enhancer}.</p>
+ * @since 1.2.0
+ */
+class ProxyClassCache
+{
+    private static final ClassValue<FastClass> fastClasses = new ClassValue<>() {
+        @Override protected FastClass computeValue(Class<?> type) {
+            return FastClass.create(type);
+        }
+    };
+
+    private final ClassCache classCache = new ClassCache("cglib");
+    private volatile ProxyClassStore store;
+
+    /**
+     * Returns the store that proxy classes are defined from and saved to.
+     * @return The class store, or {@code null} if there is none
+     */
+    ProxyClassStore getStore() {
+        return store;
+    }
+
+    /**
+     * Sets the store that proxy classes are defined from and saved to.
+     * @param store The class store, or {@code null} for none
+     */
+    void setStore(ProxyClassStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns the {@code FastClass} of the proxy class cached under the given key,
+     * using the generator to create the proxy class if it is not (or no longer) cached.
+     * The generator is invoked at most once for concurrent requests with the same key.
+     * @param loader The class loader of the proxy class
+     * @param key The cache key, which identifies the class loader and the proxied types
+     * @param storeKey Computes the store entry key of the proxy class
+     * @param generator Generates the proxy class with the given strategy on a cache miss
+     * @return The {@code FastClass} for the proxy class
+     */
+    FastClass getFastClass(ClassLoader loader, Key key, Supplier<String> storeKey,
+                           Function<GeneratorStrategy, Class<?>> generator) {
+        ProxyClassStore store = this.store;
+        return fastClasses.get(classCache.getClass(key, () -> loadOrGenerate(store, loader, storeKey, generator)));
+    }
+
+    //defines the proxy class from the store, or generates it and adds it to the store
+    @SuppressWarnings("unchecked")
+    private static Class<Object> loadOrGenerate(ProxyClassStore store, ClassLoader loader, Supplier<String> storeKey,
+                                                Function<GeneratorStrategy, Class<?>> generator) {
+        String entry = store==null ? null : storeKey.get();
+        if(entry!=null) {
+            Class<?> proxyClass = define(loader, store.load(entry));
+            if(proxyClass!=null)
+                return (Class<Object>) proxyClass;
+        }
+        ProxyGeneratedEvent event = RecorderState.isActive() ? ProxyEvents.beginGeneration() : null;
+        long start = System.nanoTime();
+        //the bytes are only recorded if they are stored or reported
+        RecordingStrategy strategy = entry!=null || event!=null && ProxyEvents.isRecorded(event) ? new RecordingStrategy() : null;
+        Class<?> proxyClass = generator.apply(strategy==null ? DefaultGeneratorStrategy.INSTANCE : strategy);
+        //nothing is recorded if CGLIB served the class from its own cache
+        if(strategy!=null && !strategy.classes.isEmpty()) {
+            if(entry!=null)
+                store.store(entry, strategy.classes, System.nanoTime() - start);
+            if(event!=null)
+                ProxyEvents.generated(event, "cglib", proxyClass, strategy.classes.values());
+        }
+        return (Class<Object>) proxyClass;
+    }
+
+    /**
+     * Returns the {@code FastClass} of a proxy class that is not cached.
+     * @param generator Generates the proxy class with the given strategy
+     * @return The {@code FastClass} for the proxy class
+     */
+    static FastClass getUncachedFastClass(Function<GeneratorStrategy, Class<?>> generator) {
+        return FastClass.create(loadOrGenerate(null, null, null, generator));
+    }
+
+    /**
+     * Returns the number of lookups satisfied from the cache.
+     * @return The hit count
+     */
+    long getHitCount() {
+        return classCache.getHitCount();
+    }
+
+    /**
+     * Returns the number of lookups that required a proxy class to be generated.
+     * @return The miss count
+     */
+    long getMissCount() {
+        return classCache.getMissCount();
+    }
+
+    /**
+     * Returns the number of class loaders with live proxy classes in the cache.
+     * @return The segment count
+     */
+    int getSegmentCount() {
+        return classCache.getSegmentCount();
+    }
+
+    //defines the stored classes in order, returning the last one, or null if they cannot be defined
+    private static Class<?> define(ClassLoader loader, Map<String,byte[]> classes) {
+        if(classes==null)
+            return null;
+        Class<?> proxyClass = null;
+        try {
+            for(Map.Entry<String,byte[]> c : classes.entrySet()) {
+                proxyClass = ReflectUtils.defineClass(c.getKey(), c.getValue(), loader);
+            }
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+        return proxyClass;
+    }
+
+    /**
+     * {@code GeneratorStrategy} that records the bytes of the classes it generates.
+     */
+    private static class RecordingStrategy extends DefaultGeneratorStrategy
+    {
+        private final Map<String,byte[]> classes = new LinkedHashMap<>();
+
+        @Override
+        public byte[] generate(net.sf.cglib.core.ClassGenerator cg) throws Exception {
+            DebuggingClassWriter cw = getClassVisitor();
+            transform(cg).generateClass(cw);
+            byte[] bytes = transform(cw.toByteArray());
+            classes.put(cw.getClassName(), bytes);
+            return bytes;
+        }
+    }
+}
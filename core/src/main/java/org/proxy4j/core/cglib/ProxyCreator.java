@@ -1,33 +1,60 @@
 package org.proxy4j.core.cglib;
 
+import net.sf.cglib.core.GeneratorStrategy;
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.CallbackFilter;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.NoOp;
 import net.sf.cglib.reflect.FastClass;
 import org.proxy4j.core.GenerationException;
-import org.proxy4j.core.struct.IdentityHashSet;
+import org.proxy4j.core.util.ClassHashKey;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.function.Function;
 
 /**
- * Creates method-level proxies using a {@link CallbackMapper}.
+ * Creates method-level proxies using a {@link CallbackMapper}. Proxy classes are cached
+ * by their layout, i.e. which callback index each method is assigned to and the type of
+ * each callback, so proxies with the same layout share a single generated class and only
+ * differ in the callbacks bound to each instance.
  * @author Brennan Spies
  * @since 1.0.0
  */
 class ProxyCreator<T>
 {
-    private final ClassGenerator<T> generator;
-    private final Collection<Method> methods;
+    private static final Method[] objectMethods = Object.class.getDeclaredMethods();
+    //fixes the method order per class, which the cached layouts depend on
+    private static final ClassValue<List<Method>> classMethods = new ClassValue<>() {
+        @Override protected List<Method> computeValue(Class<?> type) {
+            return Collections.unmodifiableList(getMethods(type, null));
+        }
+    };
 
-    ProxyCreator(ClassLoader loader, Class<T> proxyClass) {
+    private final ClassLoader loader;
+    private final ClassGenerator<T> generator;
+    private final ClassHashKey typeKey;
+    private final Class<?>[] proxyTypes;
+    private final ProxyClassCache cache;
+    private final List<Method> methods;
+
+    ProxyCreator(ClassLoader loader, Class<T> proxyClass, ProxyClassCache cache) {
+        this.loader = loader;
+        this.cache = cache;
         generator = ClassGenerator.forType(loader, proxyClass);
-        methods = getMethods(proxyClass, null);
+        typeKey = loader==null ? null : new ClassHashKey(loader, proxyClass);
+        proxyTypes = new Class<?>[]{proxyClass};
+        methods = classMethods.get(proxyClass);
     }
 
-    ProxyCreator(ClassLoader loader, Class<T> proxyClass, Class<?>[] proxyInterfaces) {
+    ProxyCreator(ClassLoader loader, Class<T> proxyClass, Class<?>[] proxyInterfaces, ProxyClassCache cache) {
+        this.loader = loader;
+        this.cache = cache;
         generator = ClassGenerator.forTypes(loader, proxyClass, proxyInterfaces);
+        List<Class<?>> types = new ArrayList<>(Arrays.asList(proxyInterfaces));
+        types.add(proxyClass);
+        typeKey = loader==null ? null : new ClassHashKey(loader, types);
+        proxyTypes = types.toArray(new Class<?>[0]);
         methods = getMethods(proxyClass, proxyInterfaces);
     }
 
@@ -36,29 +63,24 @@ class ProxyCreator<T>
     }
 
     /**
-     * Takes extracted methods and maps them to callbacks.
+     * Takes extracted methods and maps them to callbacks, in method order.
      * @param mapper The callback mapper
      * @return A map of methods to callbacks
      */
     private Map<Method, Callback> getCallbackMap(CallbackMapper mapper) {
-        Map<Method,Callback> callbackMap = new HashMap<>();
+        Map<Method,Callback> callbackMap = new LinkedHashMap<>();
         for(Method m : methods) {
            callbackMap.put(m, mapper.map(m));
         }
-        for(Method m : Object.class.getDeclaredMethods()) {
+        for(Method m : objectMethods) {
            if(!callbackMap.containsKey(m))
             callbackMap.put(m, NoOp.INSTANCE);
         }
         return callbackMap;
     }
 
-    private Callback[] getCallbacks(Map<Method,Callback> callbackMap) {
-       Set<Callback> callbackSet = new IdentityHashSet<>(callbackMap.values());
-       return callbackSet.toArray(new Callback[callbackSet.size()]);
-    }
-
     //TODO replace with BasicMethodExtractor
-    private Collection<Method> getMethods(Class<?> superType, Class<?>[] interfaces) {
+    private static List<Method> getMethods(Class<?> superType, Class<?>[] interfaces) {
         ArrayList<Method> mlist = new ArrayList<>();
         Enhancer.getMethods(superType, interfaces, mlist);
         return mlist;
@@ -73,25 +95,58 @@ class ProxyCreator<T>
     T newProxy(CallbackMapper mapper) throws GenerationException
     {
         Map<Method, Callback> callbackMap = getCallbackMap(mapper);
-        Callback[] callbacks = getCallbacks(callbackMap);
+        //assign callback indexes in order of first appearance, so equal layouts get equal indexes
+        List<Callback> callbackList = new ArrayList<>();
+        Map<Callback, Integer> indexes = new IdentityHashMap<>();
+        int[] layout = new int[callbackMap.size()];
+        int m = 0;
+        for(Callback callback : callbackMap.values()) {
+            Integer index = indexes.get(callback);
+            if(index==null) {
+                index = callbackList.size();
+                indexes.put(callback, index);
+                callbackList.add(callback);
+            }
+            layout[m++] = index;
+        }
+        Callback[] callbacks = callbackList.toArray(new Callback[0]);
         @SuppressWarnings("unchecked")
         Class<? extends Callback>[] callbackClasses = new Class[callbacks.length];
         for(int i=0; i<callbackClasses.length; i++) {
             callbackClasses[i] = callbacks[i].getClass();
         }
-        Class<T> proxyClass = generator.generate(new IndexingCallbackFilter(callbackMap, callbacks), callbackClasses);
-        //registers callbacks, creates proxy, de-registers callbacks
-        Enhancer.registerCallbacks(proxyClass, callbacks);
-        FastClass fc = FastClass.create(proxyClass);
+        FastClass fastClass = getProxyClass(callbackMap.keySet(), layout, callbackClasses);
         try {
-            return proxyClass.cast(fc.newInstance());
+            @SuppressWarnings("unchecked")
+            T proxy = (T) ClassGenerator.newInstance(fastClass, callbacks);
+            return proxy;
         } catch(Exception e) {
             throw new GenerationException("Error generating proxy instance", e);
-        } finally {
-            Enhancer.registerCallbacks(proxyClass, null);
         }
     }
 
+    //retrieves or generates the proxy class for the given layout
+    private FastClass getProxyClass(Collection<Method> mappedMethods, int[] layout, Class<? extends Callback>[] callbackClasses) {
+        Function<GeneratorStrategy, Class<?>> generation = strategy ->
+            generator.generate(strategy, new IndexingCallbackFilter(mappedMethods, layout), callbackClasses);
+        if(typeKey==null)
+            return ProxyClassCache.getUncachedFastClass(generation);
+        return cache.getFastClass(loader, new LayoutKey(loader, typeKey, layout, callbackClasses),
+            () -> getStoreKey(mappedMethods, layout, callbackClasses), generation);
+    }
+
+    //the store key names each method with its callback index, since the method order may differ between runs
+    private String getStoreKey(Collection<Method> mappedMethods, int[] layout, Class<? extends Callback>[] callbackClasses) {
+        Set<String> assignments = new TreeSet<>();
+        int i = 0;
+        for(Method m : mappedMethods) {
+            assignments.add(m + "=" + layout[i++]);
+        }
+        List<Class<?>> types = new ArrayList<>(Arrays.asList(proxyTypes));
+        types.addAll(Arrays.asList(callbackClasses));
+        return cache.getStore().getKey("cglib-layout", types, Arrays.toString(callbackClasses), assignments);
+    }
+
     /**
      * {@code CallbackFilter} that maps methods to indexes.
      */
@@ -99,23 +154,17 @@ class ProxyCreator<T>
     {
         private final Map<Method, Integer> index = new HashMap<Method, Integer>();
 
-        IndexingCallbackFilter(Map<Method,Callback> map, Callback[] callbacks) {
-            for (Map.Entry<Method, Callback> e : map.entrySet()) {
-                int i = indexOf(e.getValue(), callbacks);
-                if (i < 0) throw new IllegalArgumentException("Unmapped method: " + e.getKey());
-                index.put(e.getKey(), i);
-            }
-        }
-
-        private int indexOf(Callback callback, Callback[] callbacks) {
-            for(int i=0; i<callbacks.length; i++) {
-                if(callbacks[i]==callback) return i;
+        IndexingCallbackFilter(Collection<Method> methods, int[] layout) {
+            int i = 0;
+            for (Method m : methods) {
+                index.put(m, layout[i++]);
             }
-            return -1;
         }
 
         public int accept(Method method) {
-            return index.get(method);
+            Integer i = index.get(method);
+            if (i == null) throw new IllegalArgumentException("Unmapped method: " + method);
+            return i;
         }
 
         @Override
@@ -5,11 +5,11 @@ import java.lang.reflect.Method;
 
 /**
  * An implementation of {@link MethodFilter} that selects methods
- * marked with a given annotation.
+ * marked with a given annotation. Filters for the same annotation are equal.
  * @author Brennan Spies
  * @since 1.0.0
  */
-public class AnnotationFilter<T extends Annotation> implements MethodFilter
+public class AnnotationFilter<T extends Annotation> implements StatelessFilter
 {
     private final Class<T> annotation;
 
@@ -29,4 +29,14 @@ public class AnnotationFilter<T extends Annotation> implements MethodFilter
     public boolean accept(Method method) {
         return method.isAnnotationPresent(annotation);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AnnotationFilter && annotation==((AnnotationFilter<?>) o).annotation;
+    }
+
+    @Override
+    public int hashCode() {
+        return annotation.hashCode();
+    }
 }
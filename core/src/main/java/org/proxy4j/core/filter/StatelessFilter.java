@@ -0,0 +1,10 @@
+package org.proxy4j.core.filter;
+
+/**
+ * A {@link MethodFilter} whose decision depends only on the method it is given, so that the
+ * methods it selects from a class can be remembered and reused by later proxies of the class.
+ * Stateless filters that select the same methods must be {@link Object#equals equal}.
+ * @since 1.2.0
+ */
+public interface StatelessFilter extends MethodFilter {
+}
@@ -0,0 +1,111 @@
+package org.proxy4j.core.hidden;
+
+import org.proxy4j.core.BaseProxyFactory;
+import org.proxy4j.core.GenerationException;
+import org.proxy4j.core.ProxyHandler;
+import org.proxy4j.core.ProxyLoader;
+import org.proxy4j.core.build.InterceptorBuilder;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * {@link org.proxy4j.core.ProxyFactory ProxyFactory} implementation that generates proxy classes
+ * with <a href="https://asm.ow2.io/">ASM</a> and defines them as hidden classes (Java 15+), so
+ * a proxy class can be unloaded as soon as it is no longer used. On earlier JVMs the proxy classes
+ * are defined as ordinary classes. Virtual proxies and methods without interceptors call the target
+ * directly, and other calls reach the target through {@link java.lang.invoke.MethodHandle MethodHandles}.
+ * <p>Like the JDK implementation, only interfaces can be proxied. Proxy classes are always defined
+ * in the package of the proxied interface, so a preferred class loader must be able to see the
+ * interface, but does not define the proxy class.</p>
+ * @since 1.2.0
+ */
+public class HiddenClassProxyFactory extends BaseProxyFactory
+{
+    private final ProxyClassGenerator classGenerator;
+
+    public HiddenClassProxyFactory() {
+        super();
+        classGenerator = new ProxyClassGenerator(this::getNamingStrategy);
+    }
+
+    @Inject
+    public HiddenClassProxyFactory(@ProxyLoader ClassLoader loader) {
+        super(loader);
+        classGenerator = new ProxyClassGenerator(this::getNamingStrategy);
+    }
+
+    /**
+     * The proxy class (first argument) must be an interface, or a {@code GenerationException} will be thrown.
+     * @see org.proxy4j.core.ProxyFactory#createProxy(Class, javax.inject.Provider)
+     */
+    public <T> T createProxy(Class<T> proxyInterface, Provider<T> provider) throws GenerationException {
+        assertProxyInterfaces(proxyInterface);
+        try {
+            Class<?> proxyClass = classGenerator.getProviderProxyClass(proxyInterface);
+            return virtualProxyCreated(proxyInterface.cast(proxyClass.getConstructor(Provider.class).newInstance(provider)), provider);
+        } catch (ReflectiveOperationException e) {
+            throw new GenerationException("Error creating Provider proxy", e);
+        }
+    }
+
+    /**
+     * The proxy class (first argument) must be an interface, or a {@code GenerationException} will be thrown.
+     * @see org.proxy4j.core.ProxyFactory#createProxy(Class, org.proxy4j.core.ProxyHandler)
+     */
+    public <T> T createProxy(Class<T> proxyInterface, ProxyHandler<T> handler) throws GenerationException {
+        return proxyInterface.cast(createProxy(new Class<?>[] {proxyInterface}, handler));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object createProxy(Class<?>[] proxyInterfaces, ProxyHandler<?> handler) throws GenerationException {
+        if(proxyInterfaces.length==0)
+            throw new IllegalArgumentException("Must define at least 1 proxy interface");
+        assertProxyInterfaces(proxyInterfaces);
+        try {
+            Class<?> proxyClass = classGenerator.getHandlerProxyClass(proxyInterfaces);
+            return proxyClass.getConstructor(ProxyHandler.class).newInstance(handler);
+        } catch (ReflectiveOperationException e) {
+            throw new GenerationException("Error creating ProxyHandler proxy", e);
+        }
+    }
+
+    /**
+     * The proxy class must be an interface, or a {@code GenerationException} will be thrown.
+     * @see org.proxy4j.core.ProxyFactory#buildInterceptor(Class)
+     */
+    public <T> InterceptorBuilder<T> buildInterceptor(Class<T> proxyClass) {
+        assertProxyInterfaces(proxyClass);
+        return new HiddenInterceptorBuilder<>(proxyClass, classGenerator);
+    }
+
+    /**
+     * Returns true if this JVM supports hidden classes, so that proxy classes are defined as
+     * hidden classes rather than ordinary classes.
+     * @return True if proxy classes are hidden classes
+     */
+    public static boolean isHiddenClassSupported() {
+        return ProxyClassGenerator.isHiddenClassSupported();
+    }
+
+    /**
+     * Returns the number of class loaders with hidden class proxies in the cache,
+     * which is shared by all {@code HiddenClassProxyFactory} instances.
+     * @return The cache segment count
+     */
+    public int getCacheSegmentCount() {
+        return ProxyClassGenerator.getCacheSegmentCount();
+    }
+
+    //verifies the types are interfaces visible from the preferred class loader, if there is one
+    private void assertProxyInterfaces(Class<?>... types) throws GenerationException {
+        assertInterfaces(types);
+        if(getPreferredClassLoader()!=null) {
+            for(Class<?> type : types) {
+                assertClassVisible(getPreferredClassLoader(), type);
+            }
+        }
+    }
+}
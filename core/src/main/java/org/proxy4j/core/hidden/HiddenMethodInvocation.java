@@ -0,0 +1,70 @@
+package org.proxy4j.core.hidden;
+
+import org.proxy4j.core.ChainedMethodInvocation;
+import org.proxy4j.core.reflect.MethodInvoker;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+
+/**
+ * Hidden class proxy implementation of a {@code MethodInvocation}, which also
+ * serves as the cursor of an interceptor chain. The target is invoked through
+ * the invoker resolved for the method when the proxy class was defined.
+ * @since 1.2.0
+ */
+public class HiddenMethodInvocation extends ChainedMethodInvocation
+{
+    private final Object target;
+    private final Method method;
+    private final MethodInvoker invoker;
+    private final Object[] args;
+
+    /**
+     * Creates the invocation of an intercepted method.
+     * @param target The target
+     * @param method The invoked method
+     * @param invoker The invoker for the method
+     * @param args The arguments
+     */
+    public HiddenMethodInvocation(Object target, Method method, MethodInvoker invoker, Object[] args) {
+        this.target = target;
+        this.method = method;
+        this.invoker = invoker;
+        this.args = args;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object[] getArguments() {
+        return args;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected Object invokeTarget() throws Throwable {
+        return invoker.invoke(target, args);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object getThis() {
+        return target;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public AccessibleObject getStaticPart() {
+        return method;
+    }
+}
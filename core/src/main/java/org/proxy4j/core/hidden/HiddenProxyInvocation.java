@@ -0,0 +1,50 @@
+package org.proxy4j.core.hidden;
+
+import org.proxy4j.core.ProxyInvocation;
+import org.proxy4j.core.reflect.MethodInvoker;
+
+import java.lang.reflect.Method;
+
+/**
+ * Hidden class proxy implementation of the proxy invocation. Instances are created
+ * by the generated proxy classes, which pass in the invoker resolved for the method
+ * when the proxy class was defined.
+ * @since 1.2.0
+ */
+public class HiddenProxyInvocation<T> implements ProxyInvocation<T>
+{
+    private final T proxy;
+    private final Method method;
+    private final MethodInvoker invoker;
+    private final Object[] args;
+
+    /**
+     * Creates the invocation of a method on the proxy.
+     * @param proxy The proxy
+     * @param method The invoked method
+     * @param invoker The invoker for the method
+     * @param args The arguments
+     */
+    public HiddenProxyInvocation(T proxy, Method method, MethodInvoker invoker, Object[] args) {
+        this.proxy = proxy;
+        this.method = method;
+        this.invoker = invoker;
+        this.args = args;
+    }
+
+    public Object invoke(Object target) throws Throwable {
+        return invoker.invoke(target, args);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public T getProxy() {
+        return proxy;
+    }
+
+    public Object[] getArguments() {
+        return args;
+    }
+}
@@ -0,0 +1,499 @@
+package org.proxy4j.core.hidden;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.proxy4j.core.GenerationException;
+import org.proxy4j.core.InterceptorChain;
+import org.proxy4j.core.ProxyHandler;
+import org.proxy4j.core.jfr.ProxyEvents;
+import org.proxy4j.core.jfr.RecorderState;
+import org.proxy4j.core.jfr.ProxyGeneratedEvent;
+import org.proxy4j.core.reflect.MethodInvoker;
+import org.proxy4j.core.util.ClassCache;
+import org.proxy4j.core.util.ClassHashKey;
+import org.proxy4j.core.util.Key;
+import org.proxy4j.core.util.NamingPolicy;
+
+import javax.inject.Provider;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates interface proxy classes with ASM and defines them as hidden classes in the package
+ * of the proxied interface, through a {@link Lookup} on that interface. Before Java 15, or when
+ * the lookup does not have the access needed for hidden classes, proxy classes are defined as
+ * ordinary classes through the same lookup instead.
+ * <p>Each proxy class holds a static table of the {@code Method}s it proxies and their
+ * {@link MethodInvoker invokers}, resolved once when the class is defined. Virtual proxies and
+ * methods that are not intercepted call the target directly.</p>
+ * @since 1.2.0
+ */
+class ProxyClassGenerator
+{
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String METHODS_FIELD = "methods";
+    private static final String INVOKERS_FIELD = "invokers";
+    private static final String METHODS_DESCRIPTOR = Type.getDescriptor(Method[].class);
+    private static final String INVOKERS_DESCRIPTOR = Type.getDescriptor(MethodInvoker[].class);
+    private static final String INVOCATION_CONSTRUCTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+            Type.getType(Object.class), Type.getType(Method.class), Type.getType(MethodInvoker.class), Type.getType(Object[].class));
+    private static final Method[] objectMethods = getObjectMethods();
+    private static final Method defineHiddenClass = getDefineHiddenClass();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final ClassValue<Method[]> methodTables = new ClassValue<>() {
+        @Override protected Method[] computeValue(Class<?> type) {
+            try {
+                Field field = type.getDeclaredField(METHODS_FIELD);
+                field.setAccessible(true);
+                return (Method[]) field.get(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Not a hidden class proxy: " + type.getName(), e);
+            }
+        }
+    };
+
+    //read when a class is generated, so the factory's policy can be changed after construction
+    private final Supplier<NamingPolicy> namingPolicy;
+
+    ProxyClassGenerator(Supplier<NamingPolicy> namingPolicy) {
+        this.namingPolicy = namingPolicy;
+    }
+
+    /**
+     * Returns the proxy class for a virtual proxy of the given interface, which has
+     * a constructor taking the {@link Provider}.
+     * @param proxyInterface The proxied interface
+     * @return The proxy class
+     * @throws GenerationException If the proxy class cannot be generated
+     */
+    Class<?> getProviderProxyClass(Class<?> proxyInterface) throws GenerationException {
+        return getProxyClass(Style.PROVIDER, proxyInterface);
+    }
+
+    /**
+     * Returns the proxy class for a handler proxy of the given interfaces, which has
+     * a constructor taking the {@link ProxyHandler}.
+     * @param proxyInterfaces The proxied interfaces
+     * @return The proxy class
+     * @throws GenerationException If the proxy class cannot be generated
+     */
+    Class<?> getHandlerProxyClass(Class<?>... proxyInterfaces) throws GenerationException {
+        return getProxyClass(Style.HANDLER, proxyInterfaces);
+    }
+
+    /**
+     * Returns the proxy class for an interceptor proxy of the given interface, which has
+     * a constructor taking the target and an array of {@link InterceptorChain InterceptorChains}
+     * indexed like the {@link #getProxiedMethods(Class) proxied methods}. Methods whose chain
+     * is null call the target directly.
+     * @param proxyInterface The proxied interface
+     * @return The proxy class
+     * @throws GenerationException If the proxy class cannot be generated
+     */
+    Class<?> getInterceptorProxyClass(Class<?> proxyInterface) throws GenerationException {
+        return getProxyClass(Style.INTERCEPTOR, proxyInterface);
+    }
+
+    /**
+     * Returns the methods proxied by a generated proxy class, in the order in which
+     * the class indexes them.
+     * @param proxyClass The proxy class
+     * @return The proxied methods
+     */
+    static Method[] getProxiedMethods(Class<?> proxyClass) {
+        return methodTables.get(proxyClass);
+    }
+
+    /**
+     * Returns true if proxy classes are defined as hidden classes, which requires Java 15 or later.
+     * @return True if hidden classes are supported
+     */
+    static boolean isHiddenClassSupported() {
+        return defineHiddenClass!=null;
+    }
+
+    /**
+     * Returns the number of class loaders with live proxy classes in the caches.
+     * @return The cache segment count
+     */
+    static int getCacheSegmentCount() {
+        int count = 0;
+        for(Style style : Style.values()) {
+            count += style.cache.getSegmentCount();
+        }
+        return count;
+    }
+
+    //returns the cached proxy class, generating it on a cache miss
+    private Class<?> getProxyClass(Style style, Class<?>... proxyInterfaces) throws GenerationException {
+        Lookup lookup = getLookup(proxyInterfaces);
+        Key key = new ClassHashKey(lookup.lookupClass().getClassLoader(), proxyInterfaces);
+        return style.cache.getClass(key, () -> generate(lookup, key, style, proxyInterfaces));
+    }
+
+    //generates, defines and initializes the proxy class
+    private Class<?> generate(Lookup lookup, Key key, Style style, Class<?>[] proxyInterfaces) throws GenerationException {
+        Method[] methods = getProxiedMethods(proxyInterfaces);
+        String className = getClassName(lookup.lookupClass(), proxyInterfaces[0], key).replace('.', '/');
+        ProxyGeneratedEvent event = RecorderState.isActive() ? ProxyEvents.beginGeneration() : null;
+        try {
+            byte[] bytes = generateBytes(className, style, proxyInterfaces, methods);
+            Class<?> proxyClass = define(lookup, bytes);
+            setStatic(proxyClass, METHODS_FIELD, methods);
+            if(style!=Style.PROVIDER) {
+                MethodInvoker[] invokers = new MethodInvoker[methods.length];
+                for(int i=0; i<methods.length; i++) {
+                    invokers[i] = MethodInvoker.forMethod(methods[i]);
+                }
+                setStatic(proxyClass, INVOKERS_FIELD, invokers);
+            }
+            if(event!=null)
+                ProxyEvents.generated(event, "hidden", proxyClass, List.of(bytes));
+            return proxyClass;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new GenerationException("Error defining proxy class " + className, e);
+        }
+    }
+
+    //returns a lookup in the package the proxy class is defined in
+    private static Lookup getLookup(Class<?>[] proxyInterfaces) throws GenerationException {
+        Class<?> host = proxyInterfaces[0];
+        for(Class<?> type : proxyInterfaces) {
+            if(Modifier.isPublic(type.getModifiers()))
+                continue;
+            if(Modifier.isPublic(host.getModifiers()))
+                host = type;
+            else if(host.getClassLoader()!=type.getClassLoader() || !host.getPackageName().equals(type.getPackageName()))
+                throw new GenerationException("Non-public interfaces must be in the same package: " + host.getName() + ", " + type.getName());
+        }
+        //public interfaces of the JDK, or in packages not open to proxy4j, are proxied from this package
+        if(host.getClassLoader()!=null && !host.getPackageName().startsWith("java.")) {
+            try {
+                return MethodHandles.privateLookupIn(host, MethodHandles.lookup());
+            } catch (IllegalAccessException e) {
+                if(!Modifier.isPublic(host.getModifiers()))
+                    throw new GenerationException("Cannot define proxy class in the package of " + host.getName(), e);
+            }
+        } else if(!Modifier.isPublic(host.getModifiers())) {
+            throw new GenerationException("Cannot define proxy class in the package of " + host.getName());
+        }
+        return MethodHandles.lookup();
+    }
+
+    //collects the methods to proxy, keyed by name and descriptor, starting with the public Object methods
+    private static Method[] getProxiedMethods(Class<?>[] proxyInterfaces) {
+        Map<String,Method> methods = new LinkedHashMap<>();
+        for(Method m : objectMethods) {
+            methods.put(m.getName() + Type.getMethodDescriptor(m), m);
+        }
+        for(Class<?> type : proxyInterfaces) {
+            for(Method m : type.getMethods()) {
+                if(!Modifier.isStatic(m.getModifiers()))
+                    methods.putIfAbsent(m.getName() + Type.getMethodDescriptor(m), m);
+            }
+        }
+        return methods.values().toArray(new Method[0]);
+    }
+
+    //the naming policy name is made unique, as proxy classes defined before Java 15 are not hidden
+    private String getClassName(Class<?> lookupClass, Class<?> proxyInterface, Key key) {
+        String baseName = lookupClass==proxyInterface ? proxyInterface.getName()
+                : lookupClass.getPackageName() + "." + proxyInterface.getSimpleName();
+        return namingPolicy.get().getProxyName(baseName, key) + "$" + sequence.incrementAndGet();
+    }
+
+    //defines a hidden class if possible, otherwise an ordinary class
+    private static Class<?> define(Lookup lookup, byte[] bytes) throws IllegalAccessException {
+        if(defineHiddenClass!=null) {
+            try {
+                Object[] options = (Object[]) Array.newInstance(defineHiddenClass.getParameterTypes()[2].getComponentType(), 0);
+                return ((Lookup) defineHiddenClass.invoke(lookup, bytes, true, options)).lookupClass();
+            } catch (InvocationTargetException e) {
+                //hidden classes need full privilege access, which a lookup in another module does not have
+                if(!(e.getCause() instanceof IllegalAccessException))
+                    throw new GenerationException("Error defining hidden class", e.getCause());
+            }
+        }
+        return lookup.defineClass(bytes);
+    }
+
+    //sets a static field of the proxy class
+    private static void setStatic(Class<?> proxyClass, String name, Object value) throws ReflectiveOperationException {
+        Field field = proxyClass.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(null, value);
+    }
+
+    //returns Lookup.defineHiddenClass, or null if not supported
+    private static Method getDefineHiddenClass() {
+        try {
+            Class<?> options = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            return Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class,
+                    Array.newInstance(options, 0).getClass());
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    //returns the Object methods that are proxied
+    private static Method[] getObjectMethods() {
+        try {
+            return new Method[] {
+                Object.class.getMethod("equals", Object.class),
+                Object.class.getMethod("hashCode"),
+                Object.class.getMethod("toString")
+            };
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //generates the proxy class bytes
+    private static byte[] generateBytes(String className, Style style, Class<?>[] proxyInterfaces, Method[] methods) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            //only locals of the same type are merged by the generated code
+            @Override protected String getCommonSuperClass(String type1, String type2) {
+                return OBJECT;
+            }
+        };
+        String[] interfaceNames = new String[proxyInterfaces.length];
+        for(int i=0; i<proxyInterfaces.length; i++) {
+            interfaceNames[i] = Type.getInternalName(proxyInterfaces[i]);
+        }
+        cw.visit(V11, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, className, null, OBJECT, interfaceNames);
+        cw.visitField(ACC_PRIVATE | ACC_STATIC, METHODS_FIELD, METHODS_DESCRIPTOR, null, null).visitEnd();
+        if(style!=Style.PROVIDER)
+            cw.visitField(ACC_PRIVATE | ACC_STATIC, INVOKERS_FIELD, INVOKERS_DESCRIPTOR, null, null).visitEnd();
+        style.generateConstructor(cw, className);
+        for(int i=0; i<methods.length; i++) {
+            Method m = methods[i];
+            String[] exceptions = new String[m.getExceptionTypes().length];
+            for(int j=0; j<exceptions.length; j++) {
+                exceptions[j] = Type.getInternalName(m.getExceptionTypes()[j]);
+            }
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, m.getName(), Type.getMethodDescriptor(m), null, exceptions);
+            mv.visitCode();
+            style.generateMethod(mv, className, proxyInterfaces, m, i);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    //generates a constructor that stores its arguments in the given fields
+    private static void generateConstructor(ClassWriter cw, String className, String[] fields, Class<?>... types) {
+        Type[] argumentTypes = new Type[types.length];
+        for(int i=0; i<types.length; i++) {
+            argumentTypes[i] = Type.getType(types[i]);
+            cw.visitField(ACC_PRIVATE | ACC_FINAL, fields[i], argumentTypes[i].getDescriptor(), null, null).visitEnd();
+        }
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", Type.getMethodDescriptor(Type.VOID_TYPE, argumentTypes), null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        for(int i=0; i<fields.length; i++) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, i + 1);
+            mv.visitFieldInsn(PUTFIELD, className, fields[i], argumentTypes[i].getDescriptor());
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    //calls the method on the target on the stack and returns the result
+    private static void invokeTarget(MethodVisitor mv, Class<?>[] proxyInterfaces, Method method) {
+        Class<?> owner = getOwner(proxyInterfaces, method);
+        if(owner!=Object.class)
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(owner));
+        loadArguments(mv, method);
+        mv.visitMethodInsn(owner.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, Type.getInternalName(owner),
+                method.getName(), Type.getMethodDescriptor(method), owner.isInterface());
+        mv.visitInsn(Type.getType(method.getReturnType()).getOpcode(IRETURN));
+    }
+
+    //returns the proxied interface the method is invoked through, which is accessible from the proxy class
+    private static Class<?> getOwner(Class<?>[] proxyInterfaces, Method method) {
+        for(Class<?> type : proxyInterfaces) {
+            if(method.getDeclaringClass().isAssignableFrom(type))
+                return type;
+        }
+        return Object.class;
+    }
+
+    //loads the arguments onto the stack, returning the next free local
+    private static int loadArguments(MethodVisitor mv, Method method) {
+        int local = 1;
+        for(Class<?> type : method.getParameterTypes()) {
+            Type argumentType = Type.getType(type);
+            mv.visitVarInsn(argumentType.getOpcode(ILOAD), local);
+            local += argumentType.getSize();
+        }
+        return local;
+    }
+
+    //pushes the method and its invoker from the static tables
+    private static void pushMethodTables(MethodVisitor mv, String className, int index) {
+        mv.visitFieldInsn(GETSTATIC, className, METHODS_FIELD, METHODS_DESCRIPTOR);
+        pushInt(mv, index);
+        mv.visitInsn(AALOAD);
+        mv.visitFieldInsn(GETSTATIC, className, INVOKERS_FIELD, INVOKERS_DESCRIPTOR);
+        pushInt(mv, index);
+        mv.visitInsn(AALOAD);
+    }
+
+    //pushes an array of the boxed arguments
+    private static void pushArguments(MethodVisitor mv, Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        if(types.length==0) {
+            mv.visitFieldInsn(GETSTATIC, Type.getInternalName(MethodInvoker.class), "NO_ARGS", Type.getDescriptor(Object[].class));
+            return;
+        }
+        pushInt(mv, types.length);
+        mv.visitTypeInsn(ANEWARRAY, OBJECT);
+        int local = 1;
+        for(int i=0; i<types.length; i++) {
+            Type argumentType = Type.getType(types[i]);
+            mv.visitInsn(DUP);
+            pushInt(mv, i);
+            mv.visitVarInsn(argumentType.getOpcode(ILOAD), local);
+            if(types[i].isPrimitive()) {
+                Class<?> boxed = MethodType.methodType(types[i]).wrap().returnType();
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(boxed), "valueOf",
+                        Type.getMethodDescriptor(Type.getType(boxed), argumentType), false);
+            }
+            mv.visitInsn(AASTORE);
+            local += argumentType.getSize();
+        }
+    }
+
+    //returns the object on the stack, unboxed or cast to the return type of the method
+    private static void returnObject(MethodVisitor mv, Method method) {
+        Class<?> type = method.getReturnType();
+        if(type==void.class) {
+            mv.visitInsn(POP);
+            mv.visitInsn(RETURN);
+        } else if(type.isPrimitive()) {
+            Type boxed = Type.getType(MethodType.methodType(type).wrap().returnType());
+            mv.visitTypeInsn(CHECKCAST, boxed.getInternalName());
+            mv.visitMethodInsn(INVOKEVIRTUAL, boxed.getInternalName(), type.getName() + "Value",
+                    Type.getMethodDescriptor(Type.getType(type)), false);
+            mv.visitInsn(Type.getType(type).getOpcode(IRETURN));
+        } else {
+            if(type!=Object.class)
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+            mv.visitInsn(ARETURN);
+        }
+    }
+
+    //pushes an int constant
+    private static void pushInt(MethodVisitor mv, int value) {
+        if(value<=5)
+            mv.visitInsn(ICONST_0 + value);
+        else if(value<=Byte.MAX_VALUE)
+            mv.visitIntInsn(BIPUSH, value);
+        else if(value<=Short.MAX_VALUE)
+            mv.visitIntInsn(SIPUSH, value);
+        else
+            mv.visitLdcInsn(value);
+    }
+
+    /**
+     * The proxy styles, each with its own class cache.
+     */
+    private enum Style
+    {
+        PROVIDER {
+            void generateConstructor(ClassWriter cw, String className) {
+                ProxyClassGenerator.generateConstructor(cw, className, new String[] {"provider"}, Provider.class);
+            }
+
+            //calls the target returned by the provider
+            void generateMethod(MethodVisitor mv, String className, Class<?>[] proxyInterfaces, Method method, int index) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, className, "provider", Type.getDescriptor(Provider.class));
+                mv.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(Provider.class), "get", "()Ljava/lang/Object;", true);
+                invokeTarget(mv, proxyInterfaces, method);
+            }
+        },
+        HANDLER {
+            void generateConstructor(ClassWriter cw, String className) {
+                ProxyClassGenerator.generateConstructor(cw, className, new String[] {"handler"}, ProxyHandler.class);
+            }
+
+            //passes a HiddenProxyInvocation to the handler
+            void generateMethod(MethodVisitor mv, String className, Class<?>[] proxyInterfaces, Method method, int index) {
+                String invocation = Type.getInternalName(HiddenProxyInvocation.class);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, className, "handler", Type.getDescriptor(ProxyHandler.class));
+                mv.visitTypeInsn(NEW, invocation);
+                mv.visitInsn(DUP);
+                mv.visitVarInsn(ALOAD, 0);
+                pushMethodTables(mv, className, index);
+                pushArguments(mv, method);
+                mv.visitMethodInsn(INVOKESPECIAL, invocation, "<init>", INVOCATION_CONSTRUCTOR, false);
+                mv.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(ProxyHandler.class), "handle",
+                        "(Lorg/proxy4j/core/ProxyInvocation;)Ljava/lang/Object;", true);
+                returnObject(mv, method);
+            }
+        },
+        INTERCEPTOR {
+            void generateConstructor(ClassWriter cw, String className) {
+                ProxyClassGenerator.generateConstructor(cw, className, new String[] {"target", "chains"},
+                        Object.class, InterceptorChain[].class);
+            }
+
+            //calls the target directly if the method has no chain, otherwise passes a HiddenMethodInvocation to the chain
+            void generateMethod(MethodVisitor mv, String className, Class<?>[] proxyInterfaces, Method method, int index) {
+                String invocation = Type.getInternalName(HiddenMethodInvocation.class);
+                String chain = Type.getInternalName(InterceptorChain.class);
+                int chainLocal = Type.getArgumentsAndReturnSizes(Type.getMethodDescriptor(method)) >> 2;
+                Label intercepted = new Label();
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, className, "chains", Type.getDescriptor(InterceptorChain[].class));
+                pushInt(mv, index);
+                mv.visitInsn(AALOAD);
+                mv.visitVarInsn(ASTORE, chainLocal);
+                mv.visitVarInsn(ALOAD, chainLocal);
+                mv.visitJumpInsn(IFNONNULL, intercepted);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, className, "target", "Ljava/lang/Object;");
+                invokeTarget(mv, proxyInterfaces, method);
+                mv.visitLabel(intercepted);
+                mv.visitVarInsn(ALOAD, chainLocal);
+                mv.visitTypeInsn(NEW, invocation);
+                mv.visitInsn(DUP);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, className, "target", "Ljava/lang/Object;");
+                pushMethodTables(mv, className, index);
+                pushArguments(mv, method);
+                mv.visitMethodInsn(INVOKESPECIAL, invocation, "<init>", INVOCATION_CONSTRUCTOR, false);
+                mv.visitMethodInsn(INVOKEVIRTUAL, chain, "invoke",
+                        "(Lorg/aopalliance/intercept/MethodInvocation;)Ljava/lang/Object;", false);
+                returnObject(mv, method);
+            }
+        };
+
+        final ClassCache cache = new ClassCache("hidden-" + name().toLowerCase());
+
+        abstract void generateConstructor(ClassWriter cw, String className);
+
+        abstract void generateMethod(MethodVisitor mv, String className, Class<?>[] proxyInterfaces, Method method, int index);
+    }
+}
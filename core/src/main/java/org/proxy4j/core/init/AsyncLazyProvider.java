@@ -0,0 +1,129 @@
+package org.proxy4j.core.init;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link FutureLazyProvider} that initializes its instance on an {@link Executor}, starting
+ * as soon as a virtual proxy is created with it, or when it is {@link #prefetch() prefetched}.
+ * Expensive initialization then happens off the critical path of the first call, which only
+ * waits if the instance is still being created when it arrives:
+ * <pre>Foo fooProxy = proxyFactory.createProxy(Foo.class, new AsyncLazyProvider&lt;Foo&gt;(executor) {
+ *     protected Foo init() {
+ *         return new FooImpl();
+ *     }
+ * });</pre>
+ * The provider records how long initialization took and how long callers waited for it.
+ * @since 1.2.0
+ */
+public abstract class AsyncLazyProvider<T> extends FutureLazyProvider<T> implements Prefetchable
+{
+    private final Executor executor;
+    private final boolean prefetchOnCreate;
+    private volatile long initNanos;
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * Creates a provider that starts initializing when a proxy is created with it.
+     * @param executor Runs the initialization
+     */
+    protected AsyncLazyProvider(Executor executor) {
+        this(executor, true);
+    }
+
+    /**
+     * Creates a provider that initializes on the given executor.
+     * @param executor Runs the initialization
+     * @param prefetchOnCreate True to start initializing when a proxy is created with the provider,
+     *                         false to wait for a {@link #prefetch()} or the first call
+     */
+    protected AsyncLazyProvider(Executor executor, boolean prefetchOnCreate) {
+        this.executor = executor;
+        this.prefetchOnCreate = prefetchOnCreate;
+    }
+
+    /**
+     * Starts initializing the instance on the executor, unless it has already started.
+     */
+    public void prefetch() {
+        getAsync();
+    }
+
+    /**
+     * Prefetches the instance, if the provider was created to do so.
+     */
+    @Override
+    public void proxyCreated() {
+        if(prefetchOnCreate)
+            prefetch();
+    }
+
+    /**
+     * Returns the time the successful initialization took.
+     * @param unit The unit of the returned time
+     * @return The initialization time, or 0 if the instance is not initialized
+     */
+    public long getInitTime(TimeUnit unit) {
+        return unit.convert(initNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of calls that had to wait for the instance to be initialized.
+     * @return The number of waiting calls
+     */
+    public long getWaitCount() {
+        return waits.sum();
+    }
+
+    /**
+     * Returns the total time calls spent waiting for the instance to be initialized.
+     * @param unit The unit of the returned time
+     * @return The wait time
+     */
+    public long getWaitTime(TimeUnit unit) {
+        return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Initializes the instance. Runs on the executor.
+     * @return The newly created instance of {@code T}
+     */
+    @Override
+    protected abstract T init();
+
+    /**
+     * Runs {@link #init()} on the executor.
+     * @return The future instance
+     */
+    @Override
+    protected CompletionStage<T> initAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T value = init();
+            initNanos = System.nanoTime() - start;
+            return value;
+        }, executor);
+    }
+
+    /**
+     * Waits for the instance, recording the wait if it is still being initialized.
+     * @param future The future instance
+     * @return The instance of {@code T}
+     */
+    @Override
+    protected T await(CompletableFuture<T> future) {
+        if(future.isDone())
+            return super.await(future);
+        long start = System.nanoTime();
+        try {
+            return super.await(future);
+        } finally {
+            waits.increment();
+            waitNanos.add(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.proxy4j.core.init;
+
+import javax.inject.Provider;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Lazily initializes an instance like {@link LazyProvider}, but without holding a monitor while
+ * it is initialized. The first caller starts initialization and publishes its progress as a
+ * {@link CompletableFuture}; concurrent callers wait on that future, so a virtual thread waiting
+ * for an initialization that does I/O parks instead of pinning its carrier thread. Once the
+ * instance is ready, {@link #get()} is a single plain read.
+ * <p>Subclasses implement {@link #init()}; an initialization that completes without blocking
+ * at all is created with {@link #ofAsync(Supplier)} instead. If initialization fails, its
+ * callers receive the exception and the next call starts over.</p>
+ * @since 1.2.0
+ */
+public abstract class FutureLazyProvider<T> implements Provider<T>
+{
+    private static final VarHandle FUTURE;
+    static {
+        try {
+            FUTURE = MethodHandles.lookup().findVarHandle(FutureLazyProvider.class, "future", CompletableFuture.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    //set once the instance is ready; its final field makes a plain read safe
+    private Ready<T> ready;
+    private volatile CompletableFuture<T> future;
+
+    /**
+     * Gets the instance of {@code T}, initializing it or waiting for its initialization if
+     * it is not ready yet.
+     * @return The instance of {@code T}
+     */
+    public T get() {
+        Ready<T> r = ready;
+        if(r!=null)
+            return r.value;
+        return await(getAsync());
+    }
+
+    /**
+     * Creates a provider whose instance is initialized by the stage the given supplier returns.
+     * The caller that starts initialization only calls the supplier, and does not wait for
+     * the stage to complete.
+     * @param initializer Starts initializing the instance
+     * @param <T> The instance type
+     * @return The provider
+     */
+    public static <T> FutureLazyProvider<T> ofAsync(Supplier<? extends CompletionStage<T>> initializer) {
+        return new StageProvider<>(initializer);
+    }
+
+    /**
+     * Returns a future of the instance of {@code T}, starting its initialization if it has not
+     * been started yet. Only the caller that starts initialization may block, and only if
+     * {@link #initAsync()} does.
+     * @return The future instance
+     */
+    public CompletableFuture<T> getAsync() {
+        for(;;) {
+            CompletableFuture<T> current = future;
+            if(current!=null)
+                return current;
+            CompletableFuture<T> started = new CompletableFuture<>();
+            if(FUTURE.compareAndSet(this, null, started)) {
+                start(started);
+                return started;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the instance has been initialized.
+     * @return True if the instance is ready
+     */
+    public boolean isInitialized() {
+        CompletableFuture<T> current = future;
+        return current!=null && current.isDone() && !current.isCompletedExceptionally();
+    }
+
+    /**
+     * Initializes the instance.
+     * @return The newly created instance of {@code T}
+     */
+    protected abstract T init();
+
+    /**
+     * Starts initializing the instance, and returns its future. Called by the caller that starts
+     * initialization; by default it calls {@link #init()} on that thread.
+     * @return The future instance
+     */
+    protected CompletionStage<T> initAsync() {
+        return CompletableFuture.completedFuture(init());
+    }
+
+    //runs initialization, completing the given future with its outcome
+    private void start(CompletableFuture<T> started) {
+        CompletionStage<T> stage;
+        try {
+            stage = initAsync();
+        } catch (Throwable e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        stage.whenComplete((value, e) -> {
+            if(e==null) {
+                ready = new Ready<>(value);
+                started.complete(value);
+            } else {
+                //the next call starts over
+                FUTURE.compareAndSet(this, started, null);
+                started.completeExceptionally(e instanceof CompletionException && e.getCause()!=null ? e.getCause() : e);
+            }
+        });
+    }
+
+    /**
+     * Waits for the instance, rethrowing the unchecked exception its initialization failed with.
+     * Called by {@link #get()} while the instance is not ready.
+     * @param future The future instance
+     * @return The instance of {@code T}
+     */
+    protected T await(CompletableFuture<T> future) {
+        return join(future);
+    }
+
+    /**
+     * Waits for a future instance, rethrowing the unchecked exception it failed with.
+     * @param future The future instance
+     * @param <T> The instance type
+     * @return The instance
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if(cause instanceof Error)
+                throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * A provider initialized by a supplied stage.
+     */
+    private static final class StageProvider<T> extends FutureLazyProvider<T>
+    {
+        private final Supplier<? extends CompletionStage<T>> initializer;
+
+        StageProvider(Supplier<? extends CompletionStage<T>> initializer) {
+            this.initializer = initializer;
+        }
+
+        @Override
+        protected T init() {
+            return join(initAsync().toCompletableFuture());
+        }
+
+        @Override
+        protected CompletionStage<T> initAsync() {
+            return initializer.get();
+        }
+    }
+
+    /**
+     * Holds the initialized instance.
+     */
+    private static final class Ready<T>
+    {
+        private final T value;
+
+        Ready(T value) {
+            this.value = value;
+        }
+    }
+}
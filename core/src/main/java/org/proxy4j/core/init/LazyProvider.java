@@ -8,6 +8,7 @@ import javax.inject.Provider;
  * provide the lazily initialized instance.
  * @author Brennan Spies
  * @since 1.0.0
+ * @see FutureLazyProvider
  */
 public abstract class LazyProvider<T> implements Provider<T>
 {
@@ -0,0 +1,23 @@
+package org.proxy4j.core.init;
+
+/**
+ * A provider whose instance can be created ahead of the first call that needs it. The proxy
+ * factories notify a prefetchable provider when they create a virtual proxy with it.
+ * @since 1.2.0
+ * @see AsyncLazyProvider
+ */
+public interface Prefetchable
+{
+    /**
+     * Hints that the instance will be needed soon, so its creation should start now if it
+     * has not started yet. Returns without waiting for the instance.
+     */
+    void prefetch();
+
+    /**
+     * Called when a virtual proxy is created with this provider. Prefetches by default.
+     */
+    default void proxyCreated() {
+        prefetch();
+    }
+}
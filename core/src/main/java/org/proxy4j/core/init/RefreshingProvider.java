@@ -0,0 +1,208 @@
+package org.proxy4j.core.init;
+
+import javax.inject.Provider;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A provider whose instance is recreated periodically, for targets such as credentials or
+ * configuration snapshots that go stale. Virtual proxies of a refreshing provider keep their
+ * identity (and their JIT-compiled call sites) while the instance behind them is replaced:
+ * <pre>Config config = proxyFactory.createProxy(Config.class, new RefreshingProvider&lt;Config&gt;(executor, 5, 10, TimeUnit.MINUTES) {
+ *     protected Config init() {
+ *         return loadConfig();
+ *     }
+ * });</pre>
+ * Once the instance is older than the refresh interval, the next call starts creating a new one
+ * on the executor and carries on with the old one, as do all calls until the new instance is
+ * ready. Only calls that find the instance older than the expiry interval, or
+ * {@link #invalidate() invalidated}, wait for the new one. At most one refresh runs at a time,
+ * and reading a current instance never locks; only publishing an instance and invalidating do.
+ * <p>If a refresh fails, the old instance is kept and the refresh is retried after another
+ * refresh interval; calls that were waiting for the refresh receive its exception.</p>
+ * @since 1.2.0
+ */
+public abstract class RefreshingProvider<T> implements Provider<T>, Prefetchable
+{
+    private static final VarHandle LOADING;
+    static {
+        try {
+            LOADING = MethodHandles.lookup().findVarHandle(RefreshingProvider.class, "loading", CompletableFuture.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Executor executor;
+    private final long refreshNanos;
+    private final long expireNanos;
+    private volatile Entry<T> entry;
+    private volatile CompletableFuture<T> loading;
+    //guards publishing a loaded instance against a concurrent invalidation
+    private final Object publishLock = new Object();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Creates a provider whose instance is refreshed in the background once it is older than
+     * the refresh interval, and never expires.
+     * @param executor Creates the instances
+     * @param refreshAfter The refresh interval
+     * @param unit The unit of the interval
+     */
+    protected RefreshingProvider(Executor executor, long refreshAfter, TimeUnit unit) {
+        this(executor, refreshAfter, Long.MAX_VALUE, unit);
+    }
+
+    /**
+     * Creates a provider whose instance is refreshed in the background once it is older than
+     * the refresh interval, and must be replaced before it is used once it is older than the
+     * expiry interval.
+     * @param executor Creates the instances
+     * @param refreshAfter The refresh interval
+     * @param expireAfter The expiry interval, which must not be shorter than the refresh interval
+     * @param unit The unit of the intervals
+     */
+    protected RefreshingProvider(Executor executor, long refreshAfter, long expireAfter, TimeUnit unit) {
+        if(refreshAfter<=0 || expireAfter<refreshAfter)
+            throw new IllegalArgumentException("Refresh interval must be positive and not exceed the expiry interval");
+        this.executor = executor;
+        this.refreshNanos = unit.toNanos(refreshAfter);
+        this.expireNanos = unit.toNanos(expireAfter);
+    }
+
+    /**
+     * Gets the current instance of {@code T}, starting a refresh if it is due. Waits only if
+     * there is no instance yet, or the current one has expired.
+     * @return The instance of {@code T}
+     */
+    public T get() {
+        Entry<T> current = entry;
+        if(current!=null) {
+            long now = System.nanoTime();
+            if(now - current.refreshAt < 0)
+                return current.value;
+            if(now - current.loadedAt < expireNanos) {
+                load();
+                return current.value;
+            }
+        }
+        return FutureLazyProvider.join(load());
+    }
+
+    /**
+     * Starts creating a new instance on the executor, unless one is already being created.
+     * Calls keep using the current instance until the new one is ready.
+     * @return The future new instance
+     */
+    public CompletableFuture<T> refresh() {
+        return load();
+    }
+
+    /**
+     * Discards the current instance, so that the next call waits for a new one. A refresh that
+     * is in flight is detached: it completes for the calls already waiting on it, but its
+     * instance is not published, and the next call starts a new one.
+     */
+    public void invalidate() {
+        synchronized(publishLock) {
+            entry = null;
+            loading = null;
+        }
+    }
+
+    /**
+     * Starts creating the first instance, if there is none.
+     */
+    public void prefetch() {
+        if(entry==null)
+            load();
+    }
+
+    /**
+     * Returns the number of instances created after the first one.
+     * @return The refresh count
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * Returns the number of times creating an instance failed.
+     * @return The failure count
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Creates a new instance. Runs on the executor.
+     * @return The newly created instance of {@code T}
+     */
+    protected abstract T init();
+
+    //starts loading a new instance, unless a load is in flight
+    private CompletableFuture<T> load() {
+        for(;;) {
+            CompletableFuture<T> current = loading;
+            if(current!=null)
+                return current;
+            CompletableFuture<T> started = new CompletableFuture<>();
+            if(LOADING.compareAndSet(this, null, started)) {
+                try {
+                    CompletableFuture.supplyAsync(this::init, executor)
+                            .whenComplete((value, e) -> loaded(started, value, e));
+                } catch (RuntimeException e) {
+                    loaded(started, null, e);
+                }
+                return started;
+            }
+        }
+    }
+
+    //publishes the outcome of a load, unless it was detached by an invalidation, then allows the next one
+    private void loaded(CompletableFuture<T> started, T value, Throwable e) {
+        if(e!=null)
+            failures.increment();
+        synchronized(publishLock) {
+            if(loading==started) {
+                Entry<T> previous = entry;
+                long now = System.nanoTime();
+                if(e==null) {
+                    if(previous!=null)
+                        refreshes.increment();
+                    entry = new Entry<>(value, now, now + refreshNanos);
+                } else if(previous!=null) {
+                    //retried after another refresh interval, unless the instance expires first
+                    entry = new Entry<>(previous.value, previous.loadedAt, now + refreshNanos);
+                }
+                loading = null;
+            }
+        }
+        if(e==null)
+            started.complete(value);
+        else
+            started.completeExceptionally(e instanceof CompletionException && e.getCause()!=null ? e.getCause() : e);
+    }
+
+    /**
+     * An instance with the time it was created and the time it is due to be refreshed.
+     */
+    private static final class Entry<T>
+    {
+        private final T value;
+        private final long loadedAt;
+        private final long refreshAt;
+
+        Entry(T value, long loadedAt, long refreshAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package org.proxy4j.core.javassist;
 
 import javassist.*;
+import javassist.util.proxy.DefineClassHelper;
 import org.aopalliance.intercept.MethodInvocation;
+import org.proxy4j.core.ChainedMethodInvocation;
 import org.proxy4j.core.InterceptorChain;
+import org.proxy4j.core.PrimitiveMethodInvocation;
 import org.proxy4j.core.ProxyHandler;
 import org.proxy4j.core.ProxyInvocation;
+import org.proxy4j.core.jfr.ProxyEvents;
+import org.proxy4j.core.jfr.RecorderState;
+import org.proxy4j.core.jfr.ProxyGeneratedEvent;
 import org.proxy4j.core.reflect.BasicMethodExtractor;
 import org.proxy4j.core.reflect.MethodExtractor;
 import org.proxy4j.core.reflect.MultitypeMethodExtractor;
@@ -15,6 +21,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Generates proxy classes using Javassist.
@@ -24,10 +31,12 @@ import java.util.*;
 class ClassGenerator
 {
     private final NamingPolicy namingPolicy;
-    private final ClassCache cache = new ClassCache();
+    //shared by all generators, as with the classes themselves
+    private static final ClassCache cache = new ClassCache("javassist");
     Properties templates = new Properties();
-    private final Map<ClassLoader, ClassPool> classPoolMap =
-            new WeakHashMap<>();
+    //pools go away with their class loaders
+    private final LoaderMap<SharedClassPool> classPoolMap = new LoaderMap<>();
+    private volatile ProxyClassStore store;
 
     /**
      * Creates a {@code ClassGenerator} with the given naming policy.
@@ -42,25 +51,30 @@ class ClassGenerator
         }
     }
 
+    /**
+     * Sets the store that generated classes are defined from and saved to.
+     * @param store The class store, or {@code null} for none
+     */
+    void setClassStore(ProxyClassStore store) {
+        this.store = store;
+    }
+
     /**
      * Creates a {@code Provider}-based proxy class.
      * @param loader The loader of the proxy class
      * @param proxyType The proxy type
      * @return The Provider-based proxy
-     * @throws NotFoundException If an error occurs loading a class
      * @throws CannotCompileException If an error occurs during code generation
      */
-    @SuppressWarnings("unchecked")
-    <T> Class<T> getProviderProxyClass(ClassLoader loader, Class<T> proxyType) throws NotFoundException, CannotCompileException
+    <T> Class<T> getProviderProxyClass(ClassLoader loader, Class<T> proxyType) throws CannotCompileException
     {
         Key key = new ClassHashKey(loader, Provider.class, proxyType);
-        //check cache for class
-        Class<T> cl;
-        if((cl=cache.getClass(key))!=null) {
-            return cl;
-        }
-        //else create new class
-        ClassPool pool = getClassPool(loader);
+        return getCachedClass(loader, key, () -> store.getKey("javassist-provider", List.of(proxyType)),
+                (pool, classes) -> generateProviderProxyClass(pool, proxyType, key, classes));
+    }
+
+    private void generateProviderProxyClass(ClassPool pool, Class<?> proxyType, Key key, Map<String,byte[]> classes) throws NotFoundException, CannotCompileException
+    {
         CtClass newCtClass = getSkeleton(pool, namingPolicy.getProxyName(proxyType.getName(), key), proxyType);
         CtClass providerCtClass = fetch(pool, Provider.class);
         addField(newCtClass, "provider", providerCtClass);
@@ -71,9 +85,7 @@ class ClassGenerator
             String body = getDelegateBody("((" + proxyType.getName() + ")provider.get())", m);
             addMethod(pool, newCtClass, m, body);
         }
-        cl = (Class<T>) newCtClass.toClass(loader, null);
-        cache.cache(key, cl);
-        return cl;
+        record(newCtClass, classes);
     }
 
     /**
@@ -81,20 +93,17 @@ class ClassGenerator
      * @param loader The loader of the proxy class
      * @param proxyType The proxy type
      * @return The proxy class
-     * @throws NotFoundException If a class is not found
      * @throws CannotCompileException If the generated code does not compile
      */
-    @SuppressWarnings("unchecked")
-    <T> Class<T> getHandlerProxyClass(ClassLoader loader, Class<T> proxyType) throws NotFoundException, CannotCompileException
+    <T> Class<T> getHandlerProxyClass(ClassLoader loader, Class<T> proxyType) throws CannotCompileException
     {
         Key key = new ClassHashKey(loader, ProxyHandler.class, proxyType);
-        //check cache for class
-        Class<T> cl;
-        if((cl=cache.getClass(key))!=null) {
-            return cl;
-        }
-        //else create new class
-        ClassPool pool = getClassPool(loader);
+        return getCachedClass(loader, key, () -> store.getKey("javassist-handler", List.of(proxyType)),
+                (pool, classes) -> generateHandlerProxyClass(pool, proxyType, key, classes));
+    }
+
+    private void generateHandlerProxyClass(ClassPool pool, Class<?> proxyType, Key key, Map<String,byte[]> classes) throws NotFoundException, CannotCompileException
+    {
         MethodExtractor extractor = new BasicMethodExtractor(proxyType);
         Collection<Method> proxyableMethods = extractor.getProxyableMethods();
         CtClass newCtClass = getSkeleton(pool, namingPolicy.getProxyName(proxyType.getName(), key), proxyType);
@@ -115,9 +124,7 @@ class ClassGenerator
           CtField.Initializer.byCall(newCtClass, "getProxyableMethods"));
 
         createHandlers(pool, extractor, newCtClass);
-        cl = (Class<T>) newCtClass.toClass(loader, null);
-        cache.cache(key, cl);
-        return cl;
+        record(newCtClass, classes);
     }
 
     /**
@@ -126,19 +133,17 @@ class ClassGenerator
      * @param loader The loader for the proxy class
      * @param proxyInterfaces The interfaces to be proxied
      * @return The proxy class
-     * @throws NotFoundException If a class is not found
      * @throws CannotCompileException If an error occurs compiling the generated code
      */
-    Class<?> getHandlerProxyClass(ClassLoader loader, Class<?>[] proxyInterfaces) throws NotFoundException, CannotCompileException
+    Class<?> getHandlerProxyClass(ClassLoader loader, Class<?>[] proxyInterfaces) throws CannotCompileException
     {
         Key key = new ClassHashKey(loader, proxyInterfaces);
-        //check cache for class
-        Class<?> cl;
-        if((cl=cache.getClass(key))!=null) {
-            return cl;
-        }
-        //else create new class
-        ClassPool pool = getClassPool(loader);
+        return getCachedClass(loader, key, () -> store.getKey("javassist-handler", Arrays.asList(proxyInterfaces)),
+                (pool, classes) -> generateHandlerProxyClass(pool, proxyInterfaces, key, classes));
+    }
+
+    private void generateHandlerProxyClass(ClassPool pool, Class<?>[] proxyInterfaces, Key key, Map<String,byte[]> classes) throws NotFoundException, CannotCompileException
+    {
         CtClass newCtClass = getSkeleton(pool,
                 namingPolicy.getProxyName("", key),    //TODO base name?
                 Object.class, proxyInterfaces);
@@ -159,9 +164,7 @@ class ClassGenerator
         addStaticField(newCtClass, "methods", fetch(pool, Method[].class),
           CtField.Initializer.byCall(newCtClass, "getProxyableMethods"));
         createHandlers(pool, extractor, newCtClass);
-        cl = newCtClass.toClass(loader, null);
-        cache.cache(key, cl);
-        return cl;
+        record(newCtClass, classes);
     }
 
     //creates handler field and methods
@@ -183,26 +186,27 @@ class ClassGenerator
     }
 
     /**
-     * Creates an interceptor-based proxy class.
+     * Creates an interceptor-based proxy class. The proxied methods must be proxyable methods
+     * of the target class, as returned by a {@link BasicMethodExtractor}, and the proxy takes
+     * their interceptor chains in the order the extractor returns the methods.
      * @param loader The loader for the proxy class
      * @param target The target of the interceptor(s)
      * @param methodMap A map of methods to interceptor chains
      * @return The proxy class
-     * @throws NotFoundException If a class cannot be loaded
      * @throws CannotCompileException If the generated code does not compile
      */
-    @SuppressWarnings("unchecked")
-    <T> Class<T> getInterceptorProxyClass(ClassLoader loader, T target, Map<Method,InterceptorChain> methodMap) throws NotFoundException, CannotCompileException
+    <T> Class<T> getInterceptorProxyClass(ClassLoader loader, T target, Map<Method,InterceptorChain> methodMap) throws CannotCompileException
     {
         Key key = new MethodHashKey(loader, methodMap.keySet());
-        //check cache for class
-        Class<T> cl;
-        if((cl=cache.getClass(key))!=null) {
-            return cl;
-        }
-        //else create proxy class
+        return getCachedClass(loader, key, () -> store.getKey("javassist-interceptor", List.of(target.getClass()),
+                    getSignatures(methodMap.keySet())),
+                (pool, classes) -> generateInterceptorProxyClass(pool, target, methodMap, key, classes));
+    }
+
+    private void generateInterceptorProxyClass(ClassPool pool, Object target, Map<Method,InterceptorChain> methodMap, Key key,
+                                               Map<String,byte[]> classes) throws NotFoundException, CannotCompileException
+    {
         String className = namingPolicy.getProxyName(target.getClass().getName(), key);
-        ClassPool pool = getClassPool(loader);
         CtClass newCtClass = getSkeleton(pool, className, target.getClass());
         CtClass targetCtClass = fetch(pool, target.getClass());
         CtClass chainArrayCtClass = fetch(pool, InterceptorChain[].class);
@@ -213,29 +217,123 @@ class ClassGenerator
                 targetCtClass, chainArrayCtClass);
         //add the method interceptors
         MethodExtractor extractor = new BasicMethodExtractor(target.getClass());
-        //add delegate calls for non-proxied methods
-        for(Method m : extractor.getProxyableMethods()) {
-           if(!methodMap.containsKey(m)) {
+        Collection<Method> proxyableMethods = extractor.getProxyableMethods();
+        //add delegate calls for non-proxied methods, and select the proxied methods by their index
+        StringBuilder methodTable = new StringBuilder("java.lang.reflect.Method[] all = (java.lang.reflect.Method[]) new ")
+                .append(extractor.getClass().getName())
+                .append("(")
+                .append(target.getClass().getName())
+                .append(".class")
+                .append(").getProxyableMethods().toArray(new java.lang.reflect.Method[")
+                .append(proxyableMethods.size())
+                .append("]);")
+                .append("java.lang.reflect.Method[] methods = new java.lang.reflect.Method[")
+                .append(methodMap.size())
+                .append("];");
+        List<Method> proxiedMethods = new ArrayList<>(methodMap.size());
+        int index = 0;
+        for(Method m : proxyableMethods) {
+           if(methodMap.containsKey(m)) {
+             methodTable.append("methods[").append(proxiedMethods.size()).append("] = all[").append(index).append("];");
+             proxiedMethods.add(m);
+           } else {
              addMethod(pool, newCtClass, m, getDelegateBody("target", m));
            }
+           index++;
         }
+        methodTable.append("return methods;");
+        //add static field for the proxied methods and initializer method
+        createMethod(pool, newCtClass,
+                new MethodSignature(Method[].class, "getProxiedMethods"),
+                wrapBody(methodTable),
+                Modifier.PRIVATE | Modifier.STATIC);
+        addStaticField(newCtClass, "methods", fetch(pool, Method[].class),
+          CtField.Initializer.byCall(newCtClass, "getProxiedMethods"));
         //add interceptors
-        Method[] proxiedMethods = methodMap.keySet().toArray(new Method[methodMap.size()]);
-        for(int i=0; i<proxiedMethods.length; i++) {
-           CtClass invocationClass = getMethodInvocationClass(pool, target.getClass(), className, i, proxiedMethods[i]);
-           invocationClass.toClass(loader, null);
+        for(int i=0; i<proxiedMethods.size(); i++) {
+           CtClass invocationClass = getMethodInvocationClass(pool, target.getClass(), className, i, proxiedMethods.get(i));
+           record(invocationClass, classes);
            String body = new StringBuilder(MethodInvocation.class.getName())
                 .append(" i = new ")
                 .append(invocationClass.getName())
-                .append("(target,\"")
-                .append(proxiedMethods[i].getName()).append("\", $args);")
+                .append("(target, methods[").append(i).append("], $args);")
                 .append("return ($r) chains[").append(i).append("].invoke(i);")
                 .toString();
-           addMethod(pool, newCtClass, proxiedMethods[i], wrapBody(body));
+           addMethod(pool, newCtClass, proxiedMethods.get(i), wrapBody(body));
+        }
+        record(newCtClass, classes);
+    }
+
+    /**
+     * Returns the class cached under the given key, generating it at most once if it
+     * is absent. If a {@link ProxyClassStore} is set, the classes are defined from the
+     * store when it has them, and stored after they are generated otherwise. Classes that
+     * cannot be found while generating are reported as compilation failures.
+     * @param loader The loader of the proxy class
+     * @param key The cache key
+     * @param storeKey Computes the store entry key
+     * @param step The generation step
+     * @return The proxy class
+     * @throws CannotCompileException If the proxy class cannot be generated
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Class<T> getCachedClass(ClassLoader loader, Key key, Supplier<String> storeKey, GenerationStep step) throws CannotCompileException {
+        ProxyClassStore store = this.store;
+        return cache.getClass(key, () -> {
+            String entry = store==null ? null : storeKey.get();
+            if(entry!=null) {
+                Map<String,byte[]> stored = store.load(entry);
+                if(stored!=null) {
+                    try {
+                        return (Class<T>) define(loader, stored);
+                    } catch (CannotCompileException | LinkageError e) {
+                        //regenerated below under the same name, replacing the entry; this fails as well
+                        //if some of the stored classes were defined before the failure
+                    }
+                }
+            }
+            ProxyGeneratedEvent event = RecorderState.isActive() ? ProxyEvents.beginGeneration() : null;
+            long start = System.nanoTime();
+            Map<String,byte[]> classes = new LinkedHashMap<>();
+            try {
+                getClassPool(loader).generate(step, classes);
+            } catch (NotFoundException e) {
+                throw new CannotCompileException(e);
+            }
+            Class<T> proxyClass = (Class<T>) define(loader, classes);
+            if(entry!=null)
+                store.store(entry, classes, System.nanoTime() - start);
+            if(event!=null)
+                ProxyEvents.generated(event, "javassist", proxyClass, classes.values());
+            return proxyClass;
+        });
+    }
+
+    //records the bytes of the class, in definition order
+    private void record(CtClass ctClass, Map<String,byte[]> classes) throws CannotCompileException {
+        try {
+            classes.put(ctClass.getName(), ctClass.toBytecode());
+        } catch (IOException e) {
+            throw new CannotCompileException(e);
+        }
+    }
+
+    //defines the classes in order, returning the last one (the proxy class)
+    private static Class<?> define(ClassLoader loader, Map<String,byte[]> classes) throws CannotCompileException {
+        Class<?> proxyClass = null;
+        for(Map.Entry<String,byte[]> c : classes.entrySet()) {
+            proxyClass = DefineClassHelper.toClass(c.getKey(), null, loader, null, c.getValue());
         }
-        cl = (Class<T>) newCtClass.toClass(loader, null);
-        cache.cache(key, cl);
-        return cl;
+        return proxyClass;
+    }
+
+    //the intercepted method signatures, in a stable order
+    private static Set<String> getSignatures(Collection<Method> methods) {
+        Set<String> signatures = new TreeSet<>();
+        for(Method m : methods) {
+            signatures.add(m.toString());
+        }
+        return signatures;
     }
 
     /**
@@ -334,27 +432,62 @@ class ClassGenerator
         CtClass invocationClass = getSkeleton(pool, proxyClassName + "$$" + index, JavassistMethodInvocation.class);
         Method proceedMethod;
         try {
-            proceedMethod = JavassistMethodInvocation.class.getMethod("proceed");
+            proceedMethod = ChainedMethodInvocation.class.getDeclaredMethod("invokeTarget");
         } catch (NoSuchMethodException e) {
-            throw new RuntimeException("Unable to get proceed() method", e);
+            throw new RuntimeException("Unable to get invokeTarget() method", e);
         }
-        String template = (m.getReturnType().equals(void.class)) ? templates.getProperty("interceptor.proceed.body.noreturn"):
-                          (m.getReturnType().isPrimitive()) ? templates.getProperty("interceptor.proceed.body.return.boxed") :
+        Class<?> returnType = m.getReturnType();
+        String template = (returnType.equals(void.class)) ? templates.getProperty("interceptor.proceed.body.noreturn"):
+                          (returnType.isPrimitive()) ? templates.getProperty("interceptor.proceed.body.return.boxed") :
                             templates.getProperty("interceptor.proceed.body.return");
         addConstructor(invocationClass, "{ super($$); }",
                 fetch(pool, Object.class),
-                fetch(pool, String.class),
+                fetch(pool, Method.class),
                 fetch(pool, Object[].class));
+        String targetExpr = "((" + targetClass.getName() + ") getThis())";
+        String args = getUnpackedArguments(m.getParameterTypes());
         String body;
-        if(!m.getReturnType().equals(void.class) && m.getReturnType().isPrimitive()) {
-           body = MessageFormat.format(template, getBoxedType(m.getReturnType()), "((" + targetClass.getName() + ") getThis())", m.getName(), "$$");
+        if(!returnType.equals(void.class) && returnType.isPrimitive()) {
+           body = MessageFormat.format(template, getBoxedType(returnType), targetExpr, m.getName(), args);
+           //the primitive fast path calls the target directly once the interceptors are exhausted
+           String primitiveBody = MessageFormat.format(templates.getProperty("interceptor.proceed.body.primitive"),
+                   getBoxedType(returnType), returnType.getName(), targetExpr, m.getName(), args);
+           addMethod(pool, invocationClass, getPrimitiveProceedMethod(returnType), wrapBody(primitiveBody));
         } else {
-           body = MessageFormat.format(template, "((" + targetClass.getName() + ") getThis())", m.getName(), "$$");
+           body = MessageFormat.format(template, targetExpr, m.getName(), args);
         }
         addMethod(pool, invocationClass, proceedMethod, wrapBody(body));
         return invocationClass;
     }
 
+    //returns the argument list for a call with the arguments of the invocation, unboxing primitives
+    private String getUnpackedArguments(Class<?>[] parameterTypes) {
+        StringBuilder sb = new StringBuilder();
+        for(int i=0; i<parameterTypes.length; i++) {
+            if(i>0)
+                sb.append(',');
+            Class<?> type = parameterTypes[i];
+            if(type.isPrimitive()) {
+                sb.append("((").append(getBoxedType(type)).append(") getArguments()[").append(i).append("]).")
+                  .append(type.getName()).append("Value()");
+            } else {
+                sb.append("(").append(getSourceName(type)).append(") getArguments()[").append(i).append("]");
+            }
+        }
+        return sb.toString();
+    }
+
+    //returns the PrimitiveMethodInvocation method proceeding with the given primitive type, e.g. proceedInt()
+    private Method getPrimitiveProceedMethod(Class<?> primitiveType) {
+        String name = primitiveType.getName();
+        try {
+            return PrimitiveMethodInvocation.class.getMethod(
+                    "proceed" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("Unable to get proceed method for " + name, e);
+        }
+    }
+
     private String getBoxedType(Class<?> primitiveType) {
         if(primitiveType.equals(int.class)) {
             return "Integer";
@@ -364,11 +497,24 @@ class ClassGenerator
             return "Float";
         } else if(primitiveType.equals(double.class)) {
             return "Double";
-        } else {
+        } else if(primitiveType.equals(boolean.class)) {
+            return "Boolean";
+        } else if(primitiveType.equals(byte.class)) {
+            return "Byte";
+        } else if(primitiveType.equals(short.class)) {
+            return "Short";
+        } else if(primitiveType.equals(char.class)) {
             return "Character";
+        } else {
+            throw new IllegalArgumentException("Not a primitive value type: " + primitiveType);
         }
     }
 
+    //returns the name of the type as used in source code
+    private String getSourceName(Class<?> type) {
+        return type.isArray() ? getSourceName(type.getComponentType()) + "[]" : type.getName();
+    }
+
     //wraps a method body with the required braces
     private String wrapBody(CharSequence body) {
        return new StringBuilder("{").append(body).append('}').toString();
@@ -387,22 +533,37 @@ class ClassGenerator
     }
 
     /**
-     * Gets the {@link javassist.ClassPool} for the corresponding {@link ClassLoader}.
+     * Gets the {@link SharedClassPool} for the corresponding {@link ClassLoader}.
      *
      * @param classLoader The class loader
      * @return The class pool
      */
-    ClassPool getClassPool(ClassLoader classLoader) {
-        synchronized (classPoolMap) {
-            ClassPool cpool = classPoolMap.get(classLoader);
-            if (cpool == null) {
-                cpool = new ClassPool();
-                //cpool.appendClassPath(new LoaderClassPath(ClassLoader.getSystemClassLoader()));
-                cpool.appendClassPath(new LoaderClassPath(classLoader));
-                classPoolMap.put(classLoader, cpool);
-            }
-            return cpool;
-        }
+    SharedClassPool getClassPool(ClassLoader classLoader) {
+        return classPoolMap.computeIfAbsent(classLoader, SharedClassPool::new);
+    }
+
+    /**
+     * Returns the number of class loaders with live proxy classes cached by all generators.
+     * @return The cache segment count
+     */
+    static int getCacheSegmentCount() {
+        return cache.getSegmentCount();
+    }
+
+    /**
+     * Generates the classes of a proxy with Javassist.
+     */
+    interface GenerationStep
+    {
+        /**
+         * Generates the proxy classes in the given pool.
+         * @param pool The class pool, which is not used by other threads during the step
+         * @param classes Records the bytes of the generated classes in definition order,
+         *                the proxy class last
+         * @throws NotFoundException If a class is not found in the pool
+         * @throws CannotCompileException If the generated code does not compile
+         */
+        void generate(ClassPool pool, Map<String,byte[]> classes) throws NotFoundException, CannotCompileException;
     }
 
     /**
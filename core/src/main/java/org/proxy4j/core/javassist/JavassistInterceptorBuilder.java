@@ -4,6 +4,8 @@ import org.aopalliance.intercept.MethodInterceptor;
 import org.proxy4j.core.GenerationException;
 import org.proxy4j.core.InterceptorChain;
 import org.proxy4j.core.InterceptorFactory;
+import org.proxy4j.core.InterceptorHandle;
+import org.proxy4j.core.MutableInterceptorChain;
 import org.proxy4j.core.build.InterceptorBindingBuilder;
 import org.proxy4j.core.build.InterceptorBuilder;
 import org.proxy4j.core.build.InterceptorCreator;
@@ -12,9 +14,12 @@ import org.proxy4j.core.filter.AnnotationFilter;
 import org.proxy4j.core.filter.MethodFilter;
 import org.proxy4j.core.reflect.BasicMethodExtractor;
 import org.proxy4j.core.reflect.MethodExtractor;
+import org.proxy4j.core.reflect.SignatureKey;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -75,7 +80,7 @@ public class JavassistInterceptorBuilder<T> implements InterceptorBuilder<T>
 
         public InterceptorCreator<T> using(MethodFilter filter, InterceptorFactory factory) {
             for(Method m : extractor.getMethods(filter)) {
-                bind(m, new InterceptorChain(factory.getInterceptors(m)));
+                bind(m, InterceptorChain.forMethod(factory, m));
             }
             return new JavassistInterceptorCreator(getMethodMap());
         }
@@ -108,6 +113,10 @@ public class JavassistInterceptorBuilder<T> implements InterceptorBuilder<T>
         public T create() throws GenerationException {
             return new JavassistInterceptorCreator(getMethodMap()).create();
         }
+
+        public InterceptorHandle<T> createHandle() throws GenerationException {
+            return new JavassistInterceptorCreator(getMethodMap()).createHandle();
+        }
     }
 
     /* Final step builder */
@@ -120,13 +129,42 @@ public class JavassistInterceptorBuilder<T> implements InterceptorBuilder<T>
         }
 
         public T create() throws GenerationException {
+            Map<Method,InterceptorChain> bindings = getProxiedBindings();
+            return newProxy(bindings, bindings.values());
+        }
+
+        public InterceptorHandle<T> createHandle() throws GenerationException {
+            Map<Method,InterceptorChain> bindings = getProxiedBindings();
+            Map<SignatureKey,MutableInterceptorChain> chains = InterceptorHandle.toMutableChains(bindings);
+            return new InterceptorHandle<>(newProxy(bindings, chains.values()), chains);
+        }
+
+        //creates the proxy with the chains of the bindings, in the same order
+        private T newProxy(Map<Method,InterceptorChain> bindings, Collection<? extends InterceptorChain> chainList) {
             try {
-                Class<T> proxyClass = generator.getInterceptorProxyClass(loader, target, methodMap);
-                InterceptorChain[] chains = methodMap.values().toArray(new InterceptorChain[methodMap.size()]);
+                Class<T> proxyClass = generator.getInterceptorProxyClass(loader, target, bindings);
+                InterceptorChain[] chains = chainList.toArray(new InterceptorChain[chainList.size()]);
                 return proxyClass.getConstructor(target.getClass(), chains.getClass()).newInstance(target, chains);
             } catch (Exception e) {
                 throw new GenerationException("Unable to generator interceptor proxy", e);
             }  
         }
+
+        //binds the chains to the proxyable methods of the target with the same signature, in extractor order
+        private Map<Method,InterceptorChain> getProxiedBindings() {
+            Map<SignatureKey,InterceptorChain> chains = new HashMap<>();
+            for(Map.Entry<Method,InterceptorChain> entry : methodMap.entrySet()) {
+                chains.put(SignatureKey.of(entry.getKey()), entry.getValue());
+            }
+            Map<Method,InterceptorChain> bindings = new LinkedHashMap<>();
+            for(Method m : extractor.getProxyableMethods()) {
+                InterceptorChain chain = chains.remove(SignatureKey.of(m));
+                if(chain!=null)
+                    bindings.put(m, chain);
+            }
+            if(!chains.isEmpty())
+                throw new IllegalArgumentException("Method cannot be intercepted: " + chains.keySet().iterator().next().getName());
+            return bindings;
+        }
     }
 }
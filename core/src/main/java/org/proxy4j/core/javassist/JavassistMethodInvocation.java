@@ -1,37 +1,32 @@
 package org.proxy4j.core.javassist;
 
-import org.aopalliance.intercept.MethodInvocation;
+import org.proxy4j.core.ChainedMethodInvocation;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
 
 /**
- * Javassist implementation for a method invocation.
+ * Javassist implementation for a method invocation. Generated subclasses
+ * implement {@link #invokeTarget()} to call the target method. The invoked
+ * {@code Method} is resolved once, when the proxy class is initialized, and
+ * passed in by the proxy.
  * @author Brennan Spies
  * @since 1.0.0
  */
-public abstract class JavassistMethodInvocation<T> implements MethodInvocation
+public abstract class JavassistMethodInvocation<T> extends ChainedMethodInvocation
 {
     private final T target;
-    private final String methodName;
+    private final Method method;
     private final Object[] args;
 
-    public JavassistMethodInvocation(T target, String methodName, Object... args) {
+    public JavassistMethodInvocation(T target, Method method, Object[] args) {
        this.target = target;
-       this.methodName = methodName;
+       this.method = method;
        this.args = args;
     }
 
     public Method getMethod() {
-        Class[] argTypes = new Class[args.length];
-        for(int i=0; i<args.length; i++) {
-            argTypes[i] = args[i].getClass();
-        }
-        try {
-            return target.getClass().getMethod(methodName, argTypes);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalStateException("Invalid MethodInvocation for: " + methodName, e);
-        }
+        return method;
     }
 
     public Object[] getArguments() {
@@ -43,6 +38,6 @@ public abstract class JavassistMethodInvocation<T> implements MethodInvocation
     }
 
     public AccessibleObject getStaticPart() {
-        return getMethod();
+        return method;
     }
 }
@@ -5,6 +5,7 @@ import org.proxy4j.core.GenerationException;
 import org.proxy4j.core.ProxyHandler;
 import org.proxy4j.core.ProxyLoader;
 import org.proxy4j.core.build.InterceptorBuilder;
+import org.proxy4j.core.util.ProxyClassStore;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -28,7 +29,7 @@ public class JavassistProxyFactory extends BaseProxyFactory
     public JavassistProxyFactory(@ProxyLoader ClassLoader loader) {
         super(loader);
         classGenerator = new ClassGenerator(getNamingStrategy());
-        //initializes class pool for preferred loader
+        //initializes the class pool for preferred loader
         classGenerator.getClassPool(loader);
     }
 
@@ -38,7 +39,7 @@ public class JavassistProxyFactory extends BaseProxyFactory
     public <T> T createProxy(Class<T> proxyType, Provider<T> provider) throws GenerationException {
         try {
             Class<T> proxyClass = classGenerator.getProviderProxyClass(getProxyClassLoader(proxyType), proxyType);
-            return proxyClass.getConstructor(Provider.class).newInstance(provider);
+            return virtualProxyCreated(proxyClass.getConstructor(Provider.class).newInstance(provider), provider);
         } catch (Exception e) {
             throw new GenerationException("Error creating Provider proxy", e);
         }
@@ -76,4 +77,26 @@ public class JavassistProxyFactory extends BaseProxyFactory
         return new JavassistInterceptorBuilder<>(getProxyClassLoader(proxyClass),
                 proxyClass, classGenerator);
     }
+
+    /**
+     * Sets the store that proxy classes generated by this factory are saved to, and defined
+     * from by later factories (typically in later JVMs) instead of being generated again.
+     * Classes already in the in-memory cache, which is shared by all factories, are not stored.
+     * The store is not used if {@link ProxyClassStore#isEnabled()} is false.
+     * @param store The class store, or {@code null} to generate every class
+     */
+    public void setClassStore(ProxyClassStore store) {
+        classGenerator.setClassStore(store);
+    }
+
+    /**
+     * Returns the number of class loaders with Javassist proxy classes in the cache,
+     * which is shared by all {@code JavassistProxyFactory} instances. Segments are
+     * dropped when their class loader is collected, so a count that keeps growing
+     * indicates that class loaders are leaking.
+     * @return The cache segment count
+     */
+    public int getCacheSegmentCount() {
+        return ClassGenerator.getCacheSegmentCount();
+    }
 }
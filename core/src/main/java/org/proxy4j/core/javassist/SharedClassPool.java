@@ -0,0 +1,52 @@
+package org.proxy4j.core.javassist;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+
+import java.util.Map;
+
+/**
+ * The Javassist class pool of one class loader. A {@link ClassPool} and its {@code CtClass}es
+ * are not thread-safe, so each generation step holds the pool's lock for its duration. Steps
+ * for the same proxy class never wait here, as {@link org.proxy4j.core.util.ClassCache ClassCache}
+ * runs a single step per key; the classes are defined after the lock is released.
+ * @since 1.2.0
+ */
+final class SharedClassPool
+{
+    private final ClassPool pool = new ClassPool();
+
+    /**
+     * Creates the pool for the given class loader.
+     * @param loader The class loader
+     */
+    SharedClassPool(ClassLoader loader) {
+        //LoaderClassPath only weakly references the loader
+        pool.appendClassPath(new LoaderClassPath(loader));
+    }
+
+    /**
+     * Runs the generation step with exclusive use of the pool. The generated classes are
+     * removed from the pool afterwards, so the pool does not grow with every proxy class.
+     * @param step The generation step
+     * @param classes Records the generated classes
+     * @throws NotFoundException If a class is not found in the pool
+     * @throws CannotCompileException If the generated code does not compile
+     */
+    void generate(ClassGenerator.GenerationStep step, Map<String,byte[]> classes) throws NotFoundException, CannotCompileException {
+        synchronized(pool) {
+            try {
+                step.generate(pool, classes);
+            } finally {
+                for(String name : classes.keySet()) {
+                    CtClass generated = pool.getOrNull(name);
+                    if(generated!=null)
+                        generated.detach();
+                }
+            }
+        }
+    }
+}
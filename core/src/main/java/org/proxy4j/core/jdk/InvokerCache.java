@@ -0,0 +1,36 @@
+package org.proxy4j.core.jdk;
+
+import org.proxy4j.core.reflect.MethodInvoker;
+
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Caches the invokers of the methods a proxy dispatches, by identity. A JDK proxy passes the same
+ * {@code Method} instance on every call of a method, so after the first call the invoker is found
+ * without hashing or comparing the method. The cache is copied on write; it only grows until every
+ * method of the proxy has been called once.
+ * @since 1.2.0
+ */
+final class InvokerCache
+{
+    private volatile Map<Method, MethodInvoker> invokers = new IdentityHashMap<>();
+
+    /**
+     * Returns the invoker for the given method.
+     * @param method The method
+     * @return The invoker
+     */
+    MethodInvoker get(Method method) {
+        MethodInvoker invoker = invokers.get(method);
+        if(invoker==null) {
+            invoker = MethodInvoker.forMethod(method);
+            //a racing update may drop this entry, which only costs another lookup
+            Map<Method, MethodInvoker> copy = new IdentityHashMap<>(invokers);
+            copy.put(method, invoker);
+            invokers = copy;
+        }
+        return invoker;
+    }
+}
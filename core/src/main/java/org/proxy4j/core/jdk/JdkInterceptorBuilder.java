@@ -4,6 +4,8 @@ import org.aopalliance.intercept.MethodInterceptor;
 import org.proxy4j.core.GenerationException;
 import org.proxy4j.core.InterceptorChain;
 import org.proxy4j.core.InterceptorFactory;
+import org.proxy4j.core.InterceptorHandle;
+import org.proxy4j.core.MutableInterceptorChain;
 import org.proxy4j.core.build.InterceptorBindingBuilder;
 import org.proxy4j.core.build.InterceptorBuilder;
 import org.proxy4j.core.build.InterceptorCreator;
@@ -11,12 +13,13 @@ import org.proxy4j.core.build.MethodBindingBuilder;
 import org.proxy4j.core.filter.AnnotationFilter;
 import org.proxy4j.core.filter.MethodFilter;
 import org.proxy4j.core.reflect.InheritableMethodExtractor;
+import org.proxy4j.core.reflect.MethodInvoker;
 import org.proxy4j.core.reflect.SignatureKey;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -56,7 +59,7 @@ class JdkInterceptorBuilder<T> implements InterceptorBuilder<T> {
        }
 
        void bind(Method method, InterceptorChain chain) {
-           SignatureKey key = new SignatureKey(method);
+           SignatureKey key = SignatureKey.of(method);
            if(methodMap.containsKey(key))
               throw new IllegalArgumentException("Method already bound to interceptor: " + method.getName());
            methodMap.put(key, chain);
@@ -78,9 +81,19 @@ class JdkInterceptorBuilder<T> implements InterceptorBuilder<T> {
 
         /** {@inheritDoc} */
         public T create() throws GenerationException {
-            return interfaceClass.cast(Proxy.newProxyInstance(loader,
+            return newProxy(methodMap);
+        }
+
+        /** {@inheritDoc} */
+        public InterceptorHandle<T> createHandle() throws GenerationException {
+            Map<SignatureKey,MutableInterceptorChain> chains = InterceptorHandle.toMutableChains(methodMap);
+            return new InterceptorHandle<>(newProxy(chains), chains);
+        }
+
+        private T newProxy(Map<SignatureKey,? extends InterceptorChain> chains) {
+            return interfaceClass.cast(JdkProxyFactory.newProxyInstance(loader,
                     new Class<?>[] {interfaceClass},
-                    new InterceptorInvocationHandler(target, methodMap)));
+                    new InterceptorInvocationHandler(target, interfaceClass, chains)));
         }
     }
 
@@ -98,6 +111,11 @@ class JdkInterceptorBuilder<T> implements InterceptorBuilder<T> {
             return new JdkInterceptorCreator(getMethodMap()).create();
         }
 
+        /** {@inheritDoc} */
+        public InterceptorHandle<T> createHandle() throws GenerationException {
+            return new JdkInterceptorCreator(getMethodMap()).createHandle();
+        }
+
         /** {@inheritDoc} */
         public MethodBindingBuilder<T> using(Method method, MethodInterceptor... interceptors) {
             bind(method, new InterceptorChain(interceptors));
@@ -122,7 +140,7 @@ class JdkInterceptorBuilder<T> implements InterceptorBuilder<T> {
         /** {@inheritDoc} */
         public InterceptorCreator<T> using(MethodFilter filter, InterceptorFactory factory) {
             for(Method m : interfaceClass.getMethods()) {
-               bind(m, new InterceptorChain(factory.getInterceptors(m))); 
+               bind(m, InterceptorChain.forMethod(factory, m));
             }
             return new JdkInterceptorCreator(getMethodMap());
         }
@@ -148,16 +166,41 @@ class JdkInterceptorBuilder<T> implements InterceptorBuilder<T> {
 
     /**
      * Implementation of {@link InvocationHandler} that invokes the interceptor chain
-     * on methods that are intercepted.
+     * on methods that are intercepted. Chains and method invokers are resolved when the
+     * handler is created, so each call does a single lookup keyed by the {@code Method}
+     * passed in by the proxy, and does not allocate.
      */
     private static class InterceptorInvocationHandler implements InvocationHandler
     {
-        private final Map<SignatureKey,InterceptorChain> interceptors;
+        private static final Method[] objectMethods = getObjectMethods();
+        private final Map<Method,MethodBinding> bindings;
         private final Object target;
 
-        InterceptorInvocationHandler(Object target, Map<SignatureKey,InterceptorChain> interceptors) {
+        InterceptorInvocationHandler(Object target, Class<?> interfaceClass, Map<SignatureKey,? extends InterceptorChain> methodMap) {
           this.target = target;
-          this.interceptors = interceptors; //TODO copy?
+          this.bindings = new HashMap<>();
+          resolve(interfaceClass.getMethods(), methodMap);
+          resolve(objectMethods, methodMap);
+        }
+
+        //the methods of Object that a proxy dispatches to its handler
+        private static Method[] getObjectMethods() {
+            try {
+                return new Method[] {
+                    Object.class.getMethod("equals", Object.class),
+                    Object.class.getMethod("hashCode"),
+                    Object.class.getMethod("toString")
+                };
+            } catch (NoSuchMethodException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        //binds each method the proxy may dispatch to its invoker and the chain bound to its signature
+        private void resolve(Method[] methods, Map<SignatureKey,? extends InterceptorChain> methodMap) {
+            for(Method m : methods) {
+                bindings.put(m, new MethodBinding(MethodInvoker.forMethod(m), methodMap.get(SignatureKey.of(m))));
+            }
         }
 
         /**
@@ -167,12 +210,29 @@ class JdkInterceptorBuilder<T> implements InterceptorBuilder<T> {
          * {@inheritDoc}
          */
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            InterceptorChain chain = interceptors.get(new SignatureKey(method));
-            if(chain==null) {
-               return method.invoke(target, args);
+            MethodBinding binding = bindings.get(method);
+            if(binding==null) {
+               //not reached for methods the proxy class was generated for; kept as a safety net
+               return MethodInvoker.invoke(method, target, args);
+            } else if(binding.chain==null) {
+               return binding.invoker.invoke(target, args);
             } else {
-               return chain.invoke(new JdkMethodInvocation(target, method, args));
+               return binding.chain.invoke(new JdkMethodInvocation(target, method, binding.invoker, args));
             }
         }
     }
+
+    /**
+     * The invoker of a method and its interceptor chain, if any.
+     */
+    private static class MethodBinding
+    {
+        private final MethodInvoker invoker;
+        private final InterceptorChain chain;
+
+        MethodBinding(MethodInvoker invoker, InterceptorChain chain) {
+            this.invoker = invoker;
+            this.chain = chain;
+        }
+    }
 }
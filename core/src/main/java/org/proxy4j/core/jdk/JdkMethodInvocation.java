@@ -1,26 +1,50 @@
 package org.proxy4j.core.jdk;
 
-import org.aopalliance.intercept.MethodInvocation;
+import org.proxy4j.core.ChainedMethodInvocation;
+import org.proxy4j.core.reflect.MethodInvoker;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
 
 /**
  * JDK {@link java.lang.reflect.Proxy Proxy}-based implementation of
- * a {@code MethodInvocation}.
+ * a {@code MethodInvocation}, which also serves as the cursor of
+ * an interceptor chain.
  * @author Brennan Spies
  * @since 1.0.0
  */
-public class JdkMethodInvocation implements MethodInvocation
+public class JdkMethodInvocation extends ChainedMethodInvocation
 {
     private final Object target;
     private final Method method;
+    private final MethodInvoker invoker;
     private final Object[] args;
 
+    /**
+     * Creates an invocation that looks up the invoker for the method in the shared table of
+     * {@link MethodInvoker}. Proxies should resolve the invoker once and use
+     * {@link #JdkMethodInvocation(Object, Method, MethodInvoker, Object[])} instead.
+     * @param target The target
+     * @param method The invoked method
+     * @param args The arguments, which may be null if there are none
+     */
     public JdkMethodInvocation(Object target, Method method, Object[] args) {
+       this(target, method, MethodInvoker.forMethod(method), args);
+    }
+
+    /**
+     * Creates an invocation that calls the target through an already resolved invoker.
+     * @param target The target
+     * @param method The invoked method
+     * @param invoker The invoker for the method
+     * @param args The arguments, which may be null if there are none
+     * @since 1.2.0
+     */
+    public JdkMethodInvocation(Object target, Method method, MethodInvoker invoker, Object[] args) {
        this.target = target;
        this.method = method;
-       this.args = args!=null ? args : new Object[0];
+       this.invoker = invoker;
+       this.args = args!=null ? args : MethodInvoker.NO_ARGS;
     }
 
     /**
@@ -40,8 +64,8 @@ public class JdkMethodInvocation implements MethodInvocation
     /**
      * {@inheritDoc}
      */    
-    public Object proceed() throws Throwable {
-        return method.invoke(target, args);
+    protected Object invokeTarget() throws Throwable {
+        return invoker.invoke(target, args);
     }
 
     /**
@@ -5,9 +5,14 @@ import org.proxy4j.core.GenerationException;
 import org.proxy4j.core.ProxyHandler;
 import org.proxy4j.core.ProxyLoader;
 import org.proxy4j.core.build.InterceptorBuilder;
+import org.proxy4j.core.jfr.ProxyCacheMissEvent;
+import org.proxy4j.core.jfr.ProxyEvents;
+import org.proxy4j.core.jfr.RecorderState;
+import org.proxy4j.core.jfr.ProxyGeneratedEvent;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 
 /**
@@ -31,10 +36,11 @@ public class JdkProxyFactory extends BaseProxyFactory
      * @see org.proxy4j.core.ProxyFactory#createProxy(Class, javax.inject.Provider)
      */
     public <T> T createProxy(Class<T> proxyInterface, final Provider<T> provider) throws GenerationException {
-        return proxyInterface.cast(Proxy.newProxyInstance(getProxyClassLoader(proxyInterface),
+        InvokerCache invokers = new InvokerCache();
+        return virtualProxyCreated(proxyInterface.cast(newProxyInstance(getProxyClassLoader(proxyInterface),
             new Class[]{ proxyInterface },
-                (proxy, method, args) -> method.invoke(provider.get(), args))
-        );
+                (proxy, method, args) -> invokers.get(method).invoke(provider.get(), args))
+        ), provider);
     }
 
     /**
@@ -42,9 +48,10 @@ public class JdkProxyFactory extends BaseProxyFactory
      * @see org.proxy4j.core.ProxyFactory#createProxy(Class, org.proxy4j.core.ProxyHandler)
      */
     public <T> T createProxy(Class<T> proxyInterface, final ProxyHandler<T> handler) throws GenerationException {
-        return proxyInterface.cast(Proxy.newProxyInstance(getProxyClassLoader(proxyInterface),
+        InvokerCache invokers = new InvokerCache();
+        return proxyInterface.cast(newProxyInstance(getProxyClassLoader(proxyInterface),
             new Class[] {proxyInterface},
-                (proxy, method, args) -> handler.handle(new JdkProxyInvocation(proxy, method, args)))
+                (proxy, method, args) -> handler.handle(new JdkProxyInvocation(proxy, method, invokers.get(method), args)))
         );
     }
 
@@ -54,9 +61,10 @@ public class JdkProxyFactory extends BaseProxyFactory
     public Object createProxy(Class<?>[] proxyInterfaces, final ProxyHandler<?> handler) throws GenerationException {
         if(proxyInterfaces.length==0)
             throw new IllegalArgumentException("Must define at least 1 proxy interface");
-        return Proxy.newProxyInstance(getProxyClassLoader(proxyInterfaces[0]),
+        InvokerCache invokers = new InvokerCache();
+        return newProxyInstance(getProxyClassLoader(proxyInterfaces[0]),
             proxyInterfaces,
-                (proxy, method, args) -> handler.handle(new JdkProxyInvocation(proxy, method, args))
+                (proxy, method, args) -> handler.handle(new JdkProxyInvocation(proxy, method, invokers.get(method), args))
         );
     }
 
@@ -66,4 +74,22 @@ public class JdkProxyFactory extends BaseProxyFactory
     public <T> InterceptorBuilder<T> buildInterceptor(Class<T> proxyClass) {
         return new JdkInterceptorBuilder<T>(getProxyClassLoader(proxyClass), proxyClass);
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a JDK proxy, reporting the proxy class as flight recorder events. The JDK caches
+     * proxy classes itself, so a class is reported as generated the first time it is seen.
+     * @param loader The class loader of the proxy class
+     * @param proxyInterfaces The proxied interfaces
+     * @param handler The invocation handler
+     * @return The proxy
+     */
+    static Object newProxyInstance(ClassLoader loader, Class<?>[] proxyInterfaces, InvocationHandler handler) {
+        if(!RecorderState.isActive())
+            return Proxy.newProxyInstance(loader, proxyInterfaces, handler);
+        ProxyGeneratedEvent generation = ProxyEvents.beginGeneration();
+        ProxyCacheMissEvent miss = ProxyEvents.beginCacheMiss();
+        Object proxy = Proxy.newProxyInstance(loader, proxyInterfaces, handler);
+        ProxyEvents.obtained(generation, miss, "jdk", proxy.getClass());
+        return proxy;
+    }
+}
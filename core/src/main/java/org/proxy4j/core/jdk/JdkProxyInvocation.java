@@ -1,6 +1,7 @@
 package org.proxy4j.core.jdk;
 
 import org.proxy4j.core.ProxyInvocation;
+import org.proxy4j.core.reflect.MethodInvoker;
 
 import java.lang.reflect.Method;
 
@@ -13,16 +14,18 @@ class JdkProxyInvocation<T> implements ProxyInvocation<T>
 {
     private final T proxy;
     private final Method method;
+    private final MethodInvoker invoker;
     private final Object[] args;
 
-    JdkProxyInvocation(T proxy, Method method, Object[] args) {
+    JdkProxyInvocation(T proxy, Method method, MethodInvoker invoker, Object[] args) {
         this.proxy = proxy;
         this.method = method;
-        this.args = args!=null ? args : new Object[0];
+        this.invoker = invoker;
+        this.args = args!=null ? args : MethodInvoker.NO_ARGS;
     }
 
     public Object invoke(Object target) throws Throwable {
-        return method.invoke(target, args);
+        return invoker.invoke(target, args);
     }
 
     public Method getMethod() {
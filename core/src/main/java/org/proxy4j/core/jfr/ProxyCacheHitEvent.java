@@ -0,0 +1,30 @@
+package org.proxy4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a proxy class that was found in the cache.
+ * @since 1.2.0
+ */
+@Name("org.proxy4j.ProxyCacheHit")
+@Label("Proxy Cache Hit")
+@Category("Proxy4J")
+@Description("A proxy class was found in the cache")
+@StackTrace(false)
+public final class ProxyCacheHitEvent extends jdk.jfr.Event
+{
+    @Label("Backend")
+    String backend;
+
+    @Label("Proxied Types")
+    String proxiedTypes;
+
+    @Label("Proxy Class")
+    Class<?> proxyClass;
+
+    ProxyCacheHitEvent() {}
+}
@@ -0,0 +1,29 @@
+package org.proxy4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a proxy class that was not cached. Its duration is the time taken
+ * to obtain the class, whether it was generated or defined from a class store.
+ * @since 1.2.0
+ */
+@Name("org.proxy4j.ProxyCacheMiss")
+@Label("Proxy Cache Miss")
+@Category("Proxy4J")
+@Description("A proxy class was not found in the cache")
+public final class ProxyCacheMissEvent extends jdk.jfr.Event
+{
+    @Label("Backend")
+    String backend;
+
+    @Label("Proxied Types")
+    String proxiedTypes;
+
+    @Label("Proxy Class")
+    Class<?> proxyClass;
+
+    ProxyCacheMissEvent() {}
+}
@@ -0,0 +1,41 @@
+package org.proxy4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * Periodic flight recorder event with the number of proxy classes cached by a backend
+ * for a class loader. One event is emitted per cache and class loader.
+ * @since 1.2.0
+ */
+@Name("org.proxy4j.ProxyCacheStatistics")
+@Label("Proxy Cache Statistics")
+@Category("Proxy4J")
+@Description("The number of proxy classes cached for a class loader")
+@Period("60 s")
+@StackTrace(false)
+public final class ProxyCacheStatisticsEvent extends jdk.jfr.Event
+{
+    @Label("Backend")
+    String backend;
+
+    @Label("Class Loader")
+    String classLoader;
+
+    @Label("Cached Classes")
+    int size;
+
+    @Label("Hits")
+    @Description("Cache hits of the backend cache, for all class loaders")
+    long hits;
+
+    @Label("Misses")
+    @Description("Cache misses of the backend cache, for all class loaders")
+    long misses;
+
+    ProxyCacheStatisticsEvent() {}
+}
@@ -0,0 +1,171 @@
+package org.proxy4j.core.jfr;
+
+import org.proxy4j.core.util.ClassCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Emits the flight recorder events of proxy generation and of the proxy class caches, so that a
+ * JFR recording attributes startup time and metaspace use to the proxies that caused them:
+ * <ul>
+ * <li>{@link ProxyGeneratedEvent} when a proxy class is generated,</li>
+ * <li>{@link ProxyCacheMissEvent} and {@link ProxyCacheHitEvent} when a proxy class is looked up,</li>
+ * <li>{@link ProxyCacheStatisticsEvent} periodically, for each cache and class loader.</li>
+ * </ul>
+ * Events are only created in full while they are being recorded. Used by the proxy factories, which
+ * only call this class once {@link RecorderState#isActive()} returns true.
+ * @since 1.2.0
+ */
+public final class ProxyEvents
+{
+    private static final ClassValue<AtomicBoolean> seenClasses = new ClassValue<>() {
+        @Override protected AtomicBoolean computeValue(Class<?> type) {
+            return new AtomicBoolean();
+        }
+    };
+
+    private ProxyEvents() {}
+
+    /**
+     * Starts timing the generation of a proxy class.
+     * @return The event, to be passed to {@link #generated}
+     */
+    public static ProxyGeneratedEvent beginGeneration() {
+        ProxyGeneratedEvent event = new ProxyGeneratedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Returns true if the generation of the given event is being recorded, so that its
+     * bytecode should be collected.
+     * @param event The generation event
+     * @return True if the event is recorded
+     */
+    public static boolean isRecorded(ProxyGeneratedEvent event) {
+        return event.isEnabled();
+    }
+
+    /**
+     * Ends and commits a generation event.
+     * @param event The event returned by {@link #beginGeneration()}
+     * @param backend The name of the backend
+     * @param proxyClass The generated proxy class
+     * @param classes The bytecode of the defined classes, or an empty collection if it is not known
+     */
+    public static void generated(ProxyGeneratedEvent event, String backend, Class<?> proxyClass, Collection<byte[]> classes) {
+        event.end();
+        if(event.shouldCommit()) {
+            event.backend = backend;
+            event.proxiedTypes = getProxiedTypes(proxyClass);
+            event.proxyClass = proxyClass;
+            event.classCount = Math.max(1, classes.size());
+            for(byte[] bytes : classes) {
+                event.bytecodeSize += bytes.length;
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing the lookup of a proxy class that is not cached.
+     * @return The event, to be passed to {@link #cacheMiss}
+     */
+    public static ProxyCacheMissEvent beginCacheMiss() {
+        ProxyCacheMissEvent event = new ProxyCacheMissEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits a cache miss event.
+     * @param event The event returned by {@link #beginCacheMiss()}
+     * @param backend The name of the backend
+     * @param proxyClass The proxy class that was generated or loaded
+     */
+    public static void cacheMiss(ProxyCacheMissEvent event, String backend, Class<?> proxyClass) {
+        event.end();
+        if(event.shouldCommit()) {
+            event.backend = backend;
+            event.proxiedTypes = getProxiedTypes(proxyClass);
+            event.proxyClass = proxyClass;
+            event.commit();
+        }
+    }
+
+    /**
+     * Commits a cache hit event.
+     * @param backend The name of the backend
+     * @param proxyClass The cached proxy class
+     */
+    public static void cacheHit(String backend, Class<?> proxyClass) {
+        ProxyCacheHitEvent event = new ProxyCacheHitEvent();
+        if(event.shouldCommit()) {
+            event.backend = backend;
+            event.proxiedTypes = getProxiedTypes(proxyClass);
+            event.proxyClass = proxyClass;
+            event.commit();
+        }
+    }
+
+    /**
+     * Commits the events of a proxy class obtained from a backend that caches classes itself, such as
+     * {@link java.lang.reflect.Proxy}: a miss and a generation event the first time the class is seen
+     * while the events are recorded, and a hit event after that. Both events were begun before the class
+     * was obtained.
+     * @param generation The generation event
+     * @param miss The cache miss event
+     * @param backend The name of the backend
+     * @param proxyClass The proxy class
+     */
+    public static void obtained(ProxyGeneratedEvent generation, ProxyCacheMissEvent miss, String backend, Class<?> proxyClass) {
+        if(!generation.isEnabled() && !miss.isEnabled()) {
+            cacheHit(backend, proxyClass);
+        } else if(seenClasses.get(proxyClass).compareAndSet(false, true)) {
+            generated(generation, backend, proxyClass, Collections.emptyList());
+            cacheMiss(miss, backend, proxyClass);
+        } else {
+            cacheHit(backend, proxyClass);
+        }
+    }
+
+    //the superclass, unless it is Object, and the interfaces of the proxy class
+    private static String getProxiedTypes(Class<?> proxyClass) {
+        StringJoiner types = new StringJoiner(",");
+        Class<?> superclass = proxyClass.getSuperclass();
+        if(superclass!=null && superclass!=Object.class && superclass!=java.lang.reflect.Proxy.class)
+            types.add(superclass.getName());
+        for(Class<?> type : proxyClass.getInterfaces()) {
+            types.add(type.getName());
+        }
+        return types.toString();
+    }
+
+    //emits the statistics of each cache, per class loader
+    static void emitStatistics() {
+        for(ClassCache cache : RecorderState.getCaches()) {
+            long hits = cache.getHitCount();
+            long misses = cache.getMissCount();
+            cache.forEachSegment((loader, size) -> {
+                ProxyCacheStatisticsEvent event = new ProxyCacheStatisticsEvent();
+                event.backend = cache.getName();
+                event.classLoader = getName(loader);
+                event.size = size;
+                event.hits = hits;
+                event.misses = misses;
+                event.commit();
+            });
+        }
+    }
+
+    //identifies a class loader
+    private static String getName(ClassLoader loader) {
+        if(loader==null)
+            return "bootstrap";
+        String id = loader.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(loader));
+        return loader.getName()==null ? id : loader.getName() + " (" + id + ")";
+    }
+}
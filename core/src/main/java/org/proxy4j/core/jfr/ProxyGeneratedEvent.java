@@ -0,0 +1,39 @@
+package org.proxy4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the generation of a proxy class. Its duration is the time taken
+ * to generate and define the proxy class and its helper classes.
+ * @since 1.2.0
+ */
+@Name("org.proxy4j.ProxyGenerated")
+@Label("Proxy Class Generated")
+@Category("Proxy4J")
+@Description("A proxy class was generated and defined")
+public final class ProxyGeneratedEvent extends jdk.jfr.Event
+{
+    @Label("Backend")
+    String backend;
+
+    @Label("Proxied Types")
+    String proxiedTypes;
+
+    @Label("Proxy Class")
+    Class<?> proxyClass;
+
+    @Label("Class Count")
+    @Description("The number of classes defined, including helper classes")
+    int classCount;
+
+    @Label("Bytecode Size")
+    @Description("The total size of the defined classes, or 0 if the backend does not expose them")
+    @DataAmount
+    long bytecodeSize;
+
+    ProxyGeneratedEvent() {}
+}
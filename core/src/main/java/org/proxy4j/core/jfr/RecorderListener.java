@@ -0,0 +1,24 @@
+package org.proxy4j.core.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+
+/**
+ * Registers the periodic statistics event and activates the proxy events once the flight
+ * recorder is initialized, or right away if it already is. Only loaded if {@code jdk.jfr} is present.
+ * @since 1.2.0
+ */
+final class RecorderListener implements FlightRecorderListener
+{
+    private RecorderListener() {}
+
+    static void install() {
+        FlightRecorder.addListener(new RecorderListener());
+    }
+
+    @Override
+    public void recorderInitialized(FlightRecorder recorder) {
+        FlightRecorder.addPeriodicEvent(ProxyCacheStatisticsEvent.class, ProxyEvents::emitStatistics);
+        RecorderState.activate();
+    }
+}
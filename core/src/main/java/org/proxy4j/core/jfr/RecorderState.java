@@ -0,0 +1,70 @@
+package org.proxy4j.core.jfr;
+
+import org.proxy4j.core.util.ClassCache;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks whether the flight recorder has been initialized, without initializing it. Until it is,
+ * the proxy factories skip {@link ProxyEvents} altogether, so neither the events nor the
+ * {@code jdk.jfr} module are loaded by applications that never record, and the module may be
+ * absent from the runtime image. The first use of this class starts listening for the
+ * initialization of the recorder.
+ * @since 1.2.0
+ */
+public final class RecorderState
+{
+    //weakly held, as caches of proxy factories come and go with their factories
+    private static final Set<ClassCache> caches = Collections.newSetFromMap(new WeakHashMap<>());
+    private static volatile boolean active;
+
+    static {
+        if(ModuleLayer.boot().findModule("jdk.jfr").isPresent()) {
+            try {
+                RecorderListener.install();
+            } catch (LinkageError e) {
+                //the recorder is not supported by this runtime
+            }
+        }
+    }
+
+    private RecorderState() {}
+
+    /**
+     * Returns true once the flight recorder has been initialized, after which proxy events
+     * are created and may be recorded.
+     * @return True if the recorder is initialized
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Registers a cache, so its size is reported by the periodic statistics event.
+     * @param cache The class cache
+     */
+    public static void register(ClassCache cache) {
+        synchronized(caches) {
+            caches.add(cache);
+        }
+    }
+
+    /**
+     * Called by the listener once the recorder is initialized and the periodic event is registered.
+     */
+    static void activate() {
+        active = true;
+    }
+
+    /**
+     * Returns the registered caches that are still in use.
+     * @return The caches
+     */
+    static ClassCache[] getCaches() {
+        synchronized(caches) {
+            return caches.toArray(new ClassCache[0]);
+        }
+    }
+}
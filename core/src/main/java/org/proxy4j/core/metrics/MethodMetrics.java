@@ -0,0 +1,121 @@
+package org.proxy4j.core.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The call count, error count and latencies of one proxied method. Counts are kept in
+ * {@link LongAdder LongAdders}, which spread contended updates over several cells, and
+ * latencies in a histogram with logarithmic buckets, four per power of two, so that
+ * any latency is recorded to within 25% of its value. The buckets are {@code LongAdders}
+ * as well, created when a latency first falls into them, so concurrent calls of similar
+ * latency do not contend either. Once its buckets exist, recording a call does not
+ * allocate or lock.
+ * @since 1.2.0
+ */
+public final class MethodMetrics
+{
+    //each power of two is divided into 2^SUB_BITS buckets
+    private static final int SUB_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(BUCKETS);
+
+    MethodMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of the metrics, made up of the service and method signature.
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a completed call.
+     * @param nanos The latency of the call
+     * @param failed True if the call threw an exception
+     */
+    public void record(long nanos, boolean failed) {
+        if(nanos<0)
+            nanos = 0;
+        calls.increment();
+        if(failed)
+            errors.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        getBucket(bucketOf(nanos)).increment();
+    }
+
+    /**
+     * Takes a snapshot of the metrics. Calls recorded while the snapshot is taken
+     * may be partially included.
+     * @return The snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for(int i=0; i<BUCKETS; i++) {
+            LongAdder bucket = buckets.get(i);
+            counts[i] = bucket==null ? 0 : bucket.sum();
+        }
+        return new MetricsSnapshot(name, calls.sum(), errors.sum(), totalNanos.sum(), maxNanos.get(), counts);
+    }
+
+    /**
+     * Clears the metrics.
+     */
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for(int i=0; i<BUCKETS; i++) {
+            LongAdder bucket = buckets.get(i);
+            if(bucket!=null)
+                bucket.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    //the counter of the bucket, created on first use
+    private LongAdder getBucket(int index) {
+        LongAdder bucket = buckets.get(index);
+        if(bucket==null) {
+            bucket = new LongAdder();
+            if(!buckets.compareAndSet(index, null, bucket))
+                bucket = buckets.get(index);
+        }
+        return bucket;
+    }
+
+    //values below SUB_BUCKETS have a bucket each; above, each power of two is split into SUB_BUCKETS
+    static int bucketOf(long nanos) {
+        if(nanos<SUB_BUCKETS)
+            return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    //the largest value recorded in the bucket
+    static long upperBoundOf(int bucket) {
+        if(bucket<SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,30 @@
+package org.proxy4j.core.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Records the latency and outcome of each call in the {@link MethodMetrics} of the
+ * intercepted method.
+ * @since 1.2.0
+ */
+final class MetricsInterceptor implements MethodInterceptor
+{
+    private final MethodMetrics metrics;
+
+    MetricsInterceptor(MethodMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.proxy4j.core.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.proxy4j.core.InterceptorFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link MethodMetrics} of proxied methods. The registry creates interceptors that
+ * record calls into it, which are attached to interceptor proxies like any other:
+ * <pre>MetricsRegistry metrics = new MetricsRegistry();
+ * Foo proxy = proxyFactory.buildInterceptor(Foo.class)
+ *     .on(foo)
+ *     .using(filter, metrics.forService("foo"))
+ *     .create();</pre>
+ * Methods are named after the service and their signature, such as
+ * {@code foo#join(java.lang.String[],char)}, so all proxies of a service share the metrics
+ * of each method. The registry can also be registered as an MXBean.
+ * @since 1.2.0
+ */
+public class MetricsRegistry implements MetricsRegistryMXBean
+{
+    private final ConcurrentMap<String,MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Returns an interceptor factory that records the calls of each method of the service.
+     * @param service The service name
+     * @return The interceptor factory
+     */
+    public InterceptorFactory forService(String service) {
+        return method -> Collections.singletonList(newInterceptor(service, method));
+    }
+
+    /**
+     * Creates an interceptor that records the calls of the given method, for use in
+     * interceptor chains built by other factories.
+     * @param service The service name
+     * @param method The method
+     * @return The metrics interceptor
+     */
+    public MethodInterceptor newInterceptor(String service, Method method) {
+        return new MetricsInterceptor(getMetrics(service, method));
+    }
+
+    /**
+     * Returns the metrics of the given method of the service, creating them if needed.
+     * @param service The service name
+     * @param method The method
+     * @return The method metrics
+     */
+    public MethodMetrics getMetrics(String service, Method method) {
+        return metrics.computeIfAbsent(getName(service, method), MethodMetrics::new);
+    }
+
+    /**
+     * Returns the metrics of all methods, keyed by name.
+     * @return The method metrics
+     */
+    public Map<String,MethodMetrics> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /** {@inheritDoc} */
+    public Map<String,MetricsSnapshot> getSnapshots() {
+        Map<String,MetricsSnapshot> snapshots = new TreeMap<>();
+        for(MethodMetrics methodMetrics : metrics.values()) {
+            snapshots.put(methodMetrics.getName(), methodMetrics.snapshot());
+        }
+        return snapshots;
+    }
+
+    /** {@inheritDoc} */
+    public void reset() {
+        for(MethodMetrics methodMetrics : metrics.values()) {
+            methodMetrics.reset();
+        }
+    }
+
+    /**
+     * Registers the registry with the platform MBean server under
+     * {@code org.proxy4j:type=Metrics,name=<name>}.
+     * @param name The name of the registry
+     * @return The object name of the registered MBean
+     * @throws JMException If the registry cannot be registered
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("org.proxy4j:type=Metrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    //service#method(parameter types), with fully qualified types so overloads never share metrics
+    private static String getName(String service, Method method) {
+        StringBuilder name = new StringBuilder(service).append('#').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for(int i=0; i<parameterTypes.length; i++) {
+            if(i>0)
+                name.append(',');
+            name.append(parameterTypes[i].getTypeName());
+        }
+        return name.append(')').toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MetricsRegistry");
+        for(MetricsSnapshot snapshot : getSnapshots().values()) {
+            sb.append("\n  ").append(snapshot);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package org.proxy4j.core.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of a {@link MetricsRegistry}, through which the metrics of proxied
+ * methods can be watched with JMX clients.
+ * @since 1.2.0
+ */
+public interface MetricsRegistryMXBean
+{
+    /**
+     * Returns snapshots of the metrics of all methods, keyed by name.
+     * @return The snapshots
+     */
+    Map<String,MetricsSnapshot> getSnapshots();
+
+    /**
+     * Clears the metrics of all methods.
+     */
+    void reset();
+}
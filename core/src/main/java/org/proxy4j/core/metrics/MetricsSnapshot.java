@@ -0,0 +1,107 @@
+package org.proxy4j.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The metrics of a proxied method at one point in time. Percentiles are read from the
+ * latency histogram, and are the largest latency of their bucket, so they overstate the
+ * true latency by at most 25%.
+ * @since 1.2.0
+ */
+public final class MetricsSnapshot
+{
+    private final String name;
+    private final long count;
+    private final long errorCount;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] buckets;
+
+    MetricsSnapshot(String name, long count, long errorCount, long totalNanos, long maxNanos, long[] buckets) {
+        this.name = name;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Returns the name of the method metrics.
+     * @return The name
+     */
+    public String getName() { return name; }
+
+    /**
+     * Returns the number of completed calls.
+     * @return The call count
+     */
+    public long getCount() { return count; }
+
+    /**
+     * Returns the number of calls that threw an exception.
+     * @return The error count
+     */
+    public long getErrorCount() { return errorCount; }
+
+    /**
+     * Returns the mean latency of the calls.
+     * @return The mean latency in nanoseconds, or 0 if there were no calls
+     */
+    public long getMeanNanos() { return count==0 ? 0 : totalNanos / count; }
+
+    /**
+     * Returns the largest latency of any call.
+     * @return The maximum latency in nanoseconds
+     */
+    public long getMaxNanos() { return maxNanos; }
+
+    /**
+     * Returns the median latency.
+     * @return The median latency in nanoseconds
+     */
+    public long getP50Nanos() { return getPercentileNanos(50); }
+
+    /**
+     * Returns the 90th percentile latency.
+     * @return The 90th percentile latency in nanoseconds
+     */
+    public long getP90Nanos() { return getPercentileNanos(90); }
+
+    /**
+     * Returns the 99th percentile latency.
+     * @return The 99th percentile latency in nanoseconds
+     */
+    public long getP99Nanos() { return getPercentileNanos(99); }
+
+    /**
+     * Returns the latency below which the given percentage of calls completed.
+     * @param percentile The percentile, between 0 and 100
+     * @return The latency in nanoseconds, or 0 if there were no calls
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        for(long bucket : buckets) {
+            total += bucket;
+        }
+        if(total==0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for(int i=0; i<buckets.length; i++) {
+            seen += buckets[i];
+            if(seen>=rank)
+                return Math.min(MethodMetrics.upperBoundOf(i), maxNanos);
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": count=" + count + ", errors=" + errorCount
+                + ", mean=" + TimeUnit.NANOSECONDS.toMicros(getMeanNanos()) + "us"
+                + ", p50=" + TimeUnit.NANOSECONDS.toMicros(getP50Nanos()) + "us"
+                + ", p99=" + TimeUnit.NANOSECONDS.toMicros(getP99Nanos()) + "us"
+                + ", max=" + TimeUnit.NANOSECONDS.toMicros(maxNanos) + "us";
+    }
+}
@@ -0,0 +1,19 @@
+package org.proxy4j.core.pregen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface for which the proxy4j-apt annotation processor generates virtual,
+ * handler and interceptor proxy classes at compile time. A {@link PregeneratedProxyFactory}
+ * creates proxies of the interface from those classes instead of generating them at runtime.
+ * @since 1.2.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GenerateProxies {
+}
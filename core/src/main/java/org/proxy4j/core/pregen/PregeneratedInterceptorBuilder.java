@@ -0,0 +1,167 @@
+package org.proxy4j.core.pregen;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.proxy4j.core.GenerationException;
+import org.proxy4j.core.InterceptorChain;
+import org.proxy4j.core.InterceptorFactory;
+import org.proxy4j.core.InterceptorHandle;
+import org.proxy4j.core.MutableInterceptorChain;
+import org.proxy4j.core.build.InterceptorBindingBuilder;
+import org.proxy4j.core.build.InterceptorBuilder;
+import org.proxy4j.core.build.InterceptorCreator;
+import org.proxy4j.core.build.MethodBindingBuilder;
+import org.proxy4j.core.filter.AnnotationFilter;
+import org.proxy4j.core.filter.MethodFilter;
+import org.proxy4j.core.reflect.InheritableMethodExtractor;
+import org.proxy4j.core.reflect.SignatureKey;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Implementation of {@link InterceptorBuilder} using pregenerated proxy classes. Like the JDK
+ * implementation, it is restricted to proxying interfaces.</p>
+ * @since 1.2.0
+ */
+class PregeneratedInterceptorBuilder<T> implements InterceptorBuilder<T>
+{
+    private final PregeneratedProxies<T> proxies;
+    private final Class<T> interfaceClass;
+    private T target;
+
+    PregeneratedInterceptorBuilder(PregeneratedProxies<T> proxies) {
+        this.proxies = proxies;
+        this.interfaceClass = proxies.getProxyInterface();
+    }
+
+    /** {@inheritDoc} */
+    public InterceptorBindingBuilder<T> on(T target) {
+        this.target = target;
+        return new PregeneratedInterceptorBindingBuilder();
+    }
+
+    private static class AbstractBindingBuilder
+    {
+       private final Map<SignatureKey,InterceptorChain> methodMap;
+
+       AbstractBindingBuilder() {
+          methodMap = new LinkedHashMap<>();
+       }
+
+       AbstractBindingBuilder(Map<SignatureKey, InterceptorChain> methodMap) {
+          this.methodMap = methodMap;
+       }
+
+       void bind(Method method, InterceptorChain chain) {
+           SignatureKey key = SignatureKey.of(method);
+           if(methodMap.containsKey(key))
+              throw new IllegalArgumentException("Method already bound to interceptor: " + method.getName());
+           methodMap.put(key, chain);
+       }
+
+       protected Map<SignatureKey,InterceptorChain> getMethodMap() { return methodMap; }
+    }
+
+    /**
+     * Pregenerated implementation of {@link InterceptorCreator}.
+     */
+    private class PregeneratedInterceptorCreator implements InterceptorCreator<T>
+    {
+        private final Map<SignatureKey,InterceptorChain> methodMap;
+
+        PregeneratedInterceptorCreator(Map<SignatureKey,InterceptorChain> methodMap) {
+            this.methodMap = methodMap;
+        }
+
+        /** {@inheritDoc} */
+        public T create() throws GenerationException {
+            return newProxy(methodMap);
+        }
+
+        /** {@inheritDoc} */
+        public InterceptorHandle<T> createHandle() throws GenerationException {
+            Map<SignatureKey,MutableInterceptorChain> chains = InterceptorHandle.toMutableChains(methodMap);
+            return new InterceptorHandle<>(newProxy(chains), chains);
+        }
+
+        private T newProxy(Map<SignatureKey,? extends InterceptorChain> methodMap) {
+            Method[] methods = proxies.getProxiedMethods();
+            InterceptorChain[] chains = new InterceptorChain[methods.length];
+            for(int i=0; i<methods.length; i++) {
+                chains[i] = methodMap.get(SignatureKey.of(methods[i]));
+            }
+            return proxies.createInterceptorProxy(target, chains);
+        }
+    }
+
+    /**
+     * Pregenerated implementation of {@link MethodBindingBuilder}.
+     */
+    private class PregeneratedMethodBindingBuilder extends AbstractBindingBuilder implements MethodBindingBuilder<T>
+    {
+        PregeneratedMethodBindingBuilder(Map<SignatureKey,InterceptorChain> methodMap) {
+            super(methodMap);
+        }
+
+        /** {@inheritDoc} */
+        public T create() throws GenerationException {
+            return new PregeneratedInterceptorCreator(getMethodMap()).create();
+        }
+
+        /** {@inheritDoc} */
+        public InterceptorHandle<T> createHandle() throws GenerationException {
+            return new PregeneratedInterceptorCreator(getMethodMap()).createHandle();
+        }
+
+        /** {@inheritDoc} */
+        public MethodBindingBuilder<T> using(Method method, MethodInterceptor... interceptors) {
+            bind(method, new InterceptorChain(interceptors));
+            return this;
+        }
+    }
+
+    /**
+     * Pregenerated implementation of {@link InterceptorBindingBuilder}.
+     */
+    private class PregeneratedInterceptorBindingBuilder extends AbstractBindingBuilder implements InterceptorBindingBuilder<T>
+    {
+        /** {@inheritDoc} */
+        public InterceptorCreator<T> using(MethodFilter filter, MethodInterceptor... interceptors) {
+            InterceptorChain chain = new InterceptorChain(interceptors);
+            for(Method m : interfaceClass.getMethods()) {
+               if(!Modifier.isStatic(m.getModifiers()) && filter.accept(m))
+                  bind(m, chain);
+            }
+            return new PregeneratedInterceptorCreator(getMethodMap());
+        }
+
+        /** {@inheritDoc} */
+        public InterceptorCreator<T> using(MethodFilter filter, InterceptorFactory factory) {
+            for(Method m : interfaceClass.getMethods()) {
+               if(!Modifier.isStatic(m.getModifiers()) && filter.accept(m))
+                  bind(m, InterceptorChain.forMethod(factory, m));
+            }
+            return new PregeneratedInterceptorCreator(getMethodMap());
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("unchecked")
+        public InterceptorCreator<T> using(Class<? extends Annotation> methodMarker, MethodInterceptor... interceptors) {
+            InterceptorChain chain = new InterceptorChain(interceptors);
+            for(Method m : new InheritableMethodExtractor((Class<T>)target.getClass(),interfaceClass)
+                    .getMethods(AnnotationFilter.forAnnotation(methodMarker))) {
+                bind(m, chain);
+            }
+            return new PregeneratedInterceptorCreator(getMethodMap());
+        }
+
+        /** {@inheritDoc} */
+        public MethodBindingBuilder<T> using(Method method, MethodInterceptor... interceptors) {
+            bind(method, new InterceptorChain(interceptors));
+            return new PregeneratedMethodBindingBuilder(getMethodMap());
+        }
+    }
+}
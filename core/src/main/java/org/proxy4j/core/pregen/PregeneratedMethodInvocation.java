@@ -0,0 +1,69 @@
+package org.proxy4j.core.pregen;
+
+import org.proxy4j.core.ChainedMethodInvocation;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+
+/**
+ * Method invocation created by pregenerated interceptor proxies, which also serves as
+ * the cursor of an interceptor chain. The target is called directly through the
+ * generated {@link PregeneratedProxies}.
+ * @since 1.2.0
+ */
+public class PregeneratedMethodInvocation<T> extends ChainedMethodInvocation
+{
+    private final PregeneratedProxies<T> proxies;
+    private final T target;
+    private final int index;
+    private final Object[] args;
+
+    /**
+     * Creates the invocation of an intercepted method.
+     * @param proxies The pregenerated proxies of the proxied interface
+     * @param target The target
+     * @param index The index of the invoked method
+     * @param args The arguments
+     */
+    public PregeneratedMethodInvocation(PregeneratedProxies<T> proxies, T target, int index, Object[] args) {
+        this.proxies = proxies;
+        this.target = target;
+        this.index = index;
+        this.args = args;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Method getMethod() {
+        return proxies.getMethod(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object[] getArguments() {
+        return args;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected Object invokeTarget() throws Throwable {
+        return proxies.invoke(index, target, args);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object getThis() {
+        return target;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public AccessibleObject getStaticPart() {
+        return proxies.getMethod(index);
+    }
+}
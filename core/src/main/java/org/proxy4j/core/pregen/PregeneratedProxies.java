@@ -0,0 +1,124 @@
+package org.proxy4j.core.pregen;
+
+import org.proxy4j.core.InterceptorChain;
+import org.proxy4j.core.ProxyHandler;
+import org.proxy4j.core.reflect.MethodInvoker;
+
+import javax.inject.Provider;
+import java.lang.reflect.Method;
+
+/**
+ * The proxy classes generated at compile time for an interface annotated with {@link GenerateProxies}.
+ * The annotation processor emits a subclass named after the interface with the {@link #CLASS_SUFFIX}
+ * in the same package, which a {@link PregeneratedProxyFactory} loads instead of generating proxy
+ * classes at runtime.
+ * <p>Proxied methods are indexed in the order of the methods passed to the constructor: the public
+ * {@code Object} methods {@code equals}, {@code hashCode} and {@code toString}, followed by the
+ * methods of the interface.</p>
+ * @param <T> The proxied interface
+ * @since 1.2.0
+ */
+public abstract class PregeneratedProxies<T>
+{
+    /** The suffix appended to the binary name of the interface to name its generated subclass. */
+    public static final String CLASS_SUFFIX = "$$Proxies";
+
+    /** Shared argument array for proxied methods without parameters. */
+    protected static final Object[] NO_ARGS = MethodInvoker.NO_ARGS;
+
+    private final Class<T> proxyInterface;
+    private final Method[] methods;
+
+    /**
+     * Constructor takes the proxied interface and the proxied methods in index order.
+     * @param proxyInterface The proxied interface
+     * @param methods The proxied methods
+     */
+    protected PregeneratedProxies(Class<T> proxyInterface, Method... methods) {
+        this.proxyInterface = proxyInterface;
+        this.methods = methods;
+    }
+
+    /**
+     * Returns the proxied interface.
+     * @return The proxied interface
+     */
+    public Class<T> getProxyInterface() {
+        return proxyInterface;
+    }
+
+    /**
+     * Creates a virtual proxy, which calls the target returned by the provider.
+     * @param provider The provider of the target
+     * @return The proxy
+     */
+    public abstract T createVirtualProxy(Provider<T> provider);
+
+    /**
+     * Creates a proxy which passes every call to the handler.
+     * @param handler The proxy handler
+     * @return The proxy
+     */
+    public abstract T createHandlerProxy(ProxyHandler<T> handler);
+
+    /**
+     * Creates an interceptor proxy. A method whose chain is null calls the target directly.
+     * @param target The target
+     * @param chains The interceptor chains, indexed like the proxied methods
+     * @return The proxy
+     */
+    public abstract T createInterceptorProxy(T target, InterceptorChain[] chains);
+
+    /**
+     * Calls a proxied method on the target.
+     * @param index The index of the proxied method
+     * @param target The target
+     * @param args The arguments
+     * @return The return value, boxed if primitive, or null if the method returns {@code void}
+     * @throws Throwable If thrown by the method
+     */
+    protected abstract Object invoke(int index, T target, Object[] args) throws Throwable;
+
+    /**
+     * Returns the public method of the given type with the given signature.
+     * @param type The type
+     * @param name The method name
+     * @param parameterTypes The parameter types
+     * @return The method
+     * @throws IllegalStateException If the type has no such method, i.e. the generated
+     * class is out of date
+     */
+    protected static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Pregenerated proxies are out of date for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Throws the given exception, even if it is a checked exception the calling method does not declare,
+     * as the other proxy implementations do. The return type lets the call be used in a {@code throw}
+     * statement.
+     * @param t The exception
+     * @return Never returns
+     */
+    protected static RuntimeException rethrow(Throwable t) {
+        throw PregeneratedProxies.<RuntimeException>sneakyThrow(t);
+    }
+
+    //returns the proxied method with the given index
+    Method getMethod(int index) {
+        return methods[index];
+    }
+
+    //returns the proxied methods in index order, which must not be modified
+    Method[] getProxiedMethods() {
+        return methods;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E sneakyThrow(Throwable t) throws E {
+        throw (E) t;
+    }
+}
@@ -0,0 +1,134 @@
+package org.proxy4j.core.pregen;
+
+import org.proxy4j.core.BaseProxyFactory;
+import org.proxy4j.core.GenerationException;
+import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.ProxyHandler;
+import org.proxy4j.core.build.InterceptorBuilder;
+import org.proxy4j.core.jdk.JdkProxyFactory;
+
+import javax.inject.Provider;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ProxyFactory} implementation that creates proxies from the classes generated at compile
+ * time for interfaces annotated with {@link GenerateProxies}, so creating a proxy costs a constructor
+ * call and no class is generated at runtime. Proxies of types without pregenerated classes, and handler
+ * proxies of more than one interface, are created by a fallback factory.
+ * <p>The generated classes are found by name with {@link Class#forName(String, boolean, ClassLoader)}
+ * on the class loader of the interface, so a GraalVM native image needs the reflection configuration
+ * that the annotation processor writes next to them.</p>
+ * @since 1.2.0
+ */
+public class PregeneratedProxyFactory extends BaseProxyFactory
+{
+    private static final ClassValue<Optional<PregeneratedProxies<?>>> pregenerated = new ClassValue<>() {
+        @Override protected Optional<PregeneratedProxies<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(loadProxies(type));
+        }
+    };
+
+    private final ProxyFactory fallback;
+    private final LongAdder pregeneratedCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+
+    /**
+     * Creates a factory that falls back to a {@link JdkProxyFactory}.
+     */
+    public PregeneratedProxyFactory() {
+        this(new JdkProxyFactory());
+    }
+
+    /**
+     * Creates a factory that falls back to the given factory for types without
+     * pregenerated proxy classes.
+     * @param fallback The fallback factory
+     */
+    public PregeneratedProxyFactory(ProxyFactory fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> T createProxy(Class<T> proxyType, Provider<T> provider) throws GenerationException {
+        PregeneratedProxies<T> proxies = getProxies(proxyType);
+        return proxies==null ? fallback.createProxy(proxyType, provider) : virtualProxyCreated(proxies.createVirtualProxy(provider), provider);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> T createProxy(Class<T> proxyType, ProxyHandler<T> handler) throws GenerationException {
+        PregeneratedProxies<T> proxies = getProxies(proxyType);
+        return proxies==null ? fallback.createProxy(proxyType, handler) : proxies.createHandlerProxy(handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public Object createProxy(Class<?>[] proxyInterfaces, ProxyHandler<?> handler) throws GenerationException {
+        if(proxyInterfaces.length==1)
+            return createProxy((Class<Object>) proxyInterfaces[0], (ProxyHandler<Object>) handler);
+        fallbackCount.increment();
+        return fallback.createProxy(proxyInterfaces, handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> InterceptorBuilder<T> buildInterceptor(Class<T> proxyClass) {
+        PregeneratedProxies<T> proxies = getProxies(proxyClass);
+        return proxies==null ? fallback.buildInterceptor(proxyClass) : new PregeneratedInterceptorBuilder<>(proxies);
+    }
+
+    /**
+     * Returns the number of proxies (or interceptor builders) created from pregenerated classes.
+     * @return The pregenerated count
+     */
+    public long getPregeneratedCount() {
+        return pregeneratedCount.sum();
+    }
+
+    /**
+     * Returns the number of proxies (or interceptor builders) created by the fallback factory.
+     * A non-zero count shows which startup paths still generate proxy classes at runtime.
+     * @return The fallback count
+     */
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    //returns the pregenerated proxies for the type, or null if there are none
+    @SuppressWarnings("unchecked")
+    private <T> PregeneratedProxies<T> getProxies(Class<T> type) {
+        PregeneratedProxies<T> proxies = (PregeneratedProxies<T>) pregenerated.get(type).orElse(null);
+        if(proxies==null)
+            fallbackCount.increment();
+        else
+            pregeneratedCount.increment();
+        return proxies;
+    }
+
+    //loads the generated subclass of PregeneratedProxies from the class loader of the type
+    private static PregeneratedProxies<?> loadProxies(Class<?> type) {
+        if(!type.isInterface())
+            return null;
+        Class<?> proxiesClass;
+        try {
+            proxiesClass = Class.forName(type.getName() + PregeneratedProxies.CLASS_SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        try {
+            PregeneratedProxies<?> proxies = (PregeneratedProxies<?>) proxiesClass.getConstructor().newInstance();
+            if(proxies.getProxyInterface()!=type)
+                throw new GenerationException(proxiesClass.getName() + " does not proxy " + type.getName());
+            return proxies;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new GenerationException("Error loading pregenerated proxies for " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.proxy4j.core.pregen;
+
+import org.proxy4j.core.ProxyInvocation;
+
+import java.lang.reflect.Method;
+
+/**
+ * Proxy invocation created by pregenerated handler proxies, which calls the target
+ * directly through the generated {@link PregeneratedProxies}.
+ * @since 1.2.0
+ */
+public class PregeneratedProxyInvocation<T> implements ProxyInvocation<T>
+{
+    private final PregeneratedProxies<T> proxies;
+    private final T proxy;
+    private final int index;
+    private final Object[] args;
+
+    /**
+     * Creates the invocation of a method on the proxy.
+     * @param proxies The pregenerated proxies of the proxied interface
+     * @param proxy The proxy
+     * @param index The index of the invoked method
+     * @param args The arguments
+     */
+    public PregeneratedProxyInvocation(PregeneratedProxies<T> proxies, T proxy, int index, Object[] args) {
+        this.proxies = proxies;
+        this.proxy = proxy;
+        this.index = index;
+        this.args = args;
+    }
+
+    public Object invoke(Object target) throws Throwable {
+        return proxies.invoke(index, proxies.getProxyInterface().cast(target), args);
+    }
+
+    public Method getMethod() {
+        return proxies.getMethod(index);
+    }
+
+    public T getProxy() {
+        return proxy;
+    }
+
+    public Object[] getArguments() {
+        return args;
+    }
+}
@@ -6,13 +6,31 @@ import java.lang.reflect.Method;
 import java.util.*;
 
 /**
- * Extracts method information from the given type.
+ * Extracts method information from the given type. The methods of each type are extracted
+ * once and shared by all extractors of the type, so creating an extractor is cheap. Subclasses
+ * that override {@link #isProxyable(Method)} extract the methods themselves on every call instead.
  * @author Brennan Spies
  * @since 1.0.0
  */
 public class BasicMethodExtractor extends UnitypeMethodExtractor
 {
-    private final SortedSet<Method> methodSet;
+    //whether an extractor class overrides isProxyable, and so cannot use the shared tables
+    private static final ClassValue<Boolean> customized = new ClassValue<>() {
+        @Override protected Boolean computeValue(Class<?> type) {
+            for(Class<?> current = type; current != BasicMethodExtractor.class; current = current.getSuperclass()) {
+                try {
+                    current.getDeclaredMethod("isProxyable", Method.class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    //not declared here
+                }
+            }
+            return false;
+        }
+    };
+
+    //null if isProxyable is overridden
+    private final MethodTables tables;
 
     /**
      * Creates a {@code BasicMethodExtractor} with the primary type
@@ -20,27 +38,16 @@ public class BasicMethodExtractor extends UnitypeMethodExtractor
      */
     public BasicMethodExtractor(Class<?> owningType) {
        super(owningType);
-       methodSet = new TreeSet<>(SignatureKey.methodComparator());
-       buildMap();
-    }
-
-    private void buildMap() {
-        for (Class<?> current = getOwningType(); current != null; current = current.getSuperclass()) {
-            if (!isIncludeObjectMethods() && current.getName().equals("java.lang.Object"))
-                break;
-            for (Method m : current.getDeclaredMethods()) {
-                if(isProxyable(m)) {
-                    methodSet.add(m);
-                }
-            }
-        }
+       tables = customized.get(getClass()) ? null : MethodTables.forType(owningType);
     }
 
     /**
      * {@inheritDoc}
      */
     public Collection<Method> getProxyableMethods() {
-        return methodSet;
+        if(tables==null)
+            return extractProxyableMethods();
+        return tables.getProxyableMethods(isIncludeObjectMethods());
     }
 
     /**
@@ -48,7 +55,7 @@ public class BasicMethodExtractor extends UnitypeMethodExtractor
      */
     public Collection<Method> getPublicMethods() {
         Collection<Method> publicMethods = new ArrayList<>();
-        for(Method m : methodSet) {
+        for(Method m : getProxyableMethods()) {
           if(Visibility.getVisibility(m)==Visibility.PUBLIC)
             publicMethods.add(m);
         }
@@ -59,8 +66,17 @@ public class BasicMethodExtractor extends UnitypeMethodExtractor
      * {@inheritDoc}
      */
     public Collection<Method> getMethods(MethodFilter filter) {
-        Collection<Method> results = new ArrayList<>();
-        for(Method m : methodSet) {
+        if(tables==null)
+            return filter(getProxyableMethods(), filter);
+        boolean includeObjectMethods = isIncludeObjectMethods();
+        return tables.getFilteredMethods(includeObjectMethods, filter,
+                () -> filter(tables.getProxyableMethods(includeObjectMethods), filter));
+    }
+
+    //the methods that pass the filter
+    private static List<Method> filter(Collection<Method> methods, MethodFilter filter) {
+        List<Method> results = new ArrayList<>();
+        for(Method m : methods) {
             if(filter.accept(m)) {
                 results.add(m);
             }
@@ -68,19 +84,29 @@ public class BasicMethodExtractor extends UnitypeMethodExtractor
         return results;
     }
 
+    //the proxyable methods as selected by an overridden isProxyable, sorted like the shared tables
+    private Collection<Method> extractProxyableMethods() {
+        SortedSet<Method> methods = new TreeSet<>(SignatureKey.methodComparator());
+        boolean includeObjectMethods = isIncludeObjectMethods();
+        for(Class<?> current = getOwningType(); current != null; current = current.getSuperclass()) {
+            if(!includeObjectMethods && current == Object.class)
+                break;
+            for(Method m : current.getDeclaredMethods()) {
+                if(isProxyable(m)) {
+                    methods.add(m);
+                }
+            }
+        }
+        return new ArrayList<>(methods);
+    }
+
     /**
-     * Determines if the given method is proxyable.
+     * Determines if the given method is proxyable. Overriding this method disables the
+     * shared method tables for the subclass.
      * @param method The method to test
      * @return True if method is proxyable
      */
     protected boolean isProxyable(Method method) {
-       Visibility methodVisibility = Visibility.getVisibility(method);
-       EnumSet<Modifier> modifiers = Modifier.getModifiers(method);
-       if(methodVisibility==Visibility.PRIVATE || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC))
-           return false;
-       else
-           return methodVisibility == Visibility.PUBLIC ||
-               methodVisibility == Visibility.PROTECTED ||
-               getPackageName(method.getDeclaringClass()).equals(getOwningPackageName());
+       return MethodTables.isProxyable(method, getOwningPackageName());
     }
 }
@@ -14,7 +14,7 @@ import java.util.*;
 public class InheritableMethodExtractor extends UnitypeMethodExtractor
 {
     private final Class<?> superType;
-    private final Map<Method,Method> methodPairMap;
+    private final MethodTables tables;
 
     /**
      * Creates a {@code MethodExtractor} with a super type that acts as an additional
@@ -27,35 +27,19 @@ public class InheritableMethodExtractor extends UnitypeMethodExtractor
     public <T> InheritableMethodExtractor(Class<T> owningType, Class<? super T> superType) {
        super(owningType);
        this.superType = superType;
-       this.methodPairMap = new TreeMap<>(SignatureKey.methodComparator());
-       buildMethodMap();
+       this.tables = MethodTables.forType(owningType);
     }
 
-    //builds the method map
-    private void buildMethodMap() {
-        //get all supertype methods
-        Map<SignatureKey,Method> superTypeMap = new HashMap<>();
-        for(Method m : superType.getMethods()) {
-            superTypeMap.put(new SignatureKey(m), m);
-        }
-       //traverse the owningType and supertypes/interfaces to build the method hierarchy
-       for(Class<?> current = getOwningType(); current!=null; current=current.getSuperclass()) {
-           if(!isIncludeObjectMethods() && current.getName().equals("java.lang.Object"))
-               break;
-           for(Method m : current.getDeclaredMethods()) {
-               if(!methodPairMap.containsKey(m)) {
-                  SignatureKey s = new SignatureKey(m);
-                  methodPairMap.put(m, superTypeMap.get(s));
-               }
-           }
-       }
+    //pairs the methods of the owning type with the super type methods of the same signature
+    private Map<Method,Method> getMethodPairMap() {
+        return tables.getInheritedMethods(superType, isIncludeObjectMethods());
     }
 
     /**
      * {@inheritDoc}
      */
     public Collection<Method> getProxyableMethods() {
-        return methodPairMap.keySet();
+        return getMethodPairMap().keySet();
     }
 
     /**
@@ -63,7 +47,7 @@ public class InheritableMethodExtractor extends UnitypeMethodExtractor
      */
     public Collection<Method> getPublicMethods() {
         Collection<Method> publicMethods = new ArrayList<>();
-        for(Method m : methodPairMap.keySet()) {
+        for(Method m : getMethodPairMap().keySet()) {
             if(Visibility.getVisibility(m)==Visibility.PUBLIC)
                 publicMethods.add(m);
         }
@@ -76,13 +60,16 @@ public class InheritableMethodExtractor extends UnitypeMethodExtractor
      * @return The filtered methods
      */
     public Collection<Method> getMethods(MethodFilter filter) {
-        Collection<Method> methods = new ArrayList<>();
-        for(Method m : methodPairMap.keySet()) {
-           Method other;
-           if(filter.accept(m) || ((other=methodPairMap.get(m))!=null && filter.accept(other)))
-               methods.add(m);
-        }
-        return methods;
+        Map<Method,Method> methodPairMap = getMethodPairMap();
+        return tables.getFilteredMethods(Arrays.asList(superType, isIncludeObjectMethods()), filter, () -> {
+            List<Method> methods = new ArrayList<>();
+            for(Map.Entry<Method,Method> pair : methodPairMap.entrySet()) {
+               Method other;
+               if(filter.accept(pair.getKey()) || ((other=pair.getValue())!=null && filter.accept(other)))
+                   methods.add(pair.getKey());
+            }
+            return methods;
+        });
     }
 
     /**
@@ -98,15 +85,11 @@ public class InheritableMethodExtractor extends UnitypeMethodExtractor
      * Determines if the given method is proxyable.
      * @param method The method to test
      * @return True if method is proxyable
+     * @deprecated Not consulted by this extractor, which pairs all methods declared by the owning type
+     *             and its superclasses; overriding it has no effect
      */
+    @Deprecated
     protected boolean isProxyable(Method method) {
-       Visibility methodVisibility = Visibility.getVisibility(method);
-       EnumSet<Modifier> modifiers = Modifier.getModifiers(method);
-       if(methodVisibility==Visibility.PRIVATE || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC))
-           return false;
-       else
-           return methodVisibility == Visibility.PUBLIC ||
-               methodVisibility == Visibility.PROTECTED ||
-               getPackageName(method.getDeclaringClass()).equals(getOwningPackageName());
+       return MethodTables.isProxyable(method, getOwningPackageName());
     }
 }
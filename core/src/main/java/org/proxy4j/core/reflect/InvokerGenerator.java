@@ -0,0 +1,166 @@
+package org.proxy4j.core.reflect;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates a {@link MethodInvoker} class for a single method, which unpacks the argument array
+ * and calls the method directly, so the JIT compiler can inline the method into the invoker.
+ * Invokers are defined in the package of the declaring class, so they are unloaded with it; methods of
+ * classes in named modules, such as those of the JDK, or in loaders that cannot see {@link MethodInvoker},
+ * are left to the other invokers.
+ * @since 1.2.0
+ */
+final class InvokerGenerator
+{
+    private static final String INVOKER = Type.getInternalName(MethodInvoker.class);
+    private static final String INVOKE_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class),
+            Type.getType(Object.class), Type.getType(Object[].class));
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private InvokerGenerator() {}
+
+    /**
+     * Generates and instantiates the invoker of the given method.
+     * @param method The method
+     * @return The invoker, or null if the method cannot be called from a generated class
+     */
+    static MethodInvoker generate(Method method) {
+        Lookup lookup = getLookup(method);
+        if(lookup==null)
+            return null;
+        String className = lookup.lookupClass().getPackageName().replace('.', '/') + "/"
+                + method.getDeclaringClass().getSimpleName() + "$$Invoker$" + sequence.incrementAndGet();
+        try {
+            Class<?> invokerClass = lookup.defineClass(generateBytes(className, method));
+            return (MethodInvoker) invokerClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    //a lookup in the package to define the invoker in, or null if the method is not accessible from there
+    private static Lookup getLookup(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if(Modifier.isPrivate(method.getModifiers()))
+            return null;
+        //a named module does not read the module of MethodInvoker, and its loader may not see it
+        ClassLoader loader = declaringClass.getClassLoader();
+        if(loader==null || declaringClass.getModule().isNamed() || !MethodInvoker.isVisible(MethodInvoker.class, loader)
+                || !MethodInvoker.isVisible(declaringClass, loader))
+            return null;
+        for(Class<?> type : getSignatureTypes(method)) {
+            if(!Modifier.isPublic(type.getModifiers()) && (type.getClassLoader()!=loader
+                    || !type.getPackageName().equals(declaringClass.getPackageName())))
+                return null;
+        }
+        try {
+            return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    //the parameter and return types whose access the invoker needs
+    private static Class<?>[] getSignatureTypes(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?>[] types = new Class<?>[parameterTypes.length + 1];
+        for(int i=0; i<parameterTypes.length; i++) {
+            types[i] = getElementType(parameterTypes[i]);
+        }
+        types[parameterTypes.length] = getElementType(method.getReturnType());
+        return types;
+    }
+
+    private static Class<?> getElementType(Class<?> type) {
+        while(type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type;
+    }
+
+    //generates an invoker class that casts the target and arguments and calls the method
+    private static byte[] generateBytes(String className, Method method) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V11, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, className, null, INVOKER, null);
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, INVOKER, "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null, new String[] {"java/lang/Throwable"});
+        mv.visitCode();
+        Class<?> declaringClass = method.getDeclaringClass();
+        String owner = Type.getInternalName(declaringClass);
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if(!isStatic) {
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, owner);
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for(int i=0; i<parameterTypes.length; i++) {
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(AALOAD);
+            unbox(mv, parameterTypes[i]);
+        }
+        boolean isInterface = declaringClass.isInterface();
+        int opcode = isStatic ? INVOKESTATIC : isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL;
+        mv.visitMethodInsn(opcode, owner, method.getName(), Type.getMethodDescriptor(method), isInterface);
+        box(mv, method.getReturnType());
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    //converts the argument on the stack to the parameter type
+    private static void unbox(MethodVisitor mv, Class<?> type) {
+        if(!type.isPrimitive()) {
+            if(type!=Object.class)
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+            return;
+        }
+        Type primitive = Type.getType(type);
+        String wrapper = getWrapper(primitive);
+        mv.visitTypeInsn(CHECKCAST, wrapper);
+        mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getName() + "Value", "()" + primitive.getDescriptor(), false);
+    }
+
+    //converts the return value on the stack to an object, or pushes null for void
+    private static void box(MethodVisitor mv, Class<?> type) {
+        if(type==void.class) {
+            mv.visitInsn(ACONST_NULL);
+        } else if(type.isPrimitive()) {
+            Type primitive = Type.getType(type);
+            String wrapper = getWrapper(primitive);
+            mv.visitMethodInsn(INVOKESTATIC, wrapper, "valueOf", "(" + primitive.getDescriptor() + ")L" + wrapper + ";", false);
+        }
+    }
+
+    private static String getWrapper(Type primitive) {
+        switch(primitive.getSort()) {
+            case Type.BOOLEAN: return "java/lang/Boolean";
+            case Type.BYTE: return "java/lang/Byte";
+            case Type.CHAR: return "java/lang/Character";
+            case Type.SHORT: return "java/lang/Short";
+            case Type.INT: return "java/lang/Integer";
+            case Type.LONG: return "java/lang/Long";
+            case Type.FLOAT: return "java/lang/Float";
+            default: return "java/lang/Double";
+        }
+    }
+}
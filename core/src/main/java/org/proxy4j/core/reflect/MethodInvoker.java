@@ -0,0 +1,163 @@
+package org.proxy4j.core.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Invokes a method on a target object with an array of arguments, like {@link Method#invoke(Object, Object...)},
+ * but through a class generated for the method that calls it directly, so the JIT compiler can inline the
+ * method into its invoker. Invokers are cached per method in a table held by the declaring class, so they
+ * go away with the class; callers on hot paths should hold on to the invoker rather than look it up per call.
+ * Methods that cannot be called from a generated class, such as those of the JDK, or all methods if ASM is
+ * not on the class path, are invoked through a {@link MethodHandle}, or reflectively if they are not
+ * accessible through a public lookup.
+ * <p>Invokers of methods declared by classes whose loader cannot see this class are never held by the
+ * declaring class, as they would keep the loader of this class reachable for as long as the declaring
+ * class is: those of the JDK are cached in a table of this class, and all others are not cached.</p>
+ * <p>Unlike {@code Method.invoke}, an exception thrown by the method is thrown as is, rather than wrapped
+ * in an {@link InvocationTargetException}.</p>
+ * @since 1.2.0
+ */
+public abstract class MethodInvoker
+{
+    /** Shared argument array for invocations without arguments. */
+    public static final Object[] NO_ARGS = new Object[0];
+
+    //invoker classes are generated with ASM, which is an optional dependency
+    private static final boolean generateInvokers = isAsmAvailable();
+    //tables of classes whose loader can see this class, or null for the others
+    private static final ClassValue<ConcurrentMap<Method, MethodInvoker>> invokers = new ClassValue<>() {
+        @Override protected ConcurrentMap<Method, MethodInvoker> computeValue(Class<?> type) {
+            return isVisible(MethodInvoker.class, type.getClassLoader()) ? new ConcurrentHashMap<>() : null;
+        }
+    };
+    //the JDK classes are never unloaded, so this table does not keep them from being unloaded
+    private static final ConcurrentMap<Method, MethodInvoker> jdkInvokers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the invoker for the given method.
+     * @param method The method
+     * @return The invoker
+     */
+    public static MethodInvoker forMethod(Method method) {
+        ConcurrentMap<Method, MethodInvoker> table = getTable(method.getDeclaringClass());
+        if(table==null)
+            return create(method);
+        MethodInvoker invoker = table.get(method);
+        if(invoker==null)
+            invoker = table.computeIfAbsent(method, MethodInvoker::create);
+        return invoker;
+    }
+
+    /**
+     * Invokes the given method on the target with the given arguments, using its cached invoker.
+     * @param method The method
+     * @param target The target object, ignored for static methods
+     * @param args The arguments, which may be null if the method has no parameters
+     * @return The return value, or null if the method returns {@code void}
+     * @throws Throwable If thrown by the method
+     */
+    public static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        return forMethod(method).invoke(target, args);
+    }
+
+    /**
+     * Invokes the method on the target with the given arguments.
+     * @param target The target object, ignored for static methods
+     * @param args The arguments, which may be null if the method has no parameters
+     * @return The return value, or null if the method returns {@code void}
+     * @throws Throwable If thrown by the method
+     */
+    public abstract Object invoke(Object target, Object[] args) throws Throwable;
+
+    //creates the invoker for the method, falling back to a handle, or reflection if it has no accessible handle
+    private static MethodInvoker create(Method method) {
+        MethodInvoker generated = generateInvokers ? InvokerGenerator.generate(method) : null;
+        if(generated!=null)
+            return generated;
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            return new ReflectiveInvoker(method);
+        }
+        if(Modifier.isStatic(method.getModifiers()))
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        int parameterCount = method.getParameterCount();
+        return new HandleInvoker(handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount));
+    }
+
+    //the table caching the invokers of the methods of the class, or null if they are not cached
+    private static ConcurrentMap<Method, MethodInvoker> getTable(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if(loader==null || loader==ClassLoader.getPlatformClassLoader())
+            return jdkInvokers;
+        return invokers.get(type);
+    }
+
+    /**
+     * Returns true if the class can be resolved by name from the loader, which excludes hidden classes.
+     * @param type The class
+     * @param loader The class loader
+     * @return True if the loader resolves the name of the class to the class
+     */
+    static boolean isVisible(Class<?> type, ClassLoader loader) {
+        try {
+            return Class.forName(type.getName(), false, loader)==type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean isAsmAvailable() {
+        try {
+            Class.forName("org.objectweb.asm.ClassWriter", false, MethodInvoker.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Invokes a method through a spreading {@code MethodHandle}.
+     */
+    private static final class HandleInvoker extends MethodInvoker
+    {
+        private final MethodHandle handle;
+
+        HandleInvoker(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            return handle.invokeExact(target, args);
+        }
+    }
+
+    /**
+     * Invokes a method reflectively.
+     */
+    private static final class ReflectiveInvoker extends MethodInvoker
+    {
+        private final Method method;
+
+        ReflectiveInvoker(Method method) {
+            this.method = method;
+        }
+
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.proxy4j.core.reflect;
+
+import org.proxy4j.core.filter.MethodFilter;
+import org.proxy4j.core.filter.StatelessFilter;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * The methods of a class as the method extractors see them, sorted by signature and computed once
+ * per class. Tables are held in a {@link ClassValue}, so they are unloaded with their class, and are
+ * immutable, so they can be shared by all extractors of the class. The methods selected by a
+ * {@link StatelessFilter} are remembered as well.
+ * @since 1.2.0
+ */
+final class MethodTables
+{
+    private static final ClassValue<MethodTables> tables = new ClassValue<>() {
+        @Override protected MethodTables computeValue(Class<?> type) {
+            return new MethodTables(type);
+        }
+    };
+
+    private final Class<?> type;
+    //keyed by whether Object methods are included
+    private final ConcurrentMap<Boolean,List<Method>> proxyableMethods = new ConcurrentHashMap<>();
+    //keyed by super type and whether Object methods are included
+    private final ConcurrentMap<List<Object>,Map<Method,Method>> inheritedMethods = new ConcurrentHashMap<>();
+    private volatile List<Method> publicMethods;
+    //keyed by table and filter
+    private final ConcurrentMap<List<Object>,List<Method>> filteredMethods = new ConcurrentHashMap<>();
+
+    private MethodTables(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the method tables of the given class.
+     * @param type The class
+     * @return The method tables
+     */
+    static MethodTables forType(Class<?> type) {
+        return tables.get(type);
+    }
+
+    /**
+     * Returns the methods of the class and its superclasses that can be proxied, as extracted
+     * by a {@link BasicMethodExtractor}.
+     * @param includeObjectMethods True if {@code Object} methods are included
+     * @return The proxyable methods, sorted by signature
+     */
+    List<Method> getProxyableMethods(boolean includeObjectMethods) {
+        return proxyableMethods.computeIfAbsent(includeObjectMethods, include -> {
+            SortedSet<Method> methods = new TreeSet<>(SignatureKey.methodComparator());
+            String packageName = type.getPackage().getName();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                if (!include && current == Object.class)
+                    break;
+                for (Method m : current.getDeclaredMethods()) {
+                    if(isProxyable(m, packageName)) {
+                        methods.add(m);
+                    }
+                }
+            }
+            return Collections.unmodifiableList(new ArrayList<>(methods));
+        });
+    }
+
+    /**
+     * Returns the methods of the class and its superclasses, each paired with the public method of the
+     * super type with the same signature, if any, as extracted by an {@link InheritableMethodExtractor}.
+     * @param superType The super type
+     * @param includeObjectMethods True if {@code Object} methods are included
+     * @return The method pairs, sorted by signature
+     */
+    Map<Method,Method> getInheritedMethods(Class<?> superType, boolean includeObjectMethods) {
+        return inheritedMethods.computeIfAbsent(Arrays.asList(superType, includeObjectMethods), key -> {
+            Map<SignatureKey,Method> superTypeMap = new HashMap<>();
+            for(Method m : superType.getMethods()) {
+                superTypeMap.put(SignatureKey.of(m), m);
+            }
+            Map<Method,Method> methodPairMap = new TreeMap<>(SignatureKey.methodComparator());
+            for(Class<?> current = type; current!=null; current=current.getSuperclass()) {
+                if(!includeObjectMethods && current == Object.class)
+                    break;
+                for(Method m : current.getDeclaredMethods()) {
+                    if(!methodPairMap.containsKey(m))
+                        methodPairMap.put(m, superTypeMap.get(SignatureKey.of(m)));
+                }
+            }
+            return Collections.unmodifiableMap(methodPairMap);
+        });
+    }
+
+    /**
+     * Returns the public methods of the class, including inherited ones.
+     * @return The public methods, sorted by signature
+     */
+    List<Method> getPublicMethods() {
+        //racing calls compute equal lists
+        List<Method> methods = publicMethods;
+        if(methods==null) {
+            SortedSet<Method> sorted = new TreeSet<>(SignatureKey.methodComparator());
+            sorted.addAll(Arrays.asList(type.getMethods()));
+            publicMethods = methods = Collections.unmodifiableList(new ArrayList<>(sorted));
+        }
+        return methods;
+    }
+
+    /**
+     * Returns the methods of a table that pass the given filter. The result is remembered if
+     * the filter is a {@link StatelessFilter}.
+     * @param table Identifies the table
+     * @param filter The method filter
+     * @param methods Computes the filtered methods
+     * @return The filtered methods
+     */
+    Collection<Method> getFilteredMethods(Object table, MethodFilter filter, Supplier<List<Method>> methods) {
+        if(!(filter instanceof StatelessFilter))
+            return methods.get();
+        return filteredMethods.computeIfAbsent(Arrays.asList(table, filter),
+                key -> Collections.unmodifiableList(methods.get()));
+    }
+
+    /**
+     * Determines if the given method can be proxied by a subclass in the given package.
+     * @param method The method to test
+     * @param packageName The package of the proxied class
+     * @return True if method is proxyable
+     */
+    static boolean isProxyable(Method method, String packageName) {
+       Visibility methodVisibility = Visibility.getVisibility(method);
+       EnumSet<Modifier> modifiers = Modifier.getModifiers(method);
+       if(methodVisibility==Visibility.PRIVATE || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC))
+           return false;
+       else
+           return methodVisibility == Visibility.PUBLIC ||
+               methodVisibility == Visibility.PROTECTED ||
+               method.getDeclaringClass().getPackage().getName().equals(packageName);
+    }
+}
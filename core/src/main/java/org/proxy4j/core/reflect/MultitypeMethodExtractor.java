@@ -6,32 +6,47 @@ import java.lang.reflect.Method;
 import java.util.*;
 
 /**
- * Method extractor for multiple types.
+ * Method extractor for multiple types. The public methods of each type are extracted once
+ * and shared by all extractors of the type.
  * @author Brennan Spies
  * @since 1.0.0
  */
 public class MultitypeMethodExtractor extends BaseMethodExtractor   //TODO InterfaceMethodExtractor?
 {
-    private final SortedSet<Method> methodSet;
+    private final Class<?>[] types;
+    private final Collection<Method> methods;
 
     public MultitypeMethodExtractor(Class<?>... types) {
-      methodSet = new TreeSet<>(SignatureKey.methodComparator());
-      for(Class<?> type : types) {
-          methodSet.addAll(Arrays.asList(type.getMethods()));
+      this.types = types.clone();
+      if(types.length==1) {
+          methods = MethodTables.forType(types[0]).getPublicMethods();
+      } else {
+          SortedSet<Method> methodSet = new TreeSet<>(SignatureKey.methodComparator());
+          for(Class<?> type : types) {
+              methodSet.addAll(MethodTables.forType(type).getPublicMethods());
+          }
+          methods = Collections.unmodifiableSet(methodSet);
       }
     }
 
     public Collection<Method> getProxyableMethods() {
-        return methodSet;
+        return methods;
     }
 
     public Collection<Method> getPublicMethods() {
-        return methodSet;
+        return methods;
     }
 
     public Collection<Method> getMethods(MethodFilter filter) {
-        Collection<Method> filteredMethods = new ArrayList<>();
-        for(Method m : methodSet) {
+        //only the methods of a single type are kept with the type
+        if(types.length!=1)
+            return filter(filter);
+        return MethodTables.forType(types[0]).getFilteredMethods(MultitypeMethodExtractor.class, filter, () -> filter(filter));
+    }
+
+    private List<Method> filter(MethodFilter filter) {
+        List<Method> filteredMethods = new ArrayList<>();
+        for(Method m : methods) {
             if(filter.accept(m)) {
                 filteredMethods.add(m);
             }
@@ -3,17 +3,39 @@ package org.proxy4j.core.reflect;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Represents a method key for methods <i>within</i> the same class
- * hierarchy.
+ * hierarchy. The keys returned by {@link #of(Method)} are interned per method, so
+ * looking up, hashing and comparing the signatures of methods does not allocate.
  * @author Brennan Spies
  * @since 1.0.0
  */
 public class SignatureKey implements Comparable<SignatureKey>
 {
+    //the interned keys of the methods declared by each class
+    private static final ClassValue<ConcurrentMap<Method,SignatureKey>> interned = new ClassValue<>() {
+        @Override protected ConcurrentMap<Method,SignatureKey> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    //compares the name and parameter count directly, and only needs the interned keys for overloads of equal arity
+    private static final Comparator<Method> methodComparator = (m1, m2) -> {
+        int comparison = m1.getName().compareTo(m2.getName());
+        if(comparison==0) {
+            comparison = Integer.compare(m1.getParameterCount(), m2.getParameterCount());
+            if(comparison==0 && m1.getParameterCount()>0)
+                comparison = of(m1).compareTo(of(m2));
+        }
+        return comparison;
+    };
+
     private final String name;
     private final Class<?>[] parameterTypes;
+    private final String[] parameterNames;
+    private final int hash;
 
     /**                                  
      * Creates a {@code SignatureKey} from the method.
@@ -32,15 +54,34 @@ public class SignatureKey implements Comparable<SignatureKey>
     public SignatureKey(String name, Class<?>... parameterTypes) {
         this.name = name;
         this.parameterTypes = parameterTypes;
+        this.parameterNames = new String[parameterTypes.length];
+        for(int i=0; i<parameterTypes.length; i++) {
+            parameterNames[i] = parameterTypes[i].getName();
+        }
+        this.hash = 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+    }
+
+    /**
+     * Returns the signature of the given method, which is created once per method and
+     * shared by all callers.
+     * @param method The method
+     * @return The signature of the method
+     * @since 1.2.0
+     */
+    public static SignatureKey of(Method method) {
+        ConcurrentMap<Method,SignatureKey> keys = interned.get(method.getDeclaringClass());
+        SignatureKey key = keys.get(method);
+        return key!=null ? key : keys.computeIfAbsent(method, SignatureKey::new);
     }
 
     /**
      * Returns a {@link Comparator} that compares two methods
-     * on the basis of their signatures.
+     * on the basis of their signatures, in the same order as {@link #compareTo}.
+     * Comparing methods does not allocate.
      * @return The method comparator
      */
     public static Comparator<Method> methodComparator() {
-        return Comparator.comparing(SignatureKey::new);
+        return methodComparator;
     }
 
     /**
@@ -68,7 +109,7 @@ public class SignatureKey implements Comparable<SignatureKey>
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         SignatureKey signatureKey = (SignatureKey) o;
-        return name.equals(signatureKey.name) &&
+        return hash == signatureKey.hash && name.equals(signatureKey.name) &&
             Arrays.equals(parameterTypes, signatureKey.parameterTypes);
     }
 
@@ -77,9 +118,7 @@ public class SignatureKey implements Comparable<SignatureKey>
      * @return The hash code
      */
     @Override public int hashCode() {
-        int result = name.hashCode();
-        result = 31 * result + Arrays.hashCode(parameterTypes);
-        return result;
+        return hash;
     }
 
     /**
@@ -89,12 +128,14 @@ public class SignatureKey implements Comparable<SignatureKey>
      * @return 0 if equal, negative int if this is less than other, positive int if otherwise
      */
     public int compareTo(SignatureKey other) {
+        if(this == other)
+            return 0;
         int comparison = name.compareTo(other.name);
         if(comparison==0) {
-          comparison = Integer.compare(parameterTypes.length, other.parameterTypes.length);
+          comparison = Integer.compare(parameterNames.length, other.parameterNames.length);
           if(comparison==0) {
-             for(int i=0; i<parameterTypes.length; i++) {
-                 if((comparison=parameterTypes[i].getName().compareTo(other.parameterTypes[i].getName()))!=0)
+             for(int i=0; i<parameterNames.length; i++) {
+                 if((comparison=parameterNames[i].compareTo(other.parameterNames[i]))!=0)
                      break;
              }
           }
@@ -1,7 +1,6 @@
 package org.proxy4j.core.reflect;
 
 import java.lang.reflect.Method;
-import java.util.EnumSet;
 
 /**
  * Method extractor for single type.
@@ -42,18 +41,12 @@ public abstract class UnitypeMethodExtractor extends BaseMethodExtractor
     }
 
     /**
-     * Determines if the given method is proxyable.
+     * Determines if the given method is proxyable. Only consulted by extractors that say so,
+     * such as {@link BasicMethodExtractor}.
      * @param method The method to test
      * @return True if method is proxyable
      */
     protected boolean isProxyable(Method method) {
-       Visibility methodVisibility = Visibility.getVisibility(method);
-       EnumSet<Modifier> modifiers = Modifier.getModifiers(method);
-       if(methodVisibility==Visibility.PRIVATE || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC))
-           return false;
-       else
-           return methodVisibility == Visibility.PUBLIC ||
-               methodVisibility == Visibility.PROTECTED ||
-               getPackageName(method.getDeclaringClass()).equals(getOwningPackageName());
+       return MethodTables.isProxyable(method, getOwningPackageName());
     }
 }
@@ -0,0 +1,108 @@
+package org.proxy4j.core.trace;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+/**
+ * The ring buffer of trace events of one thread. Only the owning thread writes events; the
+ * arrays are allocated up front, and an event is published by a release store of the event
+ * count, so recording neither allocates nor locks. Once the buffer is full, new events
+ * overwrite the oldest ones.
+ * @since 1.2.0
+ */
+final class TraceBuffer
+{
+    private static final VarHandle COUNT;
+    static {
+        try {
+            COUNT = MethodHandles.lookup().findVarHandle(TraceBuffer.class, "count", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final WeakReference<Thread> thread;
+    private final String threadName;
+    private final int mask;
+    private final long[] times;
+    private final int[] methods;
+    private final byte[] kinds;
+    private final int[] details;
+    @SuppressWarnings("unused")
+    private long count;
+    //events before this count have been cleared; only written by other threads
+    private volatile long cleared;
+
+    /**
+     * Creates the buffer of the current thread.
+     * @param capacity The number of events kept, a power of two
+     */
+    TraceBuffer(int capacity) {
+        Thread current = Thread.currentThread();
+        thread = new WeakReference<>(current);
+        threadName = current.getName();
+        mask = capacity - 1;
+        times = new long[capacity];
+        methods = new int[capacity];
+        kinds = new byte[capacity];
+        details = new int[capacity];
+    }
+
+    /**
+     * Records an event; called by the owning thread only.
+     * @param kind The event kind
+     * @param method The method id
+     * @param detail The event detail
+     */
+    void record(TraceEvent.Kind kind, int method, int detail) {
+        long n = (long) COUNT.getOpaque(this);
+        int i = (int) n & mask;
+        times[i] = System.nanoTime();
+        methods[i] = method;
+        kinds[i] = (byte) kind.ordinal();
+        details[i] = detail;
+        COUNT.setRelease(this, n + 1);
+    }
+
+    /**
+     * Copies the events in the buffer. Events the owning thread overwrites while they
+     * are being copied are left out.
+     * @param events Receives the events
+     */
+    void copyTo(List<TraceEvent> events) {
+        //read before the count, as a clear() in between may move it past the count read earlier
+        long first = cleared;
+        long end = (long) COUNT.getAcquire(this);
+        long start = Math.max(first, end - times.length);
+        TraceEvent[] copied = new TraceEvent[(int) (end - start)];
+        for(long n=start; n<end; n++) {
+            int i = (int) n & mask;
+            copied[(int) (n - start)] = new TraceEvent(threadName, kinds[i], times[i], methods[i], details[i]);
+        }
+        //keeps the reads of the events above from moving past the count read below
+        VarHandle.acquireFence();
+        //events before the writer's current lap, and the one it may be writing, may have been overwritten
+        long valid = Math.max(start, (long) COUNT.getAcquire(this) + 1 - times.length);
+        for(long n=valid; n<end; n++) {
+            events.add(copied[(int) (n - start)]);
+        }
+    }
+
+    /**
+     * Discards the events recorded so far, without interfering with the owning thread.
+     */
+    void clear() {
+        cleared = (long) COUNT.getAcquire(this);
+    }
+
+    /**
+     * Returns true if the owning thread has terminated.
+     * @return True if the thread is gone
+     */
+    boolean isTerminated() {
+        Thread owner = thread.get();
+        return owner==null || !owner.isAlive();
+    }
+}
@@ -0,0 +1,99 @@
+package org.proxy4j.core.trace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event recorded by the {@link InvocationTracer} during a call through an interceptor proxy.
+ * @since 1.2.0
+ */
+public final class TraceEvent
+{
+    /**
+     * The step of the call at which an event is recorded.
+     */
+    public enum Kind
+    {
+        /** The call entered an interceptor chain. */
+        ENTER,
+        /** The call was passed to an interceptor; the detail is the interceptor's index in the chain. */
+        INTERCEPTOR,
+        /** The call was dispatched to the target. */
+        DISPATCH,
+        /** The call returned from the interceptor chain; the detail is 1 if it threw an exception. */
+        EXIT
+    }
+
+    private static final Kind[] kinds = Kind.values();
+
+    private final String threadName;
+    private final Kind kind;
+    private final long nanoTime;
+    private final int methodId;
+    private final int detail;
+
+    TraceEvent(String threadName, byte kind, long nanoTime, int methodId, int detail) {
+        this.threadName = threadName;
+        this.kind = kinds[kind];
+        this.nanoTime = nanoTime;
+        this.methodId = methodId;
+        this.detail = detail;
+    }
+
+    /**
+     * Returns the name of the thread that made the call.
+     * @return The thread name
+     */
+    public String getThreadName() { return threadName; }
+
+    /**
+     * Returns the step of the call.
+     * @return The event kind
+     */
+    public Kind getKind() { return kind; }
+
+    /**
+     * Returns the time of the event, as given by {@link System#nanoTime()}.
+     * @return The timestamp in nanoseconds
+     */
+    public long getNanoTime() { return nanoTime; }
+
+    /**
+     * Returns the id of the called method, which is the same for all events of the method.
+     * @return The method id
+     */
+    public int getMethodId() { return methodId; }
+
+    /**
+     * Returns the called method, as declaring class and method name.
+     * @return The method name
+     */
+    public String getMethodName() { return InvocationTracer.getMethodName(methodId); }
+
+    /**
+     * Returns the interceptor index of an {@link Kind#INTERCEPTOR} event, or whether
+     * an {@link Kind#EXIT} event failed.
+     * @return The event detail
+     */
+    public int getDetail() { return detail; }
+
+    /**
+     * Formats the event with its time relative to the given start time.
+     * @param startNanos The start time in nanoseconds
+     * @return The formatted event
+     */
+    String format(long startNanos) {
+        StringBuilder sb = new StringBuilder()
+                .append(String.format("%10.3fus ", (nanoTime - startNanos) / (double) TimeUnit.MICROSECONDS.toNanos(1)))
+                .append(threadName).append(' ').append(kind).append(' ').append(getMethodName());
+        if(kind==Kind.INTERCEPTOR)
+            sb.append(" #").append(detail);
+        else if(kind==Kind.EXIT && detail!=0)
+            sb.append(" (failed)");
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format(0);
+    }
+}
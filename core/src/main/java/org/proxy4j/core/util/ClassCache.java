@@ -1,26 +1,286 @@
 package org.proxy4j.core.util;
 
+import org.proxy4j.core.jfr.ProxyCacheMissEvent;
+import org.proxy4j.core.jfr.ProxyEvents;
+import org.proxy4j.core.jfr.RecorderState;
+
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
 /**
- * A cache for classes.
+ * A concurrent cache for classes. Cached classes are weakly referenced, and entries
+ * whose class has been collected are purged as the cache is used. Entries are segmented
+ * by the class loader of their key, and a segment is dropped as a whole once its
+ * loader has been collected. Classes requested
+ * through {@link #getClass(Key, Generator)} are generated at most once per key: other
+ * threads asking for the same key wait for the generating thread instead of
+ * generating the class again.
+ * <p>Lookups and the cache sizes are reported as flight recorder events, see {@link ProxyEvents}.</p>
  * @author Brennan Spies
  * @since 1.0.0
  */
 public class ClassCache
 {
-    private static final Map<Key, WeakReference<Class<?>>> classMap
-        = new HashMap<>(); //TODO replace with ConcurrentHashMap?
+    private final String name;
+    //segment values are either a ClassReference or the FutureTask generating the class
+    private final LoaderMap<ConcurrentMap<Key, Object>> segments = new LoaderMap<>();
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an unnamed cache.
+     */
+    public ClassCache() {
+        this("unnamed");
+    }
+
+    /**
+     * Creates a cache with the given name, which identifies it in flight recorder events.
+     * @param name The name of the cache, usually that of the proxy backend
+     * @since 1.2.0
+     */
+    public ClassCache(String name) {
+        this.name = name;
+        RecorderState.register(this);
+    }
 
+    /**
+     * Generates a class on a cache miss.
+     * @param <T> The generated type
+     * @param <E> The exception thrown if generation fails
+     * @since 1.2.0
+     */
+    @FunctionalInterface
+    public interface Generator<T, E extends Exception> {
+        /**
+         * Generates the class to be cached.
+         * @return The generated class
+         * @throws E If the class cannot be generated
+         */
+        Class<T> generate() throws E;
+    }
+
+    /**
+     * Returns the class cached under the given key.
+     * @param key The key
+     * @param <T> The cached type
+     * @return The cached class, or null if there is none
+     */
     @SuppressWarnings("unchecked")
     public <T> Class<T> getClass(Key key) {
-        WeakReference<Class<?>> ref;
-        return ((ref = classMap.get(key))!=null) ? (Class<T>)ref.get() : null;
+        expungeStaleEntries();
+        ConcurrentMap<Key, Object> classMap = segments.get(key.getClassLoader());
+        Object value = classMap==null ? null : classMap.get(key);
+        Class<?> type = value instanceof ClassReference ? ((ClassReference) value).get() : null;
+        if(type!=null) {
+            hits.increment();
+            if(RecorderState.isActive())
+                ProxyEvents.cacheHit(name, type);
+        } else
+            misses.increment();
+        return (Class<T>) type;
     }
 
+    /**
+     * Returns the class cached under the given key, generating and caching it if
+     * it is absent. The generator is invoked at most once for concurrent requests
+     * with the same key.
+     * @param key The key
+     * @param generator Generates the class on a cache miss
+     * @param <T> The cached type
+     * @param <E> The exception thrown by the generator
+     * @return The cached or newly generated class
+     * @throws E If the class must be generated and generation fails
+     * @since 1.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> Class<T> getClass(Key key, Generator<T, E> generator) throws E {
+        expungeStaleEntries();
+        ConcurrentMap<Key, Object> classMap = getSegment(key);
+        for(;;) {
+            Object value = classMap.get(key);
+            if(value instanceof ClassReference) {
+                Class<?> type = ((ClassReference) value).get();
+                if(type!=null) {
+                    hits.increment();
+                    if(RecorderState.isActive())
+                        ProxyEvents.cacheHit(name, type);
+                    return (Class<T>) type;
+                }
+                //collected, but not yet purged
+                if(classMap.remove(key, value))
+                    evictions.increment();
+            } else if(value!=null) {
+                hits.increment();
+                Class<T> type = await((FutureTask<Class<T>>) value);
+                if(RecorderState.isActive())
+                    ProxyEvents.cacheHit(name, type);
+                return type;
+            } else {
+                FutureTask<Class<T>> task = new FutureTask<>(generator::generate);
+                if(classMap.putIfAbsent(key, task)==null) {
+                    misses.increment();
+                    ProxyCacheMissEvent event = RecorderState.isActive() ? ProxyEvents.beginCacheMiss() : null;
+                    task.run();
+                    try {
+                        Class<T> type = await(task);
+                        classMap.replace(key, task, new ClassReference(classMap, key, type, queue));
+                        if(event!=null)
+                            ProxyEvents.cacheMiss(event, name, type);
+                        return type;
+                    } finally {
+                        //failed generation is not cached
+                        if(!(classMap.get(key) instanceof ClassReference))
+                            classMap.remove(key, task);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Caches the given class.
+     * @param key The key
+     * @param type The class to cache
+     */
     public void cache(Key key, Class<?> type) {
-        classMap.put(key, new WeakReference<>(type));
+        expungeStaleEntries();
+        ConcurrentMap<Key, Object> classMap = getSegment(key);
+        classMap.put(key, new ClassReference(classMap, key, type, queue));
+    }
+
+    /**
+     * Returns the name of the cache.
+     * @return The cache name
+     * @since 1.2.0
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of entries in the cache, including classes that are being generated.
+     * @return The cache size
+     * @since 1.2.0
+     */
+    public int size() {
+        expungeStaleEntries();
+        int size = 0;
+        for(ConcurrentMap<Key, Object> classMap : segments.values()) {
+            size += classMap.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of class loaders with a live segment in the cache. A segment
+     * count that keeps growing as modules are redeployed indicates that their class
+     * loaders are not being collected.
+     * @return The segment count
+     * @since 1.2.0
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Passes the number of entries of each segment to the given action.
+     * @param action Takes the class loader of the segment, or null for the bootstrap loader,
+     *               and its number of entries
+     * @since 1.2.0
+     */
+    public void forEachSegment(BiConsumer<? super ClassLoader, Integer> action) {
+        expungeStaleEntries();
+        segments.forEach((loader, classMap) -> action.accept(loader, classMap.size()));
+    }
+
+    /**
+     * Returns the number of lookups that found a cached (or generating) class.
+     * @return The hit count
+     * @since 1.2.0
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached class.
+     * @return The miss count
+     * @since 1.2.0
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries removed because their class was collected.
+     * @return The eviction count
+     * @since 1.2.0
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    //waits for the generating thread, rethrowing its exception if generation failed
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> Class<T> await(FutureTask<Class<T>> task) throws E {
+        boolean interrupted = false;
+        try {
+            for(;;) {
+                try {
+                    return task.get();
+                } catch(InterruptedException e) {
+                    interrupted = true;
+                } catch(ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if(cause instanceof Error)
+                        throw (Error) cause;
+                    throw (E) cause;
+                }
+            }
+        } finally {
+            if(interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    //returns the segment for the class loader of the key
+    private ConcurrentMap<Key, Object> getSegment(Key key) {
+        return segments.computeIfAbsent(key.getClassLoader(), loader -> new ConcurrentHashMap<>());
+    }
+
+    //removes entries whose classes have been collected
+    private void expungeStaleEntries() {
+        Object ref;
+        while((ref = queue.poll())!=null) {
+            ClassReference classRef = (ClassReference) ref;
+            if(classRef.segment.remove(classRef.key, ref))
+                evictions.increment();
+        }
+    }
+
+    /**
+     * Weak reference to a cached class that remembers its segment and key, so it
+     * can be removed from the cache once the class is collected.
+     */
+    private static class ClassReference extends WeakReference<Class<?>>
+    {
+        private final Map<Key, Object> segment;
+        private final Key key;
+
+        ClassReference(Map<Key, Object> segment, Key key, Class<?> type, ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            this.segment = segment;
+            this.key = key;
+        }
     }
 }
@@ -0,0 +1,135 @@
+package org.proxy4j.core.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A concurrent map from class loaders to values. Class loaders are compared by identity
+ * and weakly referenced, so an entry is purged once its loader has been collected. Values
+ * must not strongly reference their class loader, or the loader can never be collected.
+ * The bootstrap (null) class loader is permitted and its entry is never purged.
+ * @param <V> The value type
+ * @since 1.2.0
+ */
+public class LoaderMap<V>
+{
+    private final ConcurrentMap<LoaderReference, V> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ClassLoader> queue = new ReferenceQueue<>();
+    private final AtomicReference<V> bootstrapValue = new AtomicReference<>();
+
+    /**
+     * Returns the value mapped to the given class loader.
+     * @param loader The class loader, or null for the bootstrap loader
+     * @return The value, or null if there is none
+     */
+    public V get(ClassLoader loader) {
+        if(loader==null)
+            return bootstrapValue.get();
+        expungeStaleEntries();
+        return map.get(new LoaderReference(loader, null));
+    }
+
+    /**
+     * Returns the value mapped to the given class loader, creating it if it is absent.
+     * The factory is invoked at most once per class loader for as long as the loader
+     * is mapped, except for the bootstrap loader, where a concurrent caller may create
+     * a value that is then discarded.
+     * @param loader The class loader, or null for the bootstrap loader
+     * @param factory Creates the value for the loader
+     * @return The existing or newly created value
+     */
+    public V computeIfAbsent(ClassLoader loader, Function<? super ClassLoader, ? extends V> factory) {
+        if(loader==null) {
+            V value = bootstrapValue.get();
+            if(value==null) {
+                bootstrapValue.compareAndSet(null, factory.apply(null));
+                value = bootstrapValue.get();
+            }
+            return value;
+        }
+        expungeStaleEntries();
+        V value = map.get(new LoaderReference(loader, null));
+        if(value==null)
+            value = map.computeIfAbsent(new LoaderReference(loader, queue), ref -> factory.apply(loader));
+        return value;
+    }
+
+    /**
+     * Returns the number of class loaders with a mapped value that have not been collected.
+     * @return The number of live entries
+     */
+    public int size() {
+        expungeStaleEntries();
+        return map.size() + (bootstrapValue.get()==null ? 0 : 1);
+    }
+
+    /**
+     * Returns a snapshot of the values of the live entries.
+     * @return The values
+     */
+    public Collection<V> values() {
+        expungeStaleEntries();
+        Collection<V> values = new ArrayList<>(map.values());
+        V value = bootstrapValue.get();
+        if(value!=null)
+            values.add(value);
+        return values;
+    }
+
+    /**
+     * Passes each live entry to the given action.
+     * @param action Takes the class loader, or null for the bootstrap loader, and its value
+     */
+    public void forEach(BiConsumer<? super ClassLoader, ? super V> action) {
+        expungeStaleEntries();
+        for(Map.Entry<LoaderReference, V> entry : map.entrySet()) {
+            ClassLoader loader = entry.getKey().get();
+            if(loader!=null)
+                action.accept(loader, entry.getValue());
+        }
+        V value = bootstrapValue.get();
+        if(value!=null)
+            action.accept(null, value);
+    }
+
+    //removes entries whose class loaders have been collected
+    private void expungeStaleEntries() {
+        Object ref;
+        while((ref = queue.poll())!=null) {
+            map.remove(ref);
+        }
+    }
+
+    /**
+     * Weak reference to a class loader that compares its referent by identity. A cleared
+     * reference is only equal to itself.
+     */
+    private static class LoaderReference extends WeakReference<ClassLoader>
+    {
+        private final int hash;
+
+        LoaderReference(ClassLoader loader, ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            hash = System.identityHashCode(loader);
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LoaderReference)) return false;
+            ClassLoader loader = get();
+            return loader!=null && loader==((LoaderReference) o).get();
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,20 +1,21 @@
 package org.proxy4j.core.util;
 
-import org.proxy4j.core.struct.WeakHashSet;
-
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
- * A method hash key.
+ * A method hash key. Methods are held by their signatures, since the {@code Method}
+ * objects passed in are usually reflective copies that nothing else references, and
+ * holding them strongly would keep their classes from being unloaded.
  * @author Brennan Spies
  * @since 1.0.0
  */
 public final class MethodHashKey extends Key
 {
-    private final Set<Method> methods = new WeakHashSet<>();
+    private final Set<String> methods = new HashSet<>();
     private final int hash;
 
     /**
@@ -29,7 +30,9 @@ public final class MethodHashKey extends Key
 
     public MethodHashKey(ClassLoader loader, Collection<Method> methods) {
         super(loader);
-        this.methods.addAll(methods);
+        for(Method m : methods) {
+            this.methods.add(m.toString());
+        }
         hash = internalHash();
     }
 
@@ -0,0 +1,269 @@
+package org.proxy4j.core.util;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A persistent store of generated proxy class bytes, so proxy classes generated by one JVM can be
+ * defined from disk by later ones instead of being generated again. Each entry holds the classes
+ * generated for one proxy, in the order they must be defined, and is stored in its own file in
+ * the store directory.</p>
+ * <p>Entries are keyed by a hash of the library version, the Java feature version, the generator,
+ * and the signatures of the proxied types and their supertypes. Changing any of those selects a
+ * different entry, so stale bytes are never used; entries that are no longer used can be removed
+ * with {@link #clear()}. The library version is read from a resource written by the build; if it
+ * cannot be read, there are no keys and the proxy factories do not use the store, which
+ * {@link #isEnabled()} reports. Entries are written to a temporary file and moved into place, so
+ * concurrent writers and readers never see a partial entry, and an unreadable entry is treated as
+ * a miss.</p>
+ * @since 1.2.0
+ */
+public class ProxyClassStore
+{
+    private static final int MAGIC = 0x50344a43;
+    private static final int FORMAT_VERSION = 1;
+    private static final String SUFFIX = ".classes";
+    private static final String LIBRARY_VERSION = readVersion();
+
+    private final Path directory;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder writeCount = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    /**
+     * Creates a store in the given directory, which is created if it does not exist.
+     * @param directory The store directory
+     * @throws IOException If the directory cannot be created
+     */
+    public ProxyClassStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * Returns true if stores can be used, which requires the library version. It is read from a
+     * resource filtered by the build, which may be missing from builds that do not filter
+     * resources, such as those of some IDEs; the proxy factories then do not use their store.
+     * @return True if the library version is known
+     */
+    public static boolean isEnabled() {
+        return LIBRARY_VERSION!=null;
+    }
+
+    /**
+     * Returns the directory of this store.
+     * @return The store directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the key of the entry for the given generator and proxied types.
+     * @param generator Identifies the generator and the kind of proxy it generates
+     * @param types The proxied types
+     * @param details Any other inputs of the generator, such as the intercepted methods
+     * @return The entry key, or null if the library version is unknown, so stored classes could
+     *         not be told apart from those of other versions
+     */
+    public String getKey(String generator, Collection<? extends Class<?>> types, Object... details) {
+        if(LIBRARY_VERSION==null)
+            return null;
+        StringBuilder sb = new StringBuilder()
+                .append(FORMAT_VERSION).append('\n')
+                .append(LIBRARY_VERSION).append('\n')
+                .append(Runtime.version().feature()).append('\n')
+                .append(generator).append('\n');
+        Set<Class<?>> visited = new HashSet<>();
+        for(Class<?> type : types) {
+            appendSignature(sb, type, visited);
+        }
+        for(Object detail : details) {
+            sb.append(detail).append('\n');
+        }
+        return toHex(sha256(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns the classes stored under the given key, by name in definition order, or
+     * {@code null} if there is no readable entry for the key.
+     * @param key The entry key
+     * @return The stored classes, or {@code null}
+     */
+    public Map<String,byte[]> load(String key) {
+        Path file = directory.resolve(key + SUFFIX);
+        if(!Files.isRegularFile(file)) {
+            missCount.increment();
+            return null;
+        }
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if(in.readInt()!=MAGIC || in.readInt()!=FORMAT_VERSION)
+                throw new IOException("Not a proxy class entry: " + file);
+            long generationNanos = in.readLong();
+            int count = in.readInt();
+            Map<String,byte[]> classes = new LinkedHashMap<>();
+            for(int i=0; i<count; i++) {
+                String name = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                classes.put(name, bytes);
+            }
+            hitCount.increment();
+            savedNanos.add(generationNanos);
+            return classes;
+        } catch (IOException | RuntimeException e) {
+            //corrupt entries are dropped and regenerated
+            missCount.increment();
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given classes under the given key. Failing to write the entry does not
+     * affect the caller, which has already defined the classes.
+     * @param key The entry key
+     * @param classes The generated classes, by name in definition order
+     * @param generationNanos The time it took to generate the classes
+     */
+    public void store(String key, Map<String,byte[]> classes, long generationNanos) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(generationNanos);
+                out.writeInt(classes.size());
+                for(Map.Entry<String,byte[]> entry : classes.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Path file = directory.resolve(key + SUFFIX);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            writeCount.increment();
+        } catch (IOException e) {
+            if(temp!=null)
+                deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Removes all entries from the store.
+     * @throws IOException If an entry cannot be removed
+     */
+    public void clear() throws IOException {
+        try(DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for(Path entry : entries) {
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries that were loaded from the store.
+     * @return The hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found no readable entry.
+     * @return The miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of entries written to the store.
+     * @return The write count
+     */
+    public long getWriteCount() {
+        return writeCount.sum();
+    }
+
+    /**
+     * Returns the total time it took to generate the classes of the entries that were loaded
+     * from the store, i.e. the generation time saved by the store.
+     * @return The saved generation time in nanoseconds
+     */
+    public long getSavedGenerationNanos() {
+        return savedNanos.sum();
+    }
+
+    //appends the members of the type and its supertypes, in a stable order
+    private static void appendSignature(StringBuilder sb, Class<?> type, Set<Class<?>> visited) {
+        if(type==null || type==Object.class || !visited.add(type))
+            return;
+        sb.append(Modifier.toString(type.getModifiers())).append(' ').append(type.getName()).append('\n');
+        List<String> members = new ArrayList<>();
+        for(Method m : type.getDeclaredMethods()) {
+            members.add(m.toString());
+        }
+        for(Constructor<?> c : type.getDeclaredConstructors()) {
+            members.add(c.toString());
+        }
+        Collections.sort(members);
+        for(String member : members) {
+            sb.append(member).append('\n');
+        }
+        appendSignature(sb, type.getSuperclass(), visited);
+        for(Class<?> iface : type.getInterfaces()) {
+            appendSignature(sb, iface, visited);
+        }
+    }
+
+    //the version of this library, or null if the build did not record it
+    private static String readVersion() {
+        try(InputStream in = ProxyClassStore.class.getResourceAsStream("version.properties")) {
+            if(in==null)
+                return null;
+            Properties properties = new Properties();
+            properties.load(in);
+            String version = properties.getProperty("version");
+            return version==null || version.isEmpty() || version.startsWith("${") ? null : version;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length*2);
+        for(byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            //left for the next writer to replace
+        }
+    }
+}
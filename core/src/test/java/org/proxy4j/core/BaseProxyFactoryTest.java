@@ -3,13 +3,25 @@ package org.proxy4j.core;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Test;
+import org.proxy4j.core.filter.MethodFilter;
+import org.proxy4j.core.init.AsyncLazyProvider;
+import org.proxy4j.core.testobj.DeclaredMethodFilter;
 import org.proxy4j.core.testobj.OtherTarget;
+import org.proxy4j.core.testobj.Primitives;
+import org.proxy4j.core.testobj.PrimitivesImpl;
 import org.proxy4j.core.testobj.Target;
 import org.proxy4j.core.testobj.TestMarker;
 import org.proxy4j.core.testobj.TestTarget;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -99,4 +111,222 @@ public abstract class BaseProxyFactoryTest
         proxy.setCount(5);
         assertEquals("Count should be 0", 0, messages.size());
 	}
+
+    /**
+     * Test that the {@code MethodInvocation} passed to interceptors reports the invoked method.
+     */
+    @Test
+    public void testInterceptedMethod() throws Exception {
+        ProxyFactory factory = getImplementation();
+        final List<MethodInvocation> invocations = new ArrayList<MethodInvocation>();
+        MethodInterceptor recorder = new MethodInterceptor() {
+            public Object invoke(MethodInvocation call) throws Throwable {
+                invocations.add(call);
+                return call.proceed();
+            }
+        };
+        Target proxy = factory.createProxy(Target.class, new TestTarget(), TestMarker.class, recorder);
+        proxy.increment();
+        assertEquals("Count should be 1", 1, proxy.getCount());
+        assertEquals("Should be 2 invocations", 2, invocations.size());
+        assertEquals("increment", invocations.get(0).getMethod().getName());
+        assertEquals("getCount", invocations.get(1).getMethod().getName());
+        assertSame(invocations.get(1).getMethod(), invocations.get(1).getStaticPart());
+    }
+
+    /**
+     * Test intercepting methods with primitive parameters and return values, proceeding
+     * through {@link PrimitiveMethodInvocation} as well as {@code proceed()}.
+     */
+    @Test
+    public void testInterceptPrimitives() throws Exception {
+        ProxyFactory factory = getImplementation();
+        MethodInterceptor boxed = new MethodInterceptor() {
+            public Object invoke(MethodInvocation call) throws Throwable {
+                return call.proceed();
+            }
+        };
+        MethodInterceptor primitive = new MethodInterceptor() {
+            public Object invoke(MethodInvocation call) throws Throwable {
+                PrimitiveMethodInvocation invocation = (PrimitiveMethodInvocation) call;
+                Class<?> type = call.getMethod().getReturnType();
+                if(type==boolean.class) return invocation.proceedBoolean();
+                if(type==byte.class) return invocation.proceedByte();
+                if(type==short.class) return invocation.proceedShort();
+                if(type==char.class) return invocation.proceedChar();
+                if(type==int.class) return invocation.proceedInt();
+                if(type==long.class) return invocation.proceedLong();
+                if(type==float.class) return invocation.proceedFloat();
+                if(type==double.class) return invocation.proceedDouble();
+                return call.proceed();
+            }
+        };
+        MethodFilter declared = new DeclaredMethodFilter();
+        assertPrimitives(factory.buildInterceptor(Primitives.class).on(new PrimitivesImpl()).using(declared, primitive).create());
+        assertPrimitives(factory.buildInterceptor(Primitives.class).on(new PrimitivesImpl()).using(declared, boxed, primitive).create());
+        assertPrimitives(factory.buildInterceptor(Primitives.class).on(new PrimitivesImpl()).using(declared, primitive, boxed).create());
+    }
+
+    /**
+     * Test that {@link PreparableProxyFactory#prepare} prepares each shape on the executor,
+     * reporting shapes that cannot be prepared rather than failing.
+     */
+    @Test
+    public void testPrepare() throws Exception {
+        PreparableProxyFactory factory = (PreparableProxyFactory) getImplementation();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<ProxySpec<?>> specs = new ArrayList<ProxySpec<?>>();
+            specs.add(ProxySpec.virtual(Target.class));
+            specs.add(ProxySpec.handler(Target.class));
+            specs.add(ProxySpec.handler(Target.class, OtherTarget.class));
+            specs.add(ProxySpec.interceptor(Target.class, new TestTarget(), TestMarker.class));
+            specs.add(ProxySpec.virtual(String.class));
+            PreparationReport report = factory.prepare(executor, specs).get(30, TimeUnit.SECONDS);
+            assertEquals(5, report.getEntries().size());
+            for(int i=0; i<specs.size(); i++) {
+                assertSame(specs.get(i), report.getEntries().get(i).getSpec());
+            }
+            assertEquals("Final class should not be prepared", 1, report.getFailures().size());
+            assertSame(specs.get(4), report.getFailures().get(0).getSpec());
+            assertTrue(report.getTotalTime(TimeUnit.NANOSECONDS) > 0);
+        } finally {
+            executor.shutdown();
+        }
+        Target proxy = factory.createProxy(Target.class, new TestTarget(), TestMarker.class, MethodInvocation::proceed);
+        proxy.increment();
+        assertEquals(1, proxy.getCount());
+    }
+
+    /**
+     * Test that the interceptors of a proxy created through its {@link InterceptorHandle}
+     * can be replaced and added to while the proxy is in use.
+     */
+    @Test
+    public void testInterceptorHandle() throws Exception {
+        ProxyFactory factory = getImplementation();
+        final List<String> messages = new ArrayList<String>();
+        InterceptorHandle<Target> handle = factory.buildInterceptor(Target.class).on(new TestTarget())
+                .using(TestMarker.class, record(messages, "ONE")).createHandle();
+        Target proxy = handle.getProxy();
+        Method getCount = Target.class.getMethod("getCount");
+        Method increment = Target.class.getMethod("increment");
+        assertTrue(handle.isBound(getCount));
+        assertFalse(handle.isBound(Target.class.getMethod("setCount", int.class)));
+        proxy.increment();
+        assertEquals(1, proxy.getCount());
+        assertEquals("[ONE, ONE]", messages.toString());
+        messages.clear();
+        handle.replace(getCount, record(messages, "TWO"));
+        handle.append(getCount, record(messages, "THREE"));
+        handle.replace(increment);
+        proxy.increment();
+        assertEquals(2, proxy.getCount());
+        assertEquals("[TWO, THREE]", messages.toString());
+        assertEquals(2, handle.getInterceptors(getCount).size());
+        assertTrue(handle.getInterceptors(increment).isEmpty());
+        try {
+            handle.append(Target.class.getMethod("setCount", int.class), record(messages, "FOUR"));
+            fail("Unbound method should not be changed");
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+    }
+
+    /**
+     * Test that the chains of a {@link LazyInterceptorFactory} are created on the
+     * first call of each method, once.
+     */
+    @Test
+    public void testLazyInterceptorFactory() throws Exception {
+        ProxyFactory factory = getImplementation();
+        final List<String> messages = new ArrayList<String>();
+        final List<String> created = new ArrayList<String>();
+        LazyInterceptorFactory lazy = LazyInterceptorFactory.of(new InterceptorFactory() {
+            public List<MethodInterceptor> getInterceptors(Method method) {
+                created.add(method.getName());
+                return Collections.singletonList(record(messages, method.getName()));
+            }
+        });
+        MethodFilter declared = new DeclaredMethodFilter();
+        Primitives proxy = factory.buildInterceptor(Primitives.class).on(new PrimitivesImpl()).using(declared, lazy).create();
+        assertTrue("Methods should be bound", lazy.getBoundCount() > 0);
+        assertTrue("No chain should be created before a call", created.isEmpty());
+        assertEquals(0, lazy.getResolvedCount());
+        assertEquals(2, proxy.increment(1));
+        assertEquals(3, proxy.increment(2));
+        assertFalse(proxy.not(true));
+        assertEquals("[increment, not]", created.toString());
+        assertEquals("[increment, increment, not]", messages.toString());
+        assertEquals(2, lazy.getResolvedCount());
+    }
+
+    /**
+     * Test that an {@link AsyncLazyProvider} starts creating its target when the proxy is
+     * created, and that the first call waits for it.
+     */
+    @Test
+    public void testAsyncLazyProvider() throws Exception {
+        ProxyFactory factory = getImplementation();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncLazyProvider<Target> provider = new AsyncLazyProvider<Target>(executor) {
+                @Override protected Target init() {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return new TestTarget();
+                }
+            };
+            Target targetProxy = factory.createProxy(Target.class, provider);
+            assertTrue("Creating proxy should start creating target", started.await(5, TimeUnit.SECONDS));
+            assertFalse(provider.isInitialized());
+            //the first call waits on its own thread, and the target is released once it does
+            final AtomicInteger firstCount = new AtomicInteger(-1);
+            Thread caller = new Thread(() -> firstCount.set(targetProxy.getCount()));
+            caller.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while(caller.getState()!=Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals("First call should wait for the target", Thread.State.WAITING, caller.getState());
+            release.countDown();
+            caller.join(5000);
+            assertEquals(0, firstCount.get());
+            assertTrue(provider.isInitialized());
+            targetProxy.increment();
+            assertEquals(1, targetProxy.getCount());
+            assertEquals(1, provider.getWaitCount());
+            assertTrue(provider.getInitTime(TimeUnit.NANOSECONDS) > 0);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static MethodInterceptor record(final List<String> messages, final String message) {
+        return new MethodInterceptor() {
+            public Object invoke(MethodInvocation call) throws Throwable {
+                messages.add(message);
+                return call.proceed();
+            }
+        };
+    }
+
+    private void assertPrimitives(Primitives proxy) {
+        assertFalse(proxy.not(true));
+        assertEquals((byte) 2, proxy.increment((byte) 1));
+        assertEquals((short) 2, proxy.increment((short) 1));
+        assertEquals('b', proxy.increment('a'));
+        assertEquals(2, proxy.increment(1));
+        assertEquals(2L, proxy.increment(1L));
+        assertEquals(2f, proxy.increment(1f), 0f);
+        assertEquals(2d, proxy.increment(1d), 0d);
+        assertEquals("a,b", proxy.join(new String[] {"a", "b"}, ','));
+    }
 }
@@ -0,0 +1,139 @@
+package org.proxy4j.core;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link InterceptorChain}.</p>
+ */
+public class InterceptorChainTest
+{
+    private final List<String> messages = new ArrayList<>();
+
+    /**
+     * Test that interceptors run in order with a chained invocation as the cursor.
+     */
+    @Test
+    public void testChainedInvocation() throws Throwable {
+        InterceptorChain chain = new InterceptorChain(record("ONE"), record("TWO"));
+        assertEquals("target", chain.invoke(new TestInvocation()));
+        assertEquals("[ONE, TWO, target]", messages.toString());
+    }
+
+    /**
+     * Test that an interceptor may proceed more than once.
+     */
+    @Test
+    public void testProceedTwice() throws Throwable {
+        MethodInterceptor retry = invocation -> {
+            invocation.proceed();
+            return invocation.proceed();
+        };
+        InterceptorChain chain = new InterceptorChain(retry, record("ONE"));
+        assertEquals("target", chain.invoke(new TestInvocation()));
+        assertEquals("[ONE, target, ONE, target]", messages.toString());
+    }
+
+    /**
+     * Test that a chain nested in another chain continues the outer chain once its
+     * own interceptors are exhausted.
+     */
+    @Test
+    public void testNestedChain() throws Throwable {
+        InterceptorChain inner = new InterceptorChain(record("TWO"), record("THREE"));
+        InterceptorChain outer = new InterceptorChain(record("ONE"), inner, record("FOUR"));
+        assertEquals("target", outer.invoke(new TestInvocation()));
+        assertEquals("[ONE, TWO, THREE, FOUR, target]", messages.toString());
+    }
+
+    /**
+     * Test that invocations which are not chained invocations are still supported.
+     */
+    @Test
+    public void testPlainInvocation() throws Throwable {
+        final TestInvocation target = new TestInvocation();
+        MethodInvocation plain = new MethodInvocation() {
+            public Method getMethod() { return target.getMethod(); }
+            public Object[] getArguments() { return target.getArguments(); }
+            public Object proceed() throws Throwable { return target.proceed(); }
+            public Object getThis() { return target.getThis(); }
+            public AccessibleObject getStaticPart() { return target.getStaticPart(); }
+        };
+        assertEquals("target", new InterceptorChain(record("ONE"), record("TWO")).invoke(plain));
+        assertEquals("target", new InterceptorChain(record("THREE")).invoke(plain));
+        assertEquals("[ONE, TWO, target, THREE, target]", messages.toString());
+    }
+
+    /**
+     * Test that a mutable chain runs the interceptors set or appended since it was
+     * created, and passes calls through to the target when it is empty.
+     */
+    @Test
+    public void testMutableChain() throws Throwable {
+        MutableInterceptorChain chain = new MutableInterceptorChain(new InterceptorChain(record("ONE")));
+        assertEquals("target", chain.invoke(new TestInvocation()));
+        chain.append(record("TWO"));
+        assertEquals("target", chain.invoke(new TestInvocation()));
+        chain.set();
+        assertEquals("target", chain.invoke(new TestInvocation()));
+        assertTrue(chain.getInterceptors().isEmpty());
+        assertEquals("[ONE, target, ONE, TWO, target, target]", messages.toString());
+    }
+
+    /**
+     * Test that a call in progress keeps the interceptors it started with.
+     */
+    @Test
+    public void testMutableChainInProgress() throws Throwable {
+        final MutableInterceptorChain chain = new MutableInterceptorChain();
+        chain.set(invocation -> {
+            chain.set(record("TWO"));
+            return invocation.proceed();
+        }, record("ONE"));
+        chain.invoke(new TestInvocation());
+        chain.invoke(new TestInvocation());
+        assertEquals("[ONE, target, TWO, target]", messages.toString());
+    }
+
+    private MethodInterceptor record(final String message) {
+        return invocation -> {
+            messages.add(message);
+            return invocation.proceed();
+        };
+    }
+
+    /**
+     * Chained invocation that records the target call.
+     */
+    private class TestInvocation extends ChainedMethodInvocation
+    {
+        protected Object invokeTarget() {
+            messages.add("target");
+            return "target";
+        }
+
+        public Method getMethod() {
+            return null;
+        }
+
+        public Object[] getArguments() {
+            return new Object[0];
+        }
+
+        public Object getThis() {
+            return this;
+        }
+
+        public AccessibleObject getStaticPart() {
+            return null;
+        }
+    }
+}
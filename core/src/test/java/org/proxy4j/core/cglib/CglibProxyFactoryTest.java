@@ -1,7 +1,22 @@
 package org.proxy4j.core.cglib;
 
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.proxy4j.core.BaseProxyFactoryTest;
+import org.proxy4j.core.LazyTargetProvider;
 import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.testobj.Target;
+import org.proxy4j.core.testobj.TestMarker;
+import org.proxy4j.core.testobj.TestTarget;
+import org.proxy4j.core.util.ProxyClassStore;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.Assert.*;
 
 /**
  * <p>Unit tests for {@link CglibProxyFactory}.</p>
@@ -9,8 +24,68 @@ import org.proxy4j.core.ProxyFactory;
  */
 public class CglibProxyFactoryTest extends BaseProxyFactoryTest
 {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Override
     protected ProxyFactory getImplementation() {
         return new CglibProxyFactory();
     }
+
+    /**
+     * Test that proxy classes are reused for the same proxy type and callback type.
+     */
+    @Test
+    public void testProxyClassCached() {
+        CglibProxyFactory factory = new CglibProxyFactory();
+        Target first = factory.createProxy(Target.class, new LazyTargetProvider());
+        Target second = factory.createProxy(Target.class, new LazyTargetProvider());
+        assertSame("Proxy class should be reused", first.getClass(), second.getClass());
+        assertEquals("Should be 1 cache miss", 1, factory.getCacheMissCount());
+        assertEquals("Should be 1 cache hit", 1, factory.getCacheHitCount());
+        second.increment();
+        assertEquals("Proxies should not share callbacks", 0, first.getCount());
+    }
+
+    /**
+     * Test that interceptor proxies with the same binding shape share a proxy class.
+     */
+    @Test
+    public void testInterceptorClassCached() {
+        CglibProxyFactory factory = new CglibProxyFactory();
+        MethodInterceptor interceptor = MethodInvocation::proceed;
+        Target first = factory.createProxy(Target.class, new TestTarget(), TestMarker.class, interceptor);
+        long misses = factory.getCacheMissCount();
+        Target second = factory.createProxy(Target.class, new TestTarget(), TestMarker.class, interceptor);
+        assertSame("Proxy class should be reused", first.getClass(), second.getClass());
+        assertEquals("Should be no new cache misses", misses, factory.getCacheMissCount());
+        second.increment();
+        assertEquals("Proxies should not share targets", 0, first.getCount());
+        assertEquals("Second proxy should be incremented", 1, second.getCount());
+    }
+
+    /**
+     * Test that a factory with a class store defines proxy classes generated by an earlier
+     * factory from the store, rather than generating them.
+     */
+    @Test
+    public void testClassStore() throws Exception {
+        ProxyClassStore store = new ProxyClassStore(folder.getRoot().toPath());
+        CglibProxyFactory first = new CglibProxyFactory(new URLClassLoader(new URL[0], getClass().getClassLoader()));
+        first.setClassStore(store);
+        Target proxy = first.createProxy(Target.class, new LazyTargetProvider());
+        proxy.increment();
+        assertEquals(1, proxy.getCount());
+        assertEquals(1, store.getWriteCount());
+
+        ClassLoader loader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        CglibProxyFactory second = new CglibProxyFactory(loader);
+        second.setClassStore(store);
+        Target stored = second.createProxy(Target.class, new LazyTargetProvider());
+        assertSame(loader, stored.getClass().getClassLoader());
+        stored.increment();
+        assertEquals(1, stored.getCount());
+        assertEquals("Should load the stored class", 1, store.getHitCount());
+        assertEquals("Should not store the class again", 1, store.getWriteCount());
+    }
 }
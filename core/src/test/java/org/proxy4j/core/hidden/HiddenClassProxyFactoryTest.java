@@ -0,0 +1,90 @@
+package org.proxy4j.core.hidden;
+
+import org.junit.Test;
+import org.proxy4j.core.BaseProxyFactoryTest;
+import org.proxy4j.core.GenerationException;
+import org.proxy4j.core.LazyTargetProvider;
+import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.testobj.Target;
+import org.proxy4j.core.testobj.TestTarget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link HiddenClassProxyFactory}.</p>
+ */
+public class HiddenClassProxyFactoryTest extends BaseProxyFactoryTest
+{
+    @Override
+    protected ProxyFactory getImplementation() {
+        return new HiddenClassProxyFactory();
+    }
+
+    /**
+     * Test that proxy classes are reused per proxy style and that proxies are defined
+     * in the package of the proxied interface, as hidden classes where supported.
+     */
+    @Test
+    public void testProxyClassCached() throws Exception {
+        HiddenClassProxyFactory factory = new HiddenClassProxyFactory();
+        Target first = factory.createProxy(Target.class, new LazyTargetProvider());
+        Target second = factory.createProxy(Target.class, new LazyTargetProvider());
+        assertSame("Proxy class should be reused", first.getClass(), second.getClass());
+        assertEquals(Target.class.getPackageName(), first.getClass().getPackageName());
+        if(HiddenClassProxyFactory.isHiddenClassSupported())
+            assertEquals(Boolean.TRUE, Class.class.getMethod("isHidden").invoke(first.getClass()));
+        Target handled = factory.createProxy(Target.class, call -> call.invoke(new TestTarget()));
+        assertNotSame("Handler proxies should have their own class", first.getClass(), handled.getClass());
+        second.increment();
+        assertEquals("Proxies should not share providers", 0, first.getCount());
+    }
+
+    /**
+     * Test that interfaces in packages which are not open to Proxy4J can be proxied.
+     */
+    @Test
+    public void testPlatformInterface() throws Exception {
+        final List<String> calls = new ArrayList<String>();
+        @SuppressWarnings("unchecked")
+        Callable<String> proxy = new HiddenClassProxyFactory().createProxy(Callable.class, call -> {
+            calls.add(call.getMethod().getName());
+            return "called";
+        });
+        assertEquals("called", proxy.call());
+        assertEquals("called", proxy.toString());
+        assertEquals("[call, toString]", calls.toString());
+    }
+
+    /**
+     * Test that a naming policy set after the factory is created names the proxy classes
+     * it generates from then on.
+     */
+    @Test
+    public void testNamingStrategy() throws Exception {
+        HiddenClassProxyFactory factory = new HiddenClassProxyFactory();
+        factory.setNamingStrategy((baseClassName, key) -> baseClassName + "$$Renamed");
+        Named proxy = factory.createProxy(Named.class, call -> "named");
+        assertEquals("named", proxy.getName());
+        assertTrue(proxy.getClass().getName(), proxy.getClass().getName().startsWith(Named.class.getName() + "$$Renamed"));
+    }
+
+    /**
+     * Test that classes cannot be proxied.
+     */
+    @Test(expected = GenerationException.class)
+    public void testClassRejected() {
+        new HiddenClassProxyFactory().createProxy(TestTarget.class, TestTarget::new);
+    }
+
+    /**
+     * Interface proxied only by {@link #testNamingStrategy()}, so its proxy class is not cached yet.
+     */
+    public interface Named
+    {
+        String getName();
+    }
+}
@@ -0,0 +1,98 @@
+package org.proxy4j.core.init;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link FutureLazyProvider}.</p>
+ */
+public class FutureLazyProviderTest
+{
+    /**
+     * Test that concurrent callers share a single initialization.
+     * @throws Exception If the test fails
+     */
+    @Test
+    public void testSingleInitialization() throws Exception {
+        AtomicInteger inits = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        FutureLazyProvider<String> provider = new FutureLazyProvider<String>() {
+            @Override protected String init() {
+                inits.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return "ready";
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for(int i=0; i<4; i++) {
+                results.add(executor.submit(provider::get));
+            }
+            assertFalse(provider.isInitialized());
+            release.countDown();
+            for(Future<String> result : results) {
+                assertEquals("ready", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, inits.get());
+        assertTrue(provider.isInitialized());
+        assertEquals("ready", provider.get());
+    }
+
+    /**
+     * Test that a failed initialization is reported, and retried by the next call.
+     */
+    @Test
+    public void testFailedInitialization() {
+        AtomicInteger inits = new AtomicInteger();
+        FutureLazyProvider<String> provider = new FutureLazyProvider<String>() {
+            @Override protected String init() {
+                if(inits.incrementAndGet()==1)
+                    throw new IllegalStateException("unavailable");
+                return "ready";
+            }
+        };
+        try {
+            provider.get();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals("unavailable", e.getMessage());
+        }
+        assertFalse(provider.isInitialized());
+        assertEquals("ready", provider.get());
+        assertEquals(2, inits.get());
+    }
+
+    /**
+     * Test that an asynchronous initialization does not block the caller that starts it.
+     */
+    @Test
+    public void testAsyncInitialization() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        FutureLazyProvider<String> provider = FutureLazyProvider.ofAsync(() -> pending);
+        CompletableFuture<String> future = provider.getAsync();
+        assertFalse(future.isDone());
+        assertSame(future, provider.getAsync());
+        pending.complete("ready");
+        assertEquals("ready", future.join());
+        assertEquals("ready", provider.get());
+    }
+}
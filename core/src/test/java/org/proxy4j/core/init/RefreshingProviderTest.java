@@ -0,0 +1,134 @@
+package org.proxy4j.core.init;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link RefreshingProvider}.</p>
+ */
+public class RefreshingProviderTest
+{
+    private final List<Runnable> held = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean hold;
+    private volatile boolean fail;
+    //runs tasks right away, or holds them until released
+    private final Executor executor = task -> {
+        if(hold)
+            held.add(task);
+        else
+            task.run();
+    };
+
+    /**
+     * Test that a due refresh runs once in the background while the old instance is used.
+     * @throws Exception If the test fails
+     */
+    @Test
+    public void testRefreshAhead() throws Exception {
+        RefreshingProvider<String> provider = newProvider(20);
+        assertEquals("v1", provider.get());
+        hold = true;
+        Thread.sleep(40);
+        assertEquals("v1", provider.get());
+        assertEquals("v1", provider.get());
+        assertEquals("Only one refresh should be in flight", 1, held.size());
+        held.remove(0).run();
+        assertEquals("v2", provider.get());
+        assertEquals(1, provider.getRefreshCount());
+    }
+
+    /**
+     * Test that an invalidated instance is replaced before it is used again.
+     */
+    @Test
+    public void testInvalidate() {
+        RefreshingProvider<String> provider = newProvider(60000);
+        assertEquals("v1", provider.get());
+        assertEquals("v1", provider.get());
+        provider.invalidate();
+        assertEquals("v2", provider.get());
+    }
+
+    /**
+     * Test that a refresh started before an invalidation is not used after it.
+     */
+    @Test
+    public void testInvalidateDuringRefresh() {
+        RefreshingProvider<String> provider = newProvider(60000);
+        assertEquals("v1", provider.get());
+        hold = true;
+        CompletableFuture<String> before = provider.refresh();
+        provider.invalidate();
+        CompletableFuture<String> after = provider.refresh();
+        assertNotSame("Invalidation should detach the refresh in flight", before, after);
+        assertEquals(2, held.size());
+        hold = false;
+        held.remove(1).run();
+        held.remove(0).run();
+        assertEquals("v3", before.join());
+        assertEquals("v2", after.join());
+        assertEquals("v2", provider.get());
+    }
+
+    /**
+     * Test that calls wait for a new instance once the current one has expired.
+     * @throws Exception If the test fails
+     */
+    @Test
+    public void testExpiry() throws Exception {
+        RefreshingProvider<String> provider = newProvider(20, 40);
+        assertEquals("v1", provider.get());
+        hold = true;
+        Thread.sleep(60);
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(provider::get);
+        while(held.isEmpty()) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(20);
+        assertFalse("Expired instance should not be used", waiting.isDone());
+        hold = false;
+        held.remove(0).run();
+        assertEquals("v2", waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that the old instance is kept if a refresh fails.
+     */
+    @Test
+    public void testFailedRefresh() {
+        RefreshingProvider<String> provider = newProvider(60000);
+        assertEquals("v1", provider.get());
+        fail = true;
+        assertTrue(provider.refresh().isCompletedExceptionally());
+        assertEquals("v1", provider.get());
+        assertEquals(1, provider.getFailureCount());
+        fail = false;
+        assertEquals("v3", provider.refresh().join());
+        assertEquals("v3", provider.get());
+    }
+
+    private RefreshingProvider<String> newProvider(long refreshMillis) {
+        return newProvider(refreshMillis, Long.MAX_VALUE);
+    }
+
+    private RefreshingProvider<String> newProvider(long refreshMillis, long expireMillis) {
+        AtomicInteger versions = new AtomicInteger();
+        return new RefreshingProvider<String>(executor, refreshMillis, expireMillis, TimeUnit.MILLISECONDS) {
+            @Override protected String init() {
+                String version = "v" + versions.incrementAndGet();
+                if(fail)
+                    throw new IllegalStateException("unavailable");
+                return version;
+            }
+        };
+    }
+}
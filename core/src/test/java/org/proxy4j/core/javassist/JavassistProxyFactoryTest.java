@@ -1,18 +1,180 @@
 package org.proxy4j.core.javassist;
 
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.proxy4j.core.BaseProxyFactoryTest;
+import org.proxy4j.core.PrimitiveMethodInvocation;
 import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.testobj.Primitives;
+import org.proxy4j.core.testobj.PrimitivesImpl;
+import org.proxy4j.core.testobj.Target;
+import org.proxy4j.core.testobj.TestTarget;
 import org.proxy4j.core.util.DefaultNamingPolicy;
+import org.proxy4j.core.util.ProxyClassStore;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
 
 /**
  * @author Brennan Spies
  * <p></p>
  */
 public class JavassistProxyFactoryTest extends BaseProxyFactoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Override
     protected ProxyFactory getImplementation() {
         JavassistProxyFactory factory = new JavassistProxyFactory();
         factory.setNamingStrategy(new DefaultNamingPolicy());
         return factory;
     }
+
+    /**
+     * Test that a proxy class reused for the same methods bound in a different order
+     * still invokes the chain bound to each method.
+     */
+    @Test
+    public void testBindingOrder() throws Exception {
+        ProxyFactory factory = getImplementation();
+        List<String> messages = new ArrayList<String>();
+        Method getCount = TestTarget.class.getMethod("getCount");
+        Method increment = TestTarget.class.getMethod("increment");
+        Target first = factory.buildInterceptor(Target.class).on(new TestTarget())
+                .using(getCount, record(messages, "getCount"))
+                .using(increment, record(messages, "increment"))
+                .create();
+        Target second = factory.buildInterceptor(Target.class).on(new TestTarget())
+                .using(increment, record(messages, "increment"))
+                .using(getCount, record(messages, "getCount"))
+                .create();
+        assertSame("Proxy class should be reused", first.getClass(), second.getClass());
+        first.increment();
+        second.getCount();
+        second.increment();
+        assertEquals("[increment, getCount, increment]", messages.toString());
+    }
+
+    /**
+     * Test that generated invocations of methods returning a primitive proceed with the
+     * primitive result without boxing it.
+     */
+    @Test
+    public void testPrimitiveProceedGenerated() throws Exception {
+        final List<Class<?>> invocationClasses = new ArrayList<Class<?>>();
+        MethodInterceptor interceptor = new MethodInterceptor() {
+            public Object invoke(MethodInvocation call) throws Throwable {
+                invocationClasses.add(call.getClass());
+                return ((PrimitiveMethodInvocation) call).proceedInt();
+            }
+        };
+        Target proxy = getImplementation().buildInterceptor(Target.class).on(new TestTarget())
+                .using(TestTarget.class.getMethod("getCount"), interceptor)
+                .create();
+        assertEquals(0, proxy.getCount());
+        assertNotNull(invocationClasses.get(0).getDeclaredMethod("proceedInt"));
+    }
+
+    /**
+     * Test that a factory with a class store defines proxy classes generated by an earlier
+     * factory from the store, rather than generating them.
+     */
+    @Test
+    public void testClassStore() throws Exception {
+        ProxyClassStore store = new ProxyClassStore(folder.getRoot().toPath());
+        JavassistProxyFactory first = new JavassistProxyFactory(new URLClassLoader(new URL[0], getClass().getClassLoader()));
+        first.setClassStore(store);
+        Primitives proxy = first.buildInterceptor(Primitives.class).on(new PrimitivesImpl())
+                .using(Primitives.class.getMethod("increment", int.class), MethodInvocation::proceed)
+                .create();
+        assertEquals(2, proxy.increment(1));
+        assertEquals("Should store the proxy and invocation classes", 1, store.getWriteCount());
+
+        ClassLoader loader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        JavassistProxyFactory second = new JavassistProxyFactory(loader);
+        second.setClassStore(store);
+        Primitives stored = second.buildInterceptor(Primitives.class).on(new PrimitivesImpl())
+                .using(Primitives.class.getMethod("increment", int.class), MethodInvocation::proceed)
+                .create();
+        assertSame(loader, stored.getClass().getClassLoader());
+        assertEquals(proxy.getClass().getName(), stored.getClass().getName());
+        assertEquals(2, stored.increment(1));
+        assertEquals("Should load the stored classes", 1, store.getHitCount());
+        assertEquals("Should not store the classes again", 1, store.getWriteCount());
+        assertTrue(store.getSavedGenerationNanos() > 0);
+    }
+
+    /**
+     * Test that many threads generating distinct proxy classes for the same class loader
+     * at once each get a working class, and threads asking for the same class share it.
+     */
+    @Test
+    public void testConcurrentGeneration() throws Exception {
+        final JavassistProxyFactory factory = new JavassistProxyFactory(new URLClassLoader(new URL[0], getClass().getClassLoader()));
+        final List<String> methods = new ArrayList<String>();
+        for(Method m : Primitives.class.getMethods()) {
+            methods.add(m.getName() + Arrays.toString(m.getParameterTypes()));
+        }
+        Collections.sort(methods);
+        final int shapes = 31;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Class<?>>>> results = new ArrayList<Future<List<Class<?>>>>();
+            for(int t=0; t<8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<Class<?>> classes = new ArrayList<Class<?>>();
+                    for(int shape=1; shape<=shapes; shape++) {
+                        final int mask = shape;
+                        Primitives proxy = factory.buildInterceptor(Primitives.class).on(new PrimitivesImpl())
+                                .using(m -> {
+                                    int index = methods.indexOf(m.getName() + Arrays.toString(m.getParameterTypes()));
+                                    return index>=0 && (mask & (1 << index))!=0;
+                                }, MethodInvocation::proceed)
+                                .create();
+                        assertEquals(2, proxy.increment(1));
+                        assertEquals(2L, proxy.increment(1L));
+                        classes.add(proxy.getClass());
+                    }
+                    return classes;
+                }));
+            }
+            start.countDown();
+            List<Class<?>> first = results.get(0).get(60, TimeUnit.SECONDS);
+            assertEquals("Each shape should have its own class", shapes, new HashSet<Class<?>>(first).size());
+            for(Future<List<Class<?>>> result : results) {
+                assertEquals(first, result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    //interceptor that checks the intercepted method and records the message
+    private MethodInterceptor record(final List<String> messages, final String message) {
+        return new MethodInterceptor() {
+            public Object invoke(MethodInvocation call) throws Throwable {
+                assertEquals(message, call.getMethod().getName());
+                messages.add(message);
+                return call.proceed();
+            }
+        };
+    }
 }
@@ -1,7 +1,17 @@
 package org.proxy4j.core.jdk;
 
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
 import org.proxy4j.core.BaseProxyFactoryTest;
 import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.testobj.StepPrimitives;
+import org.proxy4j.core.testobj.StepPrimitivesImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
 
 /**
  * <p></p>
@@ -11,4 +21,39 @@ public class JdkProxyFactoryTest extends BaseProxyFactoryTest {
     @Override protected ProxyFactory getImplementation() {
         return new JdkProxyFactory();
     }
+
+    /**
+     * Test that the chains resolved when the proxy is created are dispatched by the exact
+     * method called: overloads, methods inherited from a super-interface, and the methods
+     * of {@code Object}, bound or not.
+     */
+    @Test
+    public void testResolvedMethods() throws Exception {
+        List<String> messages = new ArrayList<String>();
+        StepPrimitivesImpl target = new StepPrimitivesImpl();
+        StepPrimitives proxy = getImplementation().buildInterceptor(StepPrimitives.class).on(target)
+                .using(StepPrimitives.class.getMethod("increment", int.class), record(messages, "inherited"))
+                .using(StepPrimitives.class.getMethod("increment", int.class, int.class), record(messages, "overload"))
+                .using(Object.class.getMethod("toString"), record(messages, "toString"))
+                .create();
+        assertEquals(2, proxy.increment(1));
+        assertEquals(5, proxy.increment(1, 4));
+        assertEquals(2L, proxy.increment(1L));
+        assertEquals("[inherited, overload]", messages.toString());
+        messages.clear();
+        assertEquals("steps", proxy.toString());
+        assertEquals(target.hashCode(), proxy.hashCode());
+        assertTrue(proxy.equals(target));
+        assertEquals("[toString]", messages.toString());
+    }
+
+    //interceptor that records the message
+    private MethodInterceptor record(final List<String> messages, final String message) {
+        return new MethodInterceptor() {
+            public Object invoke(MethodInvocation call) throws Throwable {
+                messages.add(message);
+                return call.proceed();
+            }
+        };
+    }
 }
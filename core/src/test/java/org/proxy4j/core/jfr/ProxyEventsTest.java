@@ -0,0 +1,78 @@
+package org.proxy4j.core.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.ProxyHandler;
+import org.proxy4j.core.javassist.JavassistProxyFactory;
+import org.proxy4j.core.jdk.JdkProxyFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for the flight recorder events of {@link ProxyEvents}.</p>
+ */
+public class ProxyEventsTest
+{
+    /**
+     * Test that generating a proxy class, and looking it up again, are recorded.
+     * @throws Exception If the test fails
+     */
+    @Test
+    public void testGenerationEvents() throws Exception {
+        ProxyHandler<Greeter> handler = invocation -> "hello";
+        List<RecordedEvent> events;
+        try(Recording recording = new Recording()) {
+            recording.enable(ProxyGeneratedEvent.class);
+            recording.enable(ProxyCacheMissEvent.class);
+            recording.enable(ProxyCacheHitEvent.class);
+            recording.enable(ProxyCacheStatisticsEvent.class).with("period", "endChunk");
+            recording.start();
+            ProxyFactory javassist = new JavassistProxyFactory();
+            assertEquals("hello", javassist.createProxy(Greeter.class, handler).greet());
+            javassist.createProxy(Greeter.class, handler);
+            ProxyFactory jdk = new JdkProxyFactory();
+            jdk.createProxy(Greeter.class, handler);
+            jdk.createProxy(Greeter.class, handler);
+            recording.stop();
+            File file = File.createTempFile("proxy4j", ".jfr");
+            file.deleteOnExit();
+            recording.dump(file.toPath());
+            events = RecordingFile.readAllEvents(file.toPath());
+        }
+        for(String backend : new String[] {"javassist", "jdk"}) {
+            RecordedEvent generated = getEvent(events, "org.proxy4j.ProxyGenerated", backend);
+            assertEquals(Greeter.class.getName(), generated.getString("proxiedTypes"));
+            assertTrue(generated.getDuration().toNanos() > 0);
+            assertNotNull(getEvent(events, "org.proxy4j.ProxyCacheMiss", backend));
+            assertNotNull(getEvent(events, "org.proxy4j.ProxyCacheHit", backend));
+        }
+        assertTrue(getEvent(events, "org.proxy4j.ProxyGenerated", "javassist").getLong("bytecodeSize") > 0);
+        assertTrue(getEvent(events, "org.proxy4j.ProxyCacheStatistics", "javassist").getInt("size") > 0);
+    }
+
+    //the single event of the given type and backend
+    private static RecordedEvent getEvent(List<RecordedEvent> events, String type, String backend) {
+        List<RecordedEvent> matches = new ArrayList<>();
+        for(RecordedEvent event : events) {
+            if(event.getEventType().getName().equals(type) && event.getString("backend").equals(backend))
+                matches.add(event);
+        }
+        assertFalse("No " + type + " event for " + backend, matches.isEmpty());
+        return matches.get(0);
+    }
+
+    /**
+     * An interface proxied only by this test, so its proxy classes are generated here.
+     */
+    public interface Greeter
+    {
+        String greet();
+    }
+}
@@ -0,0 +1,89 @@
+package org.proxy4j.core.metrics;
+
+import org.junit.Test;
+import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.filter.MethodFilter;
+import org.proxy4j.core.javassist.JavassistProxyFactory;
+import org.proxy4j.core.testobj.DeclaredMethodFilter;
+import org.proxy4j.core.testobj.Primitives;
+import org.proxy4j.core.testobj.PrimitivesImpl;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link MetricsRegistry}.</p>
+ */
+public class MetricsRegistryTest
+{
+    /**
+     * Test that calls through a proxy are counted per method, including failed calls.
+     */
+    @Test
+    public void testProxyMetrics() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        ProxyFactory factory = new JavassistProxyFactory();
+        MethodFilter declared = new DeclaredMethodFilter();
+        Primitives proxy = factory.buildInterceptor(Primitives.class).on(new PrimitivesImpl())
+                .using(declared, registry.forService("primitives")).create();
+        for(int i=0; i<10; i++) {
+            proxy.increment(i);
+        }
+        try {
+            proxy.join(null, ',');
+            fail("Call should fail");
+        } catch (NullPointerException e) {
+            //expected
+        }
+        MetricsSnapshot increment = registry.getSnapshots().get("primitives#increment(int)");
+        assertEquals(10, increment.getCount());
+        assertEquals(0, increment.getErrorCount());
+        assertTrue(increment.getP50Nanos() <= increment.getP99Nanos());
+        assertTrue(increment.getP99Nanos() <= increment.getMaxNanos());
+        MetricsSnapshot join = registry.getSnapshots().get("primitives#join(java.lang.String[],char)");
+        assertEquals(1, join.getCount());
+        assertEquals(1, join.getErrorCount());
+        registry.reset();
+        assertEquals(0, registry.getSnapshots().get("primitives#increment(int)").getCount());
+    }
+
+    /**
+     * Test that percentiles are within the precision of the histogram buckets.
+     */
+    @Test
+    public void testPercentiles() {
+        MethodMetrics metrics = new MethodMetrics("test");
+        for(long nanos=1; nanos<=1000; nanos++) {
+            metrics.record(nanos * 1000, false);
+        }
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500500, snapshot.getMeanNanos());
+        assertEquals(1000000, snapshot.getMaxNanos());
+        assertEquals(500000, snapshot.getP50Nanos(), 500000 * 0.25);
+        assertEquals(990000, snapshot.getP99Nanos(), 990000 * 0.25);
+        for(int bucket=0; bucket<248; bucket++) {
+            assertEquals(bucket, MethodMetrics.bucketOf(MethodMetrics.upperBoundOf(bucket)));
+            assertTrue(MethodMetrics.upperBoundOf(bucket) >= 0);
+        }
+    }
+
+    /**
+     * Test that the snapshots can be read through JMX.
+     */
+    @Test
+    public void testMBean() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.getMetrics("service", Object.class.getMethod("toString")).record(1000, false);
+        ObjectName name = registry.registerMBean("test");
+        try {
+            TabularData snapshots = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Snapshots");
+            assertEquals(1, snapshots.size());
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.proxy4j.core.pregen;
+
+import org.junit.Test;
+import org.proxy4j.core.BaseProxyFactoryTest;
+import org.proxy4j.core.LazyTargetProvider;
+import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.javassist.JavassistProxyFactory;
+import org.proxy4j.core.testobj.Target;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link PregeneratedProxyFactory} on types without pregenerated
+ * proxies, which are created by the fallback factory.</p>
+ */
+public class PregeneratedProxyFactoryTest extends BaseProxyFactoryTest
+{
+    @Override
+    protected ProxyFactory getImplementation() {
+        return new PregeneratedProxyFactory(new JavassistProxyFactory());
+    }
+
+    /**
+     * Test that proxies without pregenerated classes are counted as fallbacks.
+     */
+    @Test
+    public void testFallbackCounted() {
+        PregeneratedProxyFactory factory = new PregeneratedProxyFactory();
+        Target proxy = factory.createProxy(Target.class, new LazyTargetProvider());
+        proxy.increment();
+        assertEquals(1, proxy.getCount());
+        assertEquals(1, factory.getFallbackCount());
+        assertEquals(0, factory.getPregeneratedCount());
+    }
+}
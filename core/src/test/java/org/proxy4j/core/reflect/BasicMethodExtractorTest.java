@@ -1,11 +1,15 @@
 package org.proxy4j.core.reflect;
 
 import org.junit.Test;
+import org.proxy4j.core.filter.AnnotationFilter;
+import org.proxy4j.core.filter.MethodFilter;
 import org.proxy4j.core.testobj.AbstractTarget;
 import org.proxy4j.core.testobj.Target;
+import org.proxy4j.core.testobj.TestMarker;
 import org.proxy4j.core.testobj.TestTarget;
 
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
@@ -36,4 +40,51 @@ public class BasicMethodExtractorTest extends BaseMethodExtractorTest
       MethodExtractor extractor = new BasicMethodExtractor(TestTarget.class);
       this.assertExtractsPublicMethods(extractor, TestTarget.class);
     }
+
+    /**
+     * Test that {@code Object} methods are extracted once included.
+     */
+    @Test
+    public void testExtractingObjectMethods() {
+      BasicMethodExtractor extractor = new BasicMethodExtractor(TestTarget.class);
+      extractor.setIncludeObjectMethods(true);
+      this.assertExtractsProxyableMethods(extractor, TestTarget.class);
+    }
+
+    /**
+     * Test that extractors of the same type share their methods, as well as the methods
+     * selected by a stateless filter.
+     */
+    @Test
+    public void testSharedMethods() {
+      MethodExtractor first = new BasicMethodExtractor(TestTarget.class);
+      MethodExtractor second = new BasicMethodExtractor(TestTarget.class);
+      assertSame(first.getProxyableMethods(), second.getProxyableMethods());
+      Collection<Method> marked = first.getMethods(AnnotationFilter.forAnnotation(TestMarker.class));
+      assertSame(marked, second.getMethods(AnnotationFilter.forAnnotation(TestMarker.class)));
+      assertEquals(2, marked.size());
+      MethodFilter stateful = new MethodFilter() {
+          public boolean accept(Method method) {
+              return method.isAnnotationPresent(TestMarker.class);
+          }
+      };
+      assertEquals(marked, first.getMethods(stateful));
+      assertNotSame(first.getMethods(stateful), first.getMethods(stateful));
+    }
+
+    /**
+     * Test that an extractor which overrides {@code isProxyable} extracts the methods it selects,
+     * rather than those of the shared tables.
+     */
+    @Test
+    public void testOverriddenIsProxyable() {
+      MethodExtractor extractor = new BasicMethodExtractor(TestTarget.class) {
+          @Override protected boolean isProxyable(Method method) {
+              return super.isProxyable(method) && !method.isAnnotationPresent(TestMarker.class);
+          }
+      };
+      Collection<Method> shared = new BasicMethodExtractor(TestTarget.class).getProxyableMethods();
+      assertEquals(shared.size() - 2, extractor.getProxyableMethods().size());
+      assertTrue(extractor.getMethods(AnnotationFilter.forAnnotation(TestMarker.class)).isEmpty());
+    }
 }
@@ -0,0 +1,90 @@
+package org.proxy4j.core.reflect;
+
+import org.junit.Test;
+import org.proxy4j.core.testobj.Target;
+import org.proxy4j.core.testobj.TestTarget;
+
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link MethodInvoker}.</p>
+ */
+public class MethodInvokerTest
+{
+    /**
+     * Test invoking methods with and without arguments and return values.
+     */
+    @Test
+    public void testInvoke() throws Throwable {
+        TestTarget target = new TestTarget();
+        assertNull(MethodInvoker.invoke(Target.class.getMethod("setCount", int.class), target, new Object[] {5}));
+        assertEquals(5, MethodInvoker.invoke(Target.class.getMethod("getCount"), target, null));
+        MethodInvoker.invoke(Target.class.getMethod("increment"), target, MethodInvoker.NO_ARGS);
+        assertEquals(6, target.getCount());
+        assertSame("Invoker should be cached", MethodInvoker.forMethod(Target.class.getMethod("getCount")),
+                MethodInvoker.forMethod(Target.class.getMethod("getCount")));
+    }
+
+    /**
+     * Test that exceptions thrown by the method are not wrapped.
+     */
+    @Test
+    public void testExceptionNotWrapped() throws Throwable {
+        Method parse = Integer.class.getMethod("parseInt", String.class);
+        try {
+            MethodInvoker.invoke(parse, null, new Object[] {"NaN"});
+            fail("NumberFormatException should be thrown");
+        } catch (NumberFormatException e) {
+            //expected
+        }
+    }
+
+    /**
+     * Test that generated invokers convert primitive arguments and return values, and call
+     * static methods.
+     */
+    @Test
+    public void testGeneratedInvoker() throws Throwable {
+        Method method = MethodInvokerTest.class.getDeclaredMethod("describe", boolean.class, byte.class, char.class,
+                short.class, long.class, float.class, double.class, int[].class);
+        MethodInvoker invoker = MethodInvoker.forMethod(method);
+        assertTrue("Invoker should be generated", invoker.getClass().getName().contains("$$Invoker$"));
+        assertEquals(43.5, invoker.invoke(null, new Object[] {true, (byte) 1, 'c', (short) 2, 3L, 4f, 5.5, new int[] {27}}));
+    }
+
+    /**
+     * Test that methods of the JDK are not invoked through classes generated by this library,
+     * which would keep its class loader reachable from the JDK classes, but are still cached.
+     */
+    @Test
+    public void testJdkMethod() throws Throwable {
+        Method length = CharSequence.class.getMethod("length");
+        MethodInvoker invoker = MethodInvoker.forMethod(length);
+        assertFalse("Invoker should not be generated", invoker.getClass().getName().contains("$$Invoker$"));
+        assertSame("Invoker should be cached", invoker, MethodInvoker.forMethod(length));
+        assertEquals(3, MethodInvoker.invoke(length, "abc", null));
+    }
+
+    static double describe(boolean b, byte by, char c, short s, long l, float f, double d, int[] ints) {
+        return (b ? 1 : 0) + by + (c - 'c') + s + l + f + d + ints[0];
+    }
+
+    /**
+     * Test that methods of classes that are not publicly accessible can be invoked.
+     */
+    @Test
+    public void testNonPublicMethod() throws Throwable {
+        Method method = Hidden.class.getDeclaredMethod("greet");
+        method.setAccessible(true);
+        assertEquals("hello", MethodInvoker.invoke(method, new Hidden(), null));
+    }
+
+    private static class Hidden
+    {
+        String greet() {
+            return "hello";
+        }
+    }
+}
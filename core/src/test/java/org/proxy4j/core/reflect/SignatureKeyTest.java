@@ -0,0 +1,45 @@
+package org.proxy4j.core.reflect;
+
+import org.junit.Test;
+import org.proxy4j.core.testobj.Primitives;
+import org.proxy4j.core.testobj.PrimitivesImpl;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link SignatureKey}.</p>
+ */
+public class SignatureKeyTest
+{
+    /**
+     * Test that the keys of a method are interned, and equal to the keys of methods
+     * with the same signature.
+     */
+    @Test
+    public void testInterned() throws Exception {
+        Method increment = Primitives.class.getMethod("increment", int.class);
+        assertSame(SignatureKey.of(increment), SignatureKey.of(Primitives.class.getMethod("increment", int.class)));
+        SignatureKey implKey = SignatureKey.of(PrimitivesImpl.class.getMethod("increment", int.class));
+        assertEquals(SignatureKey.of(increment), implKey);
+        assertEquals(new SignatureKey(increment), implKey);
+        assertEquals(new SignatureKey(increment).hashCode(), implKey.hashCode());
+    }
+
+    /**
+     * Test that the method comparator orders methods as their keys do.
+     */
+    @Test
+    public void testMethodComparator() {
+        Method[] methods = Primitives.class.getMethods();
+        Comparator<Method> comparator = SignatureKey.methodComparator();
+        for(Method m1 : methods) {
+            for(Method m2 : methods) {
+                assertEquals(Integer.signum(new SignatureKey(m1).compareTo(new SignatureKey(m2))),
+                        Integer.signum(comparator.compare(m1, m2)));
+            }
+        }
+    }
+}
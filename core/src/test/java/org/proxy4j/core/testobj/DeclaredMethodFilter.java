@@ -0,0 +1,14 @@
+package org.proxy4j.core.testobj;
+
+import org.proxy4j.core.filter.MethodFilter;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>Filter that accepts the methods of the proxied types, but not those declared by {@code Object}.</p>
+ */
+public class DeclaredMethodFilter implements MethodFilter {
+    public boolean accept(Method method) {
+        return method.getDeclaringClass()!=Object.class;
+    }
+}
@@ -0,0 +1,16 @@
+package org.proxy4j.core.testobj;
+
+/**
+ * <p>Interface with methods taking and returning each primitive type.</p>
+ */
+public interface Primitives {
+    public boolean not(boolean b);
+    public byte increment(byte b);
+    public short increment(short s);
+    public char increment(char c);
+    public int increment(int i);
+    public long increment(long l);
+    public float increment(float f);
+    public double increment(double d);
+    public String join(String[] parts, char separator);
+}
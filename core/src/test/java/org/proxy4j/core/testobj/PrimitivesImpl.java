@@ -0,0 +1,25 @@
+package org.proxy4j.core.testobj;
+
+/**
+ * <p>Implementation of {@link Primitives} for proxy testing.</p>
+ */
+public class PrimitivesImpl implements Primitives {
+    public boolean not(boolean b) { return !b; }
+    public byte increment(byte b) { return (byte) (b + 1); }
+    public short increment(short s) { return (short) (s + 1); }
+    public char increment(char c) { return (char) (c + 1); }
+    public int increment(int i) { return i + 1; }
+    public long increment(long l) { return l + 1; }
+    public float increment(float f) { return f + 1; }
+    public double increment(double d) { return d + 1; }
+
+    public String join(String[] parts, char separator) {
+        StringBuilder sb = new StringBuilder();
+        for(String part : parts) {
+            if(sb.length()>0)
+                sb.append(separator);
+            sb.append(part);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,8 @@
+package org.proxy4j.core.testobj;
+
+/**
+ * <p>Interface that inherits the methods of {@link Primitives}, and overloads one of them.</p>
+ */
+public interface StepPrimitives extends Primitives {
+    public int increment(int i, int step);
+}
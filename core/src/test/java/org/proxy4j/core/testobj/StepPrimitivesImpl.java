@@ -0,0 +1,11 @@
+package org.proxy4j.core.testobj;
+
+/**
+ * <p>Implementation of {@link StepPrimitives} for proxy testing.</p>
+ */
+public class StepPrimitivesImpl extends PrimitivesImpl implements StepPrimitives {
+    public int increment(int i, int step) { return i + step; }
+
+    @Override
+    public String toString() { return "steps"; }
+}
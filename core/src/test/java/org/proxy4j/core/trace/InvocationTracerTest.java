@@ -0,0 +1,166 @@
+package org.proxy4j.core.trace;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.proxy4j.core.ProxyFactory;
+import org.proxy4j.core.filter.MethodFilter;
+import org.proxy4j.core.javassist.JavassistProxyFactory;
+import org.proxy4j.core.testobj.DeclaredMethodFilter;
+import org.proxy4j.core.testobj.Primitives;
+import org.proxy4j.core.testobj.PrimitivesImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link InvocationTracer}.</p>
+ */
+public class InvocationTracerTest
+{
+    private Primitives proxy;
+
+    @Before
+    public void setUp() {
+        ProxyFactory factory = new JavassistProxyFactory();
+        MethodInterceptor passThrough = new MethodInterceptor() {
+            public Object invoke(MethodInvocation invocation) throws Throwable {
+                return invocation.proceed();
+            }
+        };
+        MethodFilter declared = new DeclaredMethodFilter();
+        proxy = factory.buildInterceptor(Primitives.class).on(new PrimitivesImpl())
+                .using(declared, passThrough, passThrough).create();
+        InvocationTracer.clear();
+    }
+
+    @After
+    public void tearDown() {
+        InvocationTracer.setEnabled(false);
+        InvocationTracer.clear();
+    }
+
+    /**
+     * Test that each step of a traced call is recorded in order.
+     */
+    @Test
+    public void testTracedCall() {
+        InvocationTracer.setEnabled(true);
+        assertEquals(2, proxy.increment(1));
+        InvocationTracer.setEnabled(false);
+        List<String> steps = new ArrayList<String>();
+        for(TraceEvent event : getEvents()) {
+            assertTrue(event.getMethodName().endsWith(".increment"));
+            steps.add(event.getKind() + (event.getKind()==TraceEvent.Kind.INTERCEPTOR ? "#" + event.getDetail() : ""));
+        }
+        assertEquals("[ENTER, INTERCEPTOR#0, INTERCEPTOR#1, DISPATCH, EXIT]", steps.toString());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvocationTracer.dump(new PrintStream(out, true));
+        assertTrue(out.toString().contains("DISPATCH"));
+    }
+
+    /**
+     * Test that nothing is recorded while tracing is disabled, and that cleared events
+     * are no longer returned.
+     */
+    @Test
+    public void testDisabledAndCleared() {
+        proxy.increment(1);
+        assertTrue(getEvents().isEmpty());
+        InvocationTracer.setEnabled(true);
+        proxy.increment(1);
+        assertEquals(5, getEvents().size());
+        InvocationTracer.clear();
+        assertTrue(getEvents().isEmpty());
+    }
+
+    /**
+     * Test that the buffer of a terminated thread is kept until another thread starts recording.
+     * @throws Exception If the test fails
+     */
+    @Test
+    public void testTerminatedThreadDropped() throws Exception {
+        InvocationTracer.setEnabled(true);
+        runThread("tracer-first");
+        assertTrue(getThreadNames().contains("tracer-first"));
+        runThread("tracer-second");
+        assertFalse(getThreadNames().contains("tracer-first"));
+        assertTrue(getThreadNames().contains("tracer-second"));
+    }
+
+    /**
+     * Test that the events can be cleared and dumped concurrently while another thread records.
+     * @throws Exception If the test fails
+     */
+    @Test
+    public void testConcurrentClearAndDump() throws Exception {
+        InvocationTracer.setEnabled(true);
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread recorder = new Thread(() -> {
+            while(!stop.get()) {
+                proxy.increment(1);
+            }
+        }, "tracer-recorder");
+        Thread clearer = new Thread(() -> {
+            try {
+                while(!stop.get()) {
+                    InvocationTracer.clear();
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        }, "tracer-clearer");
+        recorder.start();
+        clearer.start();
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+            while(System.nanoTime() < deadline && failure.get()==null) {
+                InvocationTracer.dump(out);
+            }
+        } finally {
+            stop.set(true);
+            recorder.join();
+            clearer.join();
+        }
+        assertNull(failure.get());
+    }
+
+    //calls the proxy on a new thread with the given name, and waits for it to terminate
+    private void runThread(String name) throws InterruptedException {
+        Thread thread = new Thread(() -> proxy.increment(1), name);
+        thread.start();
+        thread.join();
+    }
+
+    //the names of the threads with recorded events
+    private static Set<String> getThreadNames() {
+        Set<String> names = new HashSet<String>();
+        for(TraceEvent event : InvocationTracer.getEvents()) {
+            names.add(event.getThreadName());
+        }
+        return names;
+    }
+
+    //the events of the current thread
+    private static List<TraceEvent> getEvents() {
+        List<TraceEvent> events = new ArrayList<TraceEvent>();
+        for(TraceEvent event : InvocationTracer.getEvents()) {
+            if(event.getThreadName().equals(Thread.currentThread().getName()))
+                events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,72 @@
+package org.proxy4j.core.util;
+
+import org.junit.Test;
+import org.proxy4j.core.testobj.OtherTarget;
+import org.proxy4j.core.testobj.Target;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link ClassCache}.</p>
+ */
+public class ClassCacheTest
+{
+    private final ClassLoader loader = getClass().getClassLoader();
+
+    /**
+     * Test that concurrent requests for the same key generate the class only once.
+     */
+    @Test
+    public void testGeneratesOnce() throws Exception {
+        final ClassCache cache = new ClassCache();
+        final Key key = new ClassHashKey(loader, Target.class);
+        final AtomicInteger generations = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Class<Target>>> results = new ArrayList<>();
+            for(int i=0; i<8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.getClass(key, () -> {
+                        generations.incrementAndGet();
+                        Thread.sleep(50);
+                        return Target.class;
+                    });
+                }));
+            }
+            start.countDown();
+            for(Future<Class<Target>> result : results) {
+                assertSame(Target.class, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("Class should be generated once", 1, generations.get());
+        assertEquals("Should be 1 miss", 1, cache.getMissCount());
+        assertEquals("Should be 7 hits", 7, cache.getHitCount());
+        assertEquals("Should be 1 entry", 1, cache.size());
+    }
+
+    /**
+     * Test that a failed generation is reported to the caller and not cached.
+     */
+    @Test
+    public void testFailedGenerationNotCached() {
+        ClassCache cache = new ClassCache();
+        Key key = new ClassHashKey(loader, OtherTarget.class);
+        try {
+            cache.getClass(key, () -> { throw new IllegalStateException("failed"); });
+            fail("Generation failure should be rethrown");
+        } catch(IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertEquals("Failed generation should not be cached", 0, cache.size());
+        assertSame(OtherTarget.class, cache.getClass(key, () -> OtherTarget.class));
+    }
+}
@@ -0,0 +1,50 @@
+package org.proxy4j.core.util;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link LoaderMap}.</p>
+ */
+public class LoaderMapTest
+{
+    /**
+     * Test that values are created once per class loader, including the bootstrap loader.
+     */
+    @Test
+    public void testComputeIfAbsent() {
+        LoaderMap<Object> map = new LoaderMap<>();
+        ClassLoader loader = getClass().getClassLoader();
+        Object value = map.computeIfAbsent(loader, l -> new Object());
+        assertSame(value, map.computeIfAbsent(loader, l -> new Object()));
+        assertSame(value, map.get(loader));
+        Object bootstrapValue = map.computeIfAbsent(null, l -> new Object());
+        assertSame(bootstrapValue, map.get(null));
+        assertNotSame(value, bootstrapValue);
+        assertEquals("Should be 2 entries", 2, map.size());
+    }
+
+    /**
+     * Test that an entry is purged once its class loader is collected.
+     */
+    @Test
+    public void testCollectedLoaderPurged() throws Exception {
+        LoaderMap<Object> map = new LoaderMap<>();
+        ClassLoader loader = new URLClassLoader(new URL[0], null);
+        map.computeIfAbsent(loader, l -> new Object());
+        assertEquals("Should be 1 entry", 1, map.size());
+        WeakReference<ClassLoader> loaderRef = new WeakReference<>(loader);
+        loader = null;
+        for(int i=0; i<50 && (loaderRef.get()!=null || map.size()>0); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull("Class loader should be collected", loaderRef.get());
+        assertEquals("Entry should be purged", 0, map.size());
+    }
+}
@@ -0,0 +1,94 @@
+package org.proxy4j.core.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.proxy4j.core.testobj.OtherTarget;
+import org.proxy4j.core.testobj.Target;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit tests for {@link ProxyClassStore}.</p>
+ */
+public class ProxyClassStoreTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test that stored classes are loaded in definition order, and that loading them
+     * counts the saved generation time.
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        ProxyClassStore store = new ProxyClassStore(folder.getRoot().toPath());
+        String key = store.getKey("test", List.of(Target.class));
+        assertNull(store.load(key));
+        Map<String,byte[]> classes = new LinkedHashMap<>();
+        classes.put("b.Second", new byte[]{1, 2});
+        classes.put("a.First", new byte[]{3});
+        store.store(key, classes, 1000);
+        Map<String,byte[]> loaded = new ProxyClassStore(folder.getRoot().toPath()).load(key);
+        assertNotNull(loaded);
+        assertEquals(List.of("b.Second", "a.First"), List.copyOf(loaded.keySet()));
+        assertArrayEquals(new byte[]{1, 2}, loaded.get("b.Second"));
+        assertArrayEquals(new byte[]{3}, loaded.get("a.First"));
+        store.load(key);
+        assertEquals(1, store.getHitCount());
+        assertEquals(1, store.getMissCount());
+        assertEquals(1, store.getWriteCount());
+        assertEquals(1000, store.getSavedGenerationNanos());
+    }
+
+    /**
+     * Test that keys are stable for the same inputs and differ when any input differs.
+     */
+    @Test
+    public void testKeys() throws Exception {
+        ProxyClassStore store = new ProxyClassStore(folder.getRoot().toPath());
+        String key = store.getKey("test", List.of(Target.class), "detail");
+        assertTrue("The library version should be known", ProxyClassStore.isEnabled());
+        assertNotNull("The library version should be known", key);
+        assertEquals(key, store.getKey("test", List.of(Target.class), "detail"));
+        assertFalse(key.equals(store.getKey("other", List.of(Target.class), "detail")));
+        assertFalse(key.equals(store.getKey("test", List.of(OtherTarget.class), "detail")));
+        assertFalse(key.equals(store.getKey("test", List.of(Target.class), "changed")));
+    }
+
+    /**
+     * Test that a corrupt entry is a miss, and is removed.
+     */
+    @Test
+    public void testCorruptEntry() throws Exception {
+        ProxyClassStore store = new ProxyClassStore(folder.getRoot().toPath());
+        String key = store.getKey("test", List.of(Target.class));
+        store.store(key, Map.of("Proxy", new byte[]{1, 2, 3}), 10);
+        Path entry = folder.getRoot().toPath().resolve(key + ".classes");
+        byte[] bytes = Files.readAllBytes(entry);
+        Files.write(entry, Arrays.copyOf(bytes, bytes.length - 2));
+        assertNull(store.load(key));
+        assertFalse("Corrupt entry should be removed", Files.exists(entry));
+        assertEquals(0, store.getHitCount());
+    }
+
+    /**
+     * Test that writes leave no temporary files behind, and that clearing removes the entries.
+     */
+    @Test
+    public void testClear() throws Exception {
+        ProxyClassStore store = new ProxyClassStore(folder.getRoot().toPath().resolve("store"));
+        store.store(store.getKey("test", List.of(Target.class)), Map.of("Proxy", new byte[]{1}), 10);
+        store.store(store.getKey("test", List.of(OtherTarget.class)), Map.of("Proxy", new byte[]{2}), 10);
+        assertEquals(2, store.getDirectory().toFile().list().length);
+        store.clear();
+        assertEquals(0, store.getDirectory().toFile().list().length);
+    }
+}